@@ -0,0 +1,186 @@
+/**
+ * LoadGenerator.java
+ * 10/19/2026
+ *
+ * Sends an open-loop request mix to a server and records the latency of
+ * every response.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.loadtest;
+
+import com.google.sps.metrics.LatencyHistogram;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generates load at a fixed arrival rate regardless of how quickly the
+ * server responds (an open-loop load). Latency is measured from the time a
+ * request was scheduled to be sent rather than when it actually was, so a
+ * stalled server is charged for the requests queued behind the stall.
+ */
+final class LoadGenerator {
+  /** The maximum number of requests awaiting a response. */
+  private static final int MAX_OUTSTANDING = 10_000;
+
+  /** The base URI of the server under load. */
+  private final URI base;
+
+  /** The routes to send requests to. */
+  private final RequestMix mix;
+
+  /** The ids of the seeded parent comments. */
+  private final List<Long> parentIds;
+
+  /** Sends the requests. Redirects are not followed. */
+  private final HttpClient client = HttpClient.newBuilder()
+    .version(HttpClient.Version.HTTP_1_1)
+    .followRedirects(HttpClient.Redirect.NEVER)
+    .build();
+
+  /** The statistics of each route. */
+  private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+
+  /** The statistics of all routes. */
+  private final RouteStats total = new RouteStats();
+
+  /** The number of requests awaiting a response. */
+  private final AtomicInteger outstanding = new AtomicInteger();
+
+  LoadGenerator(URI base, RequestMix mix, List<Long> parentIds) {
+    this.base = base;
+    this.mix = mix;
+    this.parentIds = parentIds;
+    for (Route route : Route.values()) {
+      stats.put(route, new RouteStats());
+    }
+  }
+
+  /**
+   * Sends requests at the specified rate, then waits for outstanding
+   * responses. Responses to requests scheduled during the warmup are not
+   * recorded.
+   *
+   * @param rate The number of requests to send per second.
+   * @param poisson Whether arrivals are exponentially distributed rather
+   *     than evenly spaced.
+   * @param warmup The time to send requests before recording.
+   * @param duration The time to send and record requests after the warmup.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  void run(double rate, boolean poisson, Duration warmup, Duration duration)
+    throws InterruptedException {
+    Random random = new Random(1);
+    double meanIntervalNanos = 1e9 / rate;
+    long start = System.nanoTime();
+    long recordFrom = start + warmup.toNanos();
+    long stop = recordFrom + duration.toNanos();
+
+    double scheduled = start;
+    while (scheduled < stop) {
+      long intended = (long) scheduled;
+      long delay = intended - System.nanoTime();
+      if (delay > 0) {
+        LockSupport.parkNanos(delay);
+      }
+      send(mix.pick(random), random, intended, intended >= recordFrom);
+
+      scheduled += poisson ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos
+                           : meanIntervalNanos;
+    }
+
+    while (outstanding.get() > 0) {
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * Writes throughput and latency percentiles per route.
+   *
+   * @param out The stream to write the report to.
+   * @param duration The recorded duration of the run.
+   */
+  void report(PrintStream out, Duration duration) {
+    double seconds = duration.toNanos() / 1e9;
+    out.printf("%-16s %9s %8s %10s %9s %9s %9s %9s%n",
+               "route", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+    for (Map.Entry<Route, RouteStats> entry : stats.entrySet()) {
+      if (entry.getValue().requests.get() > 0) {
+        entry.getValue().print(out, entry.getKey().getName(), seconds);
+      }
+    }
+    total.print(out, "total", seconds);
+  }
+
+  /**
+   * Sends a single request asynchronously.
+   */
+  private void send(Route route, Random random, long intended, boolean record) {
+    RouteStats routeStats = stats.get(route);
+    if (outstanding.get() >= MAX_OUTSTANDING) {
+      // The server has fallen too far behind; count the request as failed
+      // rather than queueing without bound.
+      if (record) {
+        routeStats.fail();
+        total.fail();
+      }
+      return;
+    }
+
+    HttpRequest request = route.request(base, parentIds, random).build();
+    outstanding.incrementAndGet();
+    client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+      .whenComplete((response, error) -> {
+        long micros = (System.nanoTime() - intended) / 1000;
+        if (record) {
+          boolean failed = error != null || response.statusCode() >= 400;
+          routeStats.record(micros, failed);
+          total.record(micros, failed);
+        }
+        outstanding.decrementAndGet();
+      });
+  }
+
+  /**
+   * The latency distribution and error count of a route.
+   */
+  private static final class RouteStats {
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    void record(long micros, boolean failed) {
+      latencies.record(micros);
+      requests.incrementAndGet();
+      if (failed) {
+        errors.incrementAndGet();
+      }
+    }
+
+    void fail() {
+      requests.incrementAndGet();
+      errors.incrementAndGet();
+    }
+
+    void print(PrintStream out, String name, double seconds) {
+      long[] snapshot = latencies.snapshot();
+      out.printf("%-16s %9d %8d %10.1f %9.3f %9.3f %9.3f %9.3f%n",
+                 name, requests.get(), errors.get(), requests.get() / seconds,
+                 LatencyHistogram.getValueAtPercentile(snapshot, 50) / 1e3,
+                 LatencyHistogram.getValueAtPercentile(snapshot, 99) / 1e3,
+                 LatencyHistogram.getValueAtPercentile(snapshot, 99.9) / 1e3,
+                 LatencyHistogram.getValueAtPercentile(snapshot, 100) / 1e3);
+    }
+  }
+}
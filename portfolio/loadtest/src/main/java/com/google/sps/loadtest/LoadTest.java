@@ -0,0 +1,105 @@
+/**
+ * LoadTest.java
+ * 10/19/2026
+ *
+ * Boots the portfolio locally and puts it under load.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.loadtest;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs a load test against a locally booted portfolio and prints the
+ * throughput and latency percentiles of each route.
+ *
+ * <p>Options are passed as "--name=value" arguments:
+ * <ul>
+ *   <li>webapp: the exploded WAR to serve (default ../target/portfolio-1)
+ *   <li>port: the port to serve on (default 0, any free port)
+ *   <li>rate: requests sent per second (default 200)
+ *   <li>arrivals: "uniform" or "poisson" request spacing (default poisson)
+ *   <li>warmup: seconds of unrecorded load (default 5)
+ *   <li>duration: seconds of recorded load (default 30)
+ *   <li>mix: weighted routes, e.g. "list-comments=3,projects=1"
+ *   <li>comments: seeded parent comments per project, at least 1 (default 20)
+ *   <li>replies: seeded replies per parent comment (default 5)
+ * </ul>
+ */
+public final class LoadTest {
+  /**
+   * The portfolio's request logger. Writing a warning per slow request to the
+   * console would skew the latencies being measured, so it is silenced.
+   */
+  private static final Logger portfolioLogger = Logger.getLogger("com.google.sps");
+
+  private LoadTest() {
+    // Disallow instances.
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = parseOptions(args);
+    portfolioLogger.setLevel(Level.SEVERE);
+
+    Path webapp = Paths.get(options.getOrDefault("webapp", "../target/portfolio-1"));
+    int port = Integer.parseInt(options.getOrDefault("port", "0"));
+    double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+    boolean poisson = options.getOrDefault("arrivals", "poisson").equals("poisson");
+    Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+    Duration duration =
+      Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+    RequestMix mix = RequestMix.parse(options.getOrDefault("mix", RequestMix.DEFAULT));
+    int comments = Integer.parseInt(options.getOrDefault("comments", "20"));
+    int replies = Integer.parseInt(options.getOrDefault("replies", "5"));
+
+    if (!Files.isDirectory(webapp.resolve("WEB-INF"))) {
+      throw new IllegalArgumentException(
+          webapp + " is not an exploded WAR. Run `mvn package` in the portfolio first.");
+    }
+    // Replies and likes need a seeded comment to target.
+    if (comments < 1 || replies < 0) {
+      throw new IllegalArgumentException(
+          "comments must be at least 1 and replies at least 0.");
+    }
+
+    PortfolioServer server = new PortfolioServer();
+    try {
+      int boundPort = server.start(webapp, port);
+      server.seed(comments, replies);
+      URI base = URI.create("http://localhost:" + boundPort);
+      System.out.printf("Serving %s at %s; sending %.0f req/s (%s) for %ds after %ds warmup%n",
+                        webapp, base, rate, poisson ? "poisson" : "uniform",
+                        duration.getSeconds(), warmup.getSeconds());
+
+      LoadGenerator generator = new LoadGenerator(base, mix, server.getParentIds());
+      generator.run(rate, poisson, warmup, duration);
+      generator.report(System.out, duration);
+    } finally {
+      server.stop();
+    }
+  }
+
+  /**
+   * Parses "--name=value" arguments.
+   */
+  private static Map<String, String> parseOptions(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      int equals = arg.indexOf('=');
+      if (!arg.startsWith("--") || equals < 0) {
+        throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+      }
+      options.put(arg.substring(2, equals), arg.substring(equals + 1));
+    }
+    return options;
+  }
+}
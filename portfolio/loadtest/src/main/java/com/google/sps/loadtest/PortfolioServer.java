@@ -0,0 +1,172 @@
+/**
+ * PortfolioServer.java
+ * 10/19/2026
+ *
+ * Runs the portfolio webapp in an embedded Jetty server backed by
+ * in-memory App Engine services.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.loadtest;
+
+import com.google.appengine.api.datastore.DatastoreService;
+import com.google.appengine.api.datastore.DatastoreServiceFactory;
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.tools.development.testing.LocalDatastoreServiceTestConfig;
+import com.google.appengine.tools.development.testing.LocalServiceTestHelper;
+import com.google.appengine.tools.development.testing.LocalUserServiceTestConfig;
+import com.google.apphosting.api.ApiProxy;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.webapp.WebAppContext;
+
+/**
+ * Serves an exploded portfolio WAR from an embedded servlet container. The
+ * Datastore and Users services are local in-memory stand-ins, and every
+ * request is made on behalf of a single logged in user.
+ */
+final class PortfolioServer {
+  /** The id of the user every request is made on behalf of. */
+  static final String USER_ID = "loadtest";
+
+  /** The projects on whose pages comments may be made. */
+  static final ImmutableList<String> PROJECTS =
+    ImmutableList.of("ugadining", "portflagship", "3dmodeling", "visualizations");
+
+  /** Provides the local App Engine services. */
+  private final LocalServiceTestHelper helper =
+    new LocalServiceTestHelper(new LocalDatastoreServiceTestConfig(),
+                               new LocalUserServiceTestConfig())
+      .setEnvIsLoggedIn(true)
+      .setEnvEmail(USER_ID + "@example.com")
+      .setEnvAuthDomain("example.com")
+      .setEnvAttributes(ImmutableMap.of(
+          "com.google.appengine.api.users.UserService.user_id_key", USER_ID));
+
+  /** The embedded server, once started. */
+  private Server server;
+
+  /** The ids of the parent comments created by {@link #seed}. */
+  private final List<Long> parentIds = new ArrayList<>();
+
+  /**
+   * Starts the local services and the server.
+   *
+   * @param webapp The exploded WAR directory to serve.
+   * @param port The port to listen on, or 0 to pick a free port.
+   * @return The port the server is listening on.
+   * @throws Exception If the server could not be started.
+   */
+  int start(Path webapp, int port) throws Exception {
+    helper.setUp();
+
+    // The local services are bound to the thread that set them up, so the
+    // same environment is installed on each request thread.
+    ApiProxy.Environment environment = ApiProxy.getCurrentEnvironment();
+    HandlerWrapper environmentHandler = new HandlerWrapper() {
+      @Override
+      public void handle(String target, Request baseRequest, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException, ServletException {
+        ApiProxy.setEnvironmentForCurrentThread(environment);
+        try {
+          super.handle(target, baseRequest, request, response);
+        } finally {
+          ApiProxy.clearEnvironmentForCurrentThread();
+        }
+      }
+    };
+
+    WebAppContext context = new WebAppContext(webapp.toString(), "/");
+    // Load the portfolio classes and App Engine API from the harness
+    // classpath so that they see the local services set up above.
+    context.setParentLoaderPriority(true);
+    environmentHandler.setHandler(context);
+
+    server = new Server(port);
+    server.setHandler(environmentHandler);
+    server.start();
+    return ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+  }
+
+  /**
+   * Stores parent comments and replies for the load to read and like.
+   *
+   * @param commentsPerProject The number of parent comments per project.
+   * @param repliesPerComment The number of replies per parent comment.
+   */
+  void seed(int commentsPerProject, int repliesPerComment) {
+    DatastoreService datastore = DatastoreServiceFactory.getDatastoreService();
+    Random random = new Random(0);
+    for (String project : PROJECTS) {
+      for (int i = 0; i < commentsPerProject; i++) {
+        Entity parent = newComment(project, -1, random);
+        datastore.put(parent);
+        long parentId = parent.getKey().getId();
+        parentIds.add(parentId);
+
+        for (int j = 0; j < repliesPerComment; j++) {
+          datastore.put(newComment(project, parentId, random));
+        }
+        parent.setProperty("replyCount", (long) repliesPerComment);
+        datastore.put(parent);
+      }
+    }
+  }
+
+  /**
+   * Returns the ids of the parent comments created by {@link #seed}.
+   *
+   * @return The seeded parent comment ids.
+   */
+  List<Long> getParentIds() {
+    return parentIds;
+  }
+
+  /**
+   * Stops the server and the local services.
+   *
+   * @throws Exception If the server could not be stopped.
+   */
+  void stop() throws Exception {
+    if (server != null) {
+      server.stop();
+    }
+    helper.tearDown();
+  }
+
+  /**
+   * Returns a comment entity matching those stored by CreateCommentServlet.
+   */
+  private static Entity newComment(String project, long parentId, Random random) {
+    List<String> likeUsers = new ArrayList<>();
+    List<String> dislikeUsers = new ArrayList<>();
+    likeUsers.add("ignore");
+    dislikeUsers.add("ignore");
+
+    Entity comment = new Entity("Comment");
+    comment.setProperty("userId", USER_ID);
+    comment.setProperty("name", "Load Test");
+    comment.setProperty("content", "Seeded comment " + random.nextInt());
+    comment.setProperty("likes", 0L);
+    comment.setProperty("dislikes", 0L);
+    comment.setProperty("timestamp", System.currentTimeMillis() - random.nextInt(1_000_000));
+    comment.setProperty("parentId", parentId);
+    comment.setProperty("project", project);
+    comment.setProperty("replyCount", 0L);
+    comment.setProperty("likeUsers", likeUsers);
+    comment.setProperty("dislikeUsers", dislikeUsers);
+    return comment;
+  }
+}
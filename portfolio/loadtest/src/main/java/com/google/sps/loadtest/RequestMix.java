@@ -0,0 +1,87 @@
+/**
+ * RequestMix.java
+ * 10/19/2026
+ *
+ * A weighted mix of routes to send requests to.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Picks routes at random in proportion to their weights.
+ */
+final class RequestMix {
+  /** The default mix, weighted towards reads as on the live site. */
+  static final String DEFAULT =
+    "list-comments=30,list-replies=20,create-comment=5,like-comment=10,"
+    + "projects=20,visualizations=10,about=5";
+
+  /** The routes with a positive weight. */
+  private final Route[] routes;
+
+  /** The running total of the weights of routes[0..i]. */
+  private final int[] cumulativeWeights;
+
+  private RequestMix(Map<Route, Integer> weights) {
+    routes = new Route[weights.size()];
+    cumulativeWeights = new int[weights.size()];
+    int i = 0;
+    int total = 0;
+    for (Map.Entry<Route, Integer> entry : weights.entrySet()) {
+      total += entry.getValue();
+      routes[i] = entry.getKey();
+      cumulativeWeights[i] = total;
+      i++;
+    }
+  }
+
+  /**
+   * Parses a mix of the form "route=weight,route=weight,...".
+   *
+   * @param mix The mix specification.
+   * @return The parsed mix.
+   * @throws IllegalArgumentException If the specification is malformed or
+   *     has no positive weights.
+   */
+  static RequestMix parse(String mix) {
+    Map<Route, Integer> weights = new EnumMap<>(Route.class);
+    for (String part : mix.split(",")) {
+      String[] pair = part.trim().split("=");
+      if (pair.length != 2) {
+        throw new IllegalArgumentException("Expected route=weight but got: " + part);
+      }
+      int weight = Integer.parseInt(pair[1].trim());
+      if (weight < 0) {
+        throw new IllegalArgumentException("Weights cannot be negative: " + part);
+      }
+      if (weight > 0) {
+        weights.merge(Route.forName(pair[0].trim()), weight, Integer::sum);
+      }
+    }
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("The request mix must have a positive weight.");
+    }
+    return new RequestMix(weights);
+  }
+
+  /**
+   * Picks a route at random.
+   *
+   * @param random The source of randomness.
+   * @return A route, chosen in proportion to its weight.
+   */
+  Route pick(Random random) {
+    int target = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < routes.length; i++) {
+      if (target < cumulativeWeights[i]) {
+        return routes[i];
+      }
+    }
+    throw new AssertionError();
+  }
+}
@@ -0,0 +1,126 @@
+/**
+ * Route.java
+ * 10/19/2026
+ *
+ * The portfolio endpoints exercised by the load test.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * An endpoint of the portfolio and how to build a representative request
+ * to it.
+ */
+enum Route {
+  LIST_COMMENTS("list-comments") {
+    @Override
+    HttpRequest.Builder request(URI base, List<Long> parentIds, Random random) {
+      return HttpRequest.newBuilder(base.resolve("/list-comments"))
+        .header("Referer", base.resolve("/projects/" + randomProject(random)).toString());
+    }
+  },
+  LIST_REPLIES("list-replies") {
+    @Override
+    HttpRequest.Builder request(URI base, List<Long> parentIds, Random random) {
+      return HttpRequest.newBuilder(
+          base.resolve("/list-replies?parentId=" + randomParent(parentIds, random)));
+    }
+  },
+  CREATE_COMMENT("create-comment") {
+    @Override
+    HttpRequest.Builder request(URI base, List<Long> parentIds, Random random) {
+      // Half of the created comments are replies to a seeded comment.
+      long parentId = random.nextBoolean() ? -1 : randomParent(parentIds, random);
+      String form = "name=Load+Test&content=Load+test+comment&parentId=" + parentId;
+      return HttpRequest.newBuilder(base.resolve("/create-comment"))
+        .header("Referer", base.resolve("/projects/" + randomProject(random)).toString())
+        .header("Content-Type", "application/x-www-form-urlencoded")
+        .POST(HttpRequest.BodyPublishers.ofString(form));
+    }
+  },
+  LIKE_COMMENT("like-comment") {
+    @Override
+    HttpRequest.Builder request(URI base, List<Long> parentIds, Random random) {
+      // Alternate between the LIKED and UNLIKED vote actions.
+      boolean like = random.nextBoolean();
+      return HttpRequest.newBuilder(base.resolve(
+          "/like-comment?commentId=" + randomParent(parentIds, random)
+          + "&likes=" + (like ? 1 : 0) + "&dislikes=0&action=" + (like ? 0 : 2)));
+    }
+  },
+  PROJECT_PAGE("projects") {
+    @Override
+    HttpRequest.Builder request(URI base, List<Long> parentIds, Random random) {
+      return HttpRequest.newBuilder(base.resolve("/projects/" + randomProject(random)));
+    }
+  },
+  VISUALIZATION_PAGE("visualizations") {
+    @Override
+    HttpRequest.Builder request(URI base, List<Long> parentIds, Random random) {
+      String visualization = random.nextBoolean() ? "sorting" : "searching";
+      return HttpRequest.newBuilder(base.resolve("/visualizations/" + visualization));
+    }
+  },
+  STATIC_PAGE("about") {
+    @Override
+    HttpRequest.Builder request(URI base, List<Long> parentIds, Random random) {
+      return HttpRequest.newBuilder(base.resolve("/about"));
+    }
+  };
+
+  /** The name by which the route is referred to in a request mix. */
+  private final String name;
+
+  private Route(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Returns the name by which the route is referred to in a request mix.
+   *
+   * @return The route name, e.g. "list-comments".
+   */
+  String getName() {
+    return name;
+  }
+
+  /**
+   * Returns a builder for a request to this route.
+   *
+   * @param base The base URI of the server.
+   * @param parentIds The ids of the seeded parent comments.
+   * @param random The source of randomness for request parameters.
+   * @return A request builder.
+   */
+  abstract HttpRequest.Builder request(URI base, List<Long> parentIds, Random random);
+
+  /**
+   * Returns the route with the specified name.
+   *
+   * @param name The name of a route.
+   * @return The route with that name.
+   * @throws IllegalArgumentException If no route has that name.
+   */
+  static Route forName(String name) {
+    for (Route route : values()) {
+      if (route.name.equals(name)) {
+        return route;
+      }
+    }
+    throw new IllegalArgumentException("Unknown route: " + name);
+  }
+
+  private static String randomProject(Random random) {
+    return PortfolioServer.PROJECTS.get(random.nextInt(PortfolioServer.PROJECTS.size()));
+  }
+
+  private static long randomParent(List<Long> parentIds, Random random) {
+    return parentIds.get(random.nextInt(parentIds.size()));
+  }
+}
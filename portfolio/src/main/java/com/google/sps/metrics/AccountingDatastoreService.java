@@ -0,0 +1,491 @@
+/**
+ * AccountingDatastoreService.java
+ * 10/19/2026
+ *
+ * A DatastoreService decorator recording the cost of every call.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.metrics;
+
+import com.google.appengine.api.datastore.Cursor;
+import com.google.appengine.api.datastore.DatastoreAttributes;
+import com.google.appengine.api.datastore.DatastoreService;
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.api.datastore.EntityNotFoundException;
+import com.google.appengine.api.datastore.FetchOptions;
+import com.google.appengine.api.datastore.Index;
+import com.google.appengine.api.datastore.Index.IndexState;
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.KeyRange;
+import com.google.appengine.api.datastore.PreparedQuery;
+import com.google.appengine.api.datastore.Query;
+import com.google.appengine.api.datastore.QueryResultIterable;
+import com.google.appengine.api.datastore.QueryResultIterator;
+import com.google.appengine.api.datastore.QueryResultList;
+import com.google.appengine.api.datastore.Transaction;
+import com.google.appengine.api.datastore.TransactionOptions;
+import com.google.common.collect.Iterables;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records every call made through a wrapped {@link DatastoreService} into the
+ * {@link DatastoreCost} of the request being served by the calling thread.
+ * Calls made outside of a request are passed through unrecorded.
+ *
+ * <p>Preparing a query counts as one query. Entities returned by a query are
+ * counted as they are fetched; results returned as lists are resolved when
+ * they are returned so that the time spent fetching them is accounted for.
+ */
+public final class AccountingDatastoreService implements DatastoreService {
+  /** The service to which all calls are delegated. */
+  private final DatastoreService delegate;
+
+  /**
+   * Constructs an accounting wrapper around a Datastore service.
+   *
+   * @param delegate The service to which all calls are delegated.
+   */
+  public AccountingDatastoreService(DatastoreService delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Entity get(Key key) throws EntityNotFoundException {
+    long start = System.nanoTime();
+    Entity entity = null;
+    try {
+      entity = delegate.get(key);
+      return entity;
+    } finally {
+      recordGet(entity == null ? 0 : 1, start);
+    }
+  }
+
+  @Override
+  public Entity get(Transaction txn, Key key) throws EntityNotFoundException {
+    long start = System.nanoTime();
+    Entity entity = null;
+    try {
+      entity = delegate.get(txn, key);
+      return entity;
+    } finally {
+      recordGet(entity == null ? 0 : 1, start);
+    }
+  }
+
+  @Override
+  public Map<Key, Entity> get(Iterable<Key> keys) {
+    long start = System.nanoTime();
+    Map<Key, Entity> entities = null;
+    try {
+      entities = delegate.get(keys);
+      return entities;
+    } finally {
+      recordGet(entities == null ? 0 : entities.size(), start);
+    }
+  }
+
+  @Override
+  public Map<Key, Entity> get(Transaction txn, Iterable<Key> keys) {
+    long start = System.nanoTime();
+    Map<Key, Entity> entities = null;
+    try {
+      entities = delegate.get(txn, keys);
+      return entities;
+    } finally {
+      recordGet(entities == null ? 0 : entities.size(), start);
+    }
+  }
+
+  @Override
+  public Key put(Entity entity) {
+    long start = System.nanoTime();
+    try {
+      return delegate.put(entity);
+    } finally {
+      recordPut(1, start);
+    }
+  }
+
+  @Override
+  public Key put(Transaction txn, Entity entity) {
+    long start = System.nanoTime();
+    try {
+      return delegate.put(txn, entity);
+    } finally {
+      recordPut(1, start);
+    }
+  }
+
+  @Override
+  public List<Key> put(Iterable<Entity> entities) {
+    long start = System.nanoTime();
+    try {
+      return delegate.put(entities);
+    } finally {
+      recordPut(Iterables.size(entities), start);
+    }
+  }
+
+  @Override
+  public List<Key> put(Transaction txn, Iterable<Entity> entities) {
+    long start = System.nanoTime();
+    try {
+      return delegate.put(txn, entities);
+    } finally {
+      recordPut(Iterables.size(entities), start);
+    }
+  }
+
+  @Override
+  public void delete(Key... keys) {
+    long start = System.nanoTime();
+    try {
+      delegate.delete(keys);
+    } finally {
+      recordDelete(keys.length, start);
+    }
+  }
+
+  @Override
+  public void delete(Transaction txn, Key... keys) {
+    long start = System.nanoTime();
+    try {
+      delegate.delete(txn, keys);
+    } finally {
+      recordDelete(keys.length, start);
+    }
+  }
+
+  @Override
+  public void delete(Iterable<Key> keys) {
+    long start = System.nanoTime();
+    try {
+      delegate.delete(keys);
+    } finally {
+      recordDelete(Iterables.size(keys), start);
+    }
+  }
+
+  @Override
+  public void delete(Transaction txn, Iterable<Key> keys) {
+    long start = System.nanoTime();
+    try {
+      delegate.delete(txn, keys);
+    } finally {
+      recordDelete(Iterables.size(keys), start);
+    }
+  }
+
+  @Override
+  public PreparedQuery prepare(Query query) {
+    recordQuery();
+    return new AccountingPreparedQuery(delegate.prepare(query));
+  }
+
+  @Override
+  public PreparedQuery prepare(Transaction txn, Query query) {
+    recordQuery();
+    return new AccountingPreparedQuery(delegate.prepare(txn, query));
+  }
+
+  @Override
+  public Transaction beginTransaction() {
+    long start = System.nanoTime();
+    try {
+      return delegate.beginTransaction();
+    } finally {
+      recordTime(start);
+    }
+  }
+
+  @Override
+  public Transaction beginTransaction(TransactionOptions options) {
+    long start = System.nanoTime();
+    try {
+      return delegate.beginTransaction(options);
+    } finally {
+      recordTime(start);
+    }
+  }
+
+  @Override
+  public KeyRange allocateIds(String kind, long num) {
+    long start = System.nanoTime();
+    try {
+      return delegate.allocateIds(kind, num);
+    } finally {
+      recordTime(start);
+    }
+  }
+
+  @Override
+  public KeyRange allocateIds(Key parent, String kind, long num) {
+    long start = System.nanoTime();
+    try {
+      return delegate.allocateIds(parent, kind, num);
+    } finally {
+      recordTime(start);
+    }
+  }
+
+  @Override
+  public KeyRangeState allocateIdRange(KeyRange range) {
+    long start = System.nanoTime();
+    try {
+      return delegate.allocateIdRange(range);
+    } finally {
+      recordTime(start);
+    }
+  }
+
+  @Override
+  public DatastoreAttributes getDatastoreAttributes() {
+    return delegate.getDatastoreAttributes();
+  }
+
+  @Override
+  public Map<Index, IndexState> getIndexes() {
+    return delegate.getIndexes();
+  }
+
+  @Override
+  public Transaction getCurrentTransaction() {
+    return delegate.getCurrentTransaction();
+  }
+
+  @Override
+  public Transaction getCurrentTransaction(Transaction returnedIfNoTxn) {
+    return delegate.getCurrentTransaction(returnedIfNoTxn);
+  }
+
+  @Override
+  public Collection<Transaction> getActiveTransactions() {
+    return delegate.getActiveTransactions();
+  }
+
+  /**
+   * Records a get call started at start against the current request.
+   */
+  private static void recordGet(long entities, long start) {
+    DatastoreCost cost = DatastoreCost.current();
+    if (cost != null) {
+      cost.recordGet(entities, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Records a put call started at start against the current request.
+   */
+  private static void recordPut(long entities, long start) {
+    DatastoreCost cost = DatastoreCost.current();
+    if (cost != null) {
+      cost.recordPut(entities, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Records a delete call started at start against the current request.
+   */
+  private static void recordDelete(long entities, long start) {
+    DatastoreCost cost = DatastoreCost.current();
+    if (cost != null) {
+      cost.recordDelete(entities, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Records a prepared query against the current request.
+   */
+  private static void recordQuery() {
+    DatastoreCost cost = DatastoreCost.current();
+    if (cost != null) {
+      cost.recordQuery();
+    }
+  }
+
+  /**
+   * Records the time elapsed since start against the current request.
+   */
+  private static void recordTime(long start) {
+    DatastoreCost cost = DatastoreCost.current();
+    if (cost != null) {
+      cost.recordTime(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Records entities fetched since start against the current request.
+   */
+  private static void recordFetch(long entities, long start) {
+    DatastoreCost cost = DatastoreCost.current();
+    if (cost != null) {
+      cost.recordFetch(entities, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * A prepared query which accounts for the entities it returns.
+   */
+  private static final class AccountingPreparedQuery implements PreparedQuery {
+    private final PreparedQuery delegate;
+
+    AccountingPreparedQuery(PreparedQuery delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public List<Entity> asList(FetchOptions fetchOptions) {
+      long start = System.nanoTime();
+      List<Entity> entities = delegate.asList(fetchOptions);
+      recordFetch(entities.size(), start);
+      return entities;
+    }
+
+    @Override
+    public QueryResultList<Entity> asQueryResultList(FetchOptions fetchOptions) {
+      long start = System.nanoTime();
+      QueryResultList<Entity> entities = delegate.asQueryResultList(fetchOptions);
+      recordFetch(entities.size(), start);
+      return entities;
+    }
+
+    @Override
+    public Iterable<Entity> asIterable(FetchOptions fetchOptions) {
+      Iterable<Entity> entities = delegate.asIterable(fetchOptions);
+      return () -> new AccountingIterator<>(entities.iterator());
+    }
+
+    @Override
+    public Iterable<Entity> asIterable() {
+      Iterable<Entity> entities = delegate.asIterable();
+      return () -> new AccountingIterator<>(entities.iterator());
+    }
+
+    @Override
+    public QueryResultIterable<Entity> asQueryResultIterable(FetchOptions fetchOptions) {
+      QueryResultIterable<Entity> entities = delegate.asQueryResultIterable(fetchOptions);
+      return () -> new AccountingQueryResultIterator(entities.iterator());
+    }
+
+    @Override
+    public QueryResultIterable<Entity> asQueryResultIterable() {
+      QueryResultIterable<Entity> entities = delegate.asQueryResultIterable();
+      return () -> new AccountingQueryResultIterator(entities.iterator());
+    }
+
+    @Override
+    public Iterator<Entity> asIterator(FetchOptions fetchOptions) {
+      return new AccountingIterator<>(delegate.asIterator(fetchOptions));
+    }
+
+    @Override
+    public Iterator<Entity> asIterator() {
+      return new AccountingIterator<>(delegate.asIterator());
+    }
+
+    @Override
+    public QueryResultIterator<Entity> asQueryResultIterator(FetchOptions fetchOptions) {
+      return new AccountingQueryResultIterator(delegate.asQueryResultIterator(fetchOptions));
+    }
+
+    @Override
+    public QueryResultIterator<Entity> asQueryResultIterator() {
+      return new AccountingQueryResultIterator(delegate.asQueryResultIterator());
+    }
+
+    @Override
+    public Entity asSingleEntity() throws TooManyResultsException {
+      long start = System.nanoTime();
+      Entity entity = null;
+      try {
+        entity = delegate.asSingleEntity();
+        return entity;
+      } finally {
+        recordFetch(entity == null ? 0 : 1, start);
+      }
+    }
+
+    @Override
+    public int countEntities(FetchOptions fetchOptions) {
+      long start = System.nanoTime();
+      try {
+        return delegate.countEntities(fetchOptions);
+      } finally {
+        recordTime(start);
+      }
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public int countEntities() {
+      long start = System.nanoTime();
+      try {
+        return delegate.countEntities();
+      } finally {
+        recordTime(start);
+      }
+    }
+  }
+
+  /**
+   * An iterator over query results which accounts for each entity returned
+   * and the time spent fetching batches of results.
+   */
+  private static class AccountingIterator<I extends Iterator<Entity>> implements Iterator<Entity> {
+    protected final I delegate;
+
+    AccountingIterator(I delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean hasNext() {
+      long start = System.nanoTime();
+      try {
+        return delegate.hasNext();
+      } finally {
+        recordTime(start);
+      }
+    }
+
+    @Override
+    public Entity next() {
+      long start = System.nanoTime();
+      Entity entity = delegate.next();
+      recordFetch(1, start);
+      return entity;
+    }
+
+    @Override
+    public void remove() {
+      delegate.remove();
+    }
+  }
+
+  /**
+   * An accounting iterator which also exposes query cursors.
+   */
+  private static final class AccountingQueryResultIterator
+    extends AccountingIterator<QueryResultIterator<Entity>>
+    implements QueryResultIterator<Entity> {
+
+    AccountingQueryResultIterator(QueryResultIterator<Entity> delegate) {
+      super(delegate);
+    }
+
+    @Override
+    public List<Index> getIndexList() {
+      return delegate.getIndexList();
+    }
+
+    @Override
+    public Cursor getCursor() {
+      return delegate.getCursor();
+    }
+  }
+}
@@ -0,0 +1,170 @@
+/**
+ * DatastoreCost.java
+ * 10/19/2026
+ *
+ * The Datastore operations performed while serving a single request.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.metrics;
+
+/**
+ * Counts the Datastore calls made on behalf of a request and the time spent
+ * in them. A cost is bound to the thread serving the request between
+ * {@link #begin} and {@link #end}, during which AccountingDatastoreService
+ * records into it. Instances are confined to that thread.
+ */
+public final class DatastoreCost {
+  /** The request attribute under which the cost of a request is stored. */
+  public static final String REQUEST_ATTRIBUTE = DatastoreCost.class.getName();
+
+  /** The cost of the request being served by the current thread, if any. */
+  private static final ThreadLocal<DatastoreCost> CURRENT = new ThreadLocal<>();
+
+  /** The number of get calls. */
+  private long gets;
+
+  /** The number of put calls. */
+  private long puts;
+
+  /** The number of delete calls. */
+  private long deletes;
+
+  /** The number of queries prepared. */
+  private long queries;
+
+  /** The number of entities read, written, deleted or returned by queries. */
+  private long entities;
+
+  /** The time spent in Datastore calls in nanoseconds. */
+  private long nanos;
+
+  /**
+   * Starts accounting the Datastore calls of the current thread.
+   *
+   * @return The cost into which the calls are recorded.
+   */
+  public static DatastoreCost begin() {
+    DatastoreCost cost = new DatastoreCost();
+    CURRENT.set(cost);
+    return cost;
+  }
+
+  /**
+   * Stops accounting the Datastore calls of the current thread.
+   */
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  /**
+   * Returns the cost being recorded by the current thread.
+   *
+   * @return The current cost, or null if the current thread is not
+   *     serving a request.
+   */
+  static DatastoreCost current() {
+    return CURRENT.get();
+  }
+
+  void recordGet(long entityCount, long elapsedNanos) {
+    gets++;
+    entities += entityCount;
+    nanos += elapsedNanos;
+  }
+
+  void recordPut(long entityCount, long elapsedNanos) {
+    puts++;
+    entities += entityCount;
+    nanos += elapsedNanos;
+  }
+
+  void recordDelete(long entityCount, long elapsedNanos) {
+    deletes++;
+    entities += entityCount;
+    nanos += elapsedNanos;
+  }
+
+  void recordQuery() {
+    queries++;
+  }
+
+  void recordFetch(long entityCount, long elapsedNanos) {
+    entities += entityCount;
+    nanos += elapsedNanos;
+  }
+
+  void recordTime(long elapsedNanos) {
+    nanos += elapsedNanos;
+  }
+
+  /**
+   * Returns the number of get calls.
+   *
+   * @return The number of get calls.
+   */
+  public long getGets() {
+    return gets;
+  }
+
+  /**
+   * Returns the number of put calls.
+   *
+   * @return The number of put calls.
+   */
+  public long getPuts() {
+    return puts;
+  }
+
+  /**
+   * Returns the number of delete calls.
+   *
+   * @return The number of delete calls.
+   */
+  public long getDeletes() {
+    return deletes;
+  }
+
+  /**
+   * Returns the number of queries prepared.
+   *
+   * @return The number of queries prepared.
+   */
+  public long getQueries() {
+    return queries;
+  }
+
+  /**
+   * Returns the number of entities read, written, deleted or returned by
+   * queries.
+   *
+   * @return The number of entities touched.
+   */
+  public long getEntities() {
+    return entities;
+  }
+
+  /**
+   * Returns the time spent in Datastore calls.
+   *
+   * @return The time spent in nanoseconds.
+   */
+  public long getNanos() {
+    return nanos;
+  }
+
+  /**
+   * Returns the total number of calls made.
+   *
+   * @return The sum of gets, puts, deletes and queries.
+   */
+  public long getCalls() {
+    return gets + puts + deletes + queries;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("gets=%d puts=%d deletes=%d queries=%d entities=%d time=%.3fms",
+                         gets, puts, deletes, queries, entities, nanos / 1e6);
+  }
+}
@@ -0,0 +1,163 @@
+/**
+ * EndpointMetrics.java
+ * 10/19/2026
+ *
+ * Latency, concurrency and Datastore metrics of a single servlet mapping.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the requests currently in flight for a servlet mapping, a
+ * latency histogram per response status code and the Datastore cost of
+ * the requests served.
+ */
+public final class EndpointMetrics {
+  /** One past the largest valid HTTP status code. */
+  static final int STATUS_LIMIT = 600;
+
+  /** The servlet mapping these metrics describe, e.g. "/list-comments". */
+  private final String mapping;
+
+  /** The number of requests currently being served. */
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  /** Latency histograms indexed by status code, created on first use. */
+  private final AtomicReferenceArray<LatencyHistogram> histograms =
+    new AtomicReferenceArray<>(STATUS_LIMIT);
+
+  /** The total Datastore calls made by requests, by operation. */
+  private final LongAdder datastoreGets = new LongAdder();
+  private final LongAdder datastorePuts = new LongAdder();
+  private final LongAdder datastoreDeletes = new LongAdder();
+  private final LongAdder datastoreQueries = new LongAdder();
+
+  /** The total entities touched by requests. */
+  private final LongAdder datastoreEntities = new LongAdder();
+
+  /** The total time requests spent in Datastore calls in nanoseconds. */
+  private final LongAdder datastoreNanos = new LongAdder();
+
+  EndpointMetrics(String mapping) {
+    this.mapping = mapping;
+  }
+
+  /**
+   * Marks the start of a request.
+   */
+  public void begin() {
+    inFlight.incrementAndGet();
+  }
+
+  /**
+   * Marks the end of a request started with {@link #begin}.
+   *
+   * @param status The response status code.
+   * @param micros The time taken to serve the request in microseconds.
+   */
+  public void end(int status, long micros) {
+    inFlight.decrementAndGet();
+    getHistogram(status).record(micros);
+  }
+
+  /**
+   * Adds the Datastore cost of a served request to the totals.
+   *
+   * @param cost The Datastore cost of the request.
+   */
+  public void recordDatastoreCost(DatastoreCost cost) {
+    datastoreGets.add(cost.getGets());
+    datastorePuts.add(cost.getPuts());
+    datastoreDeletes.add(cost.getDeletes());
+    datastoreQueries.add(cost.getQueries());
+    datastoreEntities.add(cost.getEntities());
+    datastoreNanos.add(cost.getNanos());
+  }
+
+  /**
+   * Returns the servlet mapping these metrics describe.
+   *
+   * @return The servlet mapping, e.g. "/list-comments".
+   */
+  public String getMapping() {
+    return mapping;
+  }
+
+  /**
+   * Returns the number of requests currently being served.
+   *
+   * @return The number of requests in flight.
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Returns the histogram recorded for a status code, if any.
+   *
+   * @param status An HTTP status code.
+   * @return The histogram of the status code, or null if no response
+   *     with that status has been recorded.
+   */
+  public LatencyHistogram peekHistogram(int status) {
+    return histograms.get(status);
+  }
+
+  /**
+   * Returns the total Datastore calls of an operation.
+   *
+   * @param operation One of "get", "put", "delete" or "query".
+   * @return The total number of calls made by served requests.
+   */
+  public long getDatastoreCalls(String operation) {
+    switch (operation) {
+    case "get":
+      return datastoreGets.sum();
+    case "put":
+      return datastorePuts.sum();
+    case "delete":
+      return datastoreDeletes.sum();
+    case "query":
+      return datastoreQueries.sum();
+    default:
+      throw new IllegalArgumentException("Unknown Datastore operation: " + operation);
+    }
+  }
+
+  /**
+   * Returns the total entities touched by served requests.
+   *
+   * @return The total number of entities touched.
+   */
+  public long getDatastoreEntities() {
+    return datastoreEntities.sum();
+  }
+
+  /**
+   * Returns the total time served requests spent in Datastore calls.
+   *
+   * @return The total time in nanoseconds.
+   */
+  public long getDatastoreNanos() {
+    return datastoreNanos.sum();
+  }
+
+  /**
+   * Returns the histogram of a status code, creating it if necessary.
+   * Out-of-range status codes are recorded under status 0.
+   */
+  private LatencyHistogram getHistogram(int status) {
+    int index = (status > 0 && status < STATUS_LIMIT) ? status : 0;
+    LatencyHistogram histogram = histograms.get(index);
+    if (histogram == null) {
+      histograms.compareAndSet(index, null, new LatencyHistogram());
+      histogram = histograms.get(index);
+    }
+    return histogram;
+  }
+}
@@ -0,0 +1,152 @@
+/**
+ * LatencyHistogram.java
+ * 10/19/2026
+ *
+ * A fixed-memory, lock-free histogram of request latencies.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records latencies (in microseconds) into logarithmic buckets in the style
+ * of HdrHistogram. Every power of two is split into {@code SUB_BUCKET_COUNT}
+ * linear sub-buckets, bounding the relative error of any reported value to
+ * 1 / {@code SUB_BUCKET_COUNT}. Recording is a single atomic increment plus a
+ * striped sum update and never allocates.
+ */
+public final class LatencyHistogram {
+  /** The number of bits of precision kept below the most significant bit. */
+  private static final int SUB_BUCKET_BITS = 2;
+
+  /** The number of linear sub-buckets each power of two is split into. */
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  /**
+   * The largest trackable latency is 2^MAX_OCTAVE - 1 microseconds (about
+   * twelve days). Larger values are clamped into the last bucket.
+   */
+  private static final int MAX_OCTAVE = 40;
+
+  /** The total number of buckets. */
+  private static final int BUCKET_COUNT = (MAX_OCTAVE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+  /** The number of values recorded in each bucket. */
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+  /** The sum of all recorded values. */
+  private final LongAdder sum = new LongAdder();
+
+  /**
+   * Records a single latency.
+   *
+   * @param micros The latency in microseconds. Negative values are
+   *     recorded as zero.
+   */
+  public void record(long micros) {
+    long value = Math.max(micros, 0);
+    counts.incrementAndGet(bucketIndex(value));
+    sum.add(value);
+  }
+
+  /**
+   * Returns a point-in-time copy of the bucket counts. Concurrent
+   * recordings may or may not be reflected.
+   *
+   * @return The count of each bucket, indexed as by {@link #bucketIndex}.
+   */
+  public long[] snapshot() {
+    long[] snapshot = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      snapshot[i] = counts.get(i);
+    }
+    return snapshot;
+  }
+
+  /**
+   * Returns the sum of all recorded latencies.
+   *
+   * @return The sum of all recorded latencies in microseconds.
+   */
+  public long getSum() {
+    return sum.sum();
+  }
+
+  /**
+   * Returns the approximate latency below which the specified percentage of
+   * recorded latencies fall.
+   *
+   * @param percentile A percentile between 0 and 100.
+   * @return The highest value equivalent to the percentile's bucket, or 0 if
+   *     nothing has been recorded.
+   */
+  public long getValueAtPercentile(double percentile) {
+    return getValueAtPercentile(snapshot(), percentile);
+  }
+
+  /**
+   * Returns the approximate latency below which the specified percentage of
+   * the latencies in a snapshot fall.
+   *
+   * @param snapshot A snapshot returned by {@link #snapshot}.
+   * @param percentile A percentile between 0 and 100.
+   * @return The highest value equivalent to the percentile's bucket, or 0 if
+   *     the snapshot is empty.
+   */
+  public static long getValueAtPercentile(long[] snapshot, double percentile) {
+    long total = 0;
+    for (long count : snapshot) {
+      total += count;
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100) / 100));
+    long seen = 0;
+    for (int i = 0; i < snapshot.length; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return bucketUpperBound(i) - 1;
+      }
+    }
+    return bucketUpperBound(snapshot.length - 1) - 1;
+  }
+
+  /**
+   * Returns the bucket into which a value is recorded.
+   *
+   * @param value A non-negative value.
+   * @return The index of the bucket containing value.
+   */
+  public static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int msb = 63 - Long.numberOfLeadingZeros(value);
+    if (msb >= MAX_OCTAVE) {
+      return BUCKET_COUNT - 1;
+    }
+    int octave = msb - SUB_BUCKET_BITS + 1;
+    int subBucket = (int) (value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return octave * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /**
+   * Returns the exclusive upper bound of the values recorded in a bucket.
+   *
+   * @param index The index of a bucket.
+   * @return The smallest value recorded in a later bucket.
+   */
+  public static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index + 1;
+    }
+    int octave = index / SUB_BUCKET_COUNT;
+    int subBucket = index % SUB_BUCKET_COUNT;
+    return (long) (SUB_BUCKET_COUNT + subBucket + 1) << (octave - 1);
+  }
+}
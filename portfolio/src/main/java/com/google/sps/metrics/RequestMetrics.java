@@ -0,0 +1,154 @@
+/**
+ * RequestMetrics.java
+ * 10/19/2026
+ *
+ * The registry of per-endpoint request metrics and its Prometheus
+ * text exposition.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.metrics;
+
+import com.google.common.collect.ImmutableList;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the {@link EndpointMetrics} of every servlet mapping and renders
+ * them in the Prometheus text exposition format.
+ */
+public final class RequestMetrics {
+  /** The registry shared by the metrics filter and the metrics endpoint. */
+  private static final RequestMetrics INSTANCE = new RequestMetrics();
+
+  /**
+   * The smallest and largest exported histogram bounds, as powers of two
+   * microseconds (16us and roughly 67s).
+   */
+  private static final int MIN_EXPORTED_OCTAVE = 4;
+  private static final int MAX_EXPORTED_OCTAVE = 26;
+
+  /** The Datastore operations counted per endpoint. */
+  private static final ImmutableList<String> DATASTORE_OPERATIONS =
+    ImmutableList.of("get", "put", "delete", "query");
+
+  /** Endpoint metrics keyed by servlet mapping. */
+  private final ConcurrentMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+  private RequestMetrics() {}
+
+  /**
+   * Returns the shared registry.
+   *
+   * @return The shared registry.
+   */
+  public static RequestMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the metrics of a servlet mapping, creating them if necessary.
+   *
+   * @param mapping A servlet mapping, e.g. "/projects/*".
+   * @return The metrics of the mapping.
+   */
+  public EndpointMetrics forMapping(String mapping) {
+    EndpointMetrics metrics = endpoints.get(mapping);
+    if (metrics == null) {
+      metrics = endpoints.computeIfAbsent(mapping, EndpointMetrics::new);
+    }
+    return metrics;
+  }
+
+  /**
+   * Writes all metrics in the Prometheus text exposition format.
+   *
+   * @param out The writer to which the metrics are written.
+   */
+  public void writePrometheus(PrintWriter out) {
+    // Sort by mapping for stable output.
+    Map<String, EndpointMetrics> sorted = new TreeMap<>(endpoints);
+
+    out.println("# HELP http_server_requests_in_flight Requests currently being served.");
+    out.println("# TYPE http_server_requests_in_flight gauge");
+    for (EndpointMetrics metrics : sorted.values()) {
+      out.println("http_server_requests_in_flight{mapping=\"" + escape(metrics.getMapping())
+                  + "\"} " + metrics.getInFlight());
+    }
+
+    out.println("# HELP http_server_request_duration_seconds Time taken to serve requests.");
+    out.println("# TYPE http_server_request_duration_seconds histogram");
+    for (EndpointMetrics metrics : sorted.values()) {
+      for (int status = 0; status < EndpointMetrics.STATUS_LIMIT; status++) {
+        LatencyHistogram histogram = metrics.peekHistogram(status);
+        if (histogram != null) {
+          String labels = "mapping=\"" + escape(metrics.getMapping())
+            + "\",status=\"" + status + "\"";
+          writeHistogram(out, "http_server_request_duration_seconds", labels, histogram);
+        }
+      }
+    }
+
+    out.println("# HELP datastore_calls_total Datastore calls made while serving requests.");
+    out.println("# TYPE datastore_calls_total counter");
+    for (EndpointMetrics metrics : sorted.values()) {
+      for (String operation : DATASTORE_OPERATIONS) {
+        out.println("datastore_calls_total{mapping=\"" + escape(metrics.getMapping())
+                    + "\",operation=\"" + operation + "\"} "
+                    + metrics.getDatastoreCalls(operation));
+      }
+    }
+
+    out.println("# HELP datastore_entities_total Datastore entities touched while serving "
+                + "requests.");
+    out.println("# TYPE datastore_entities_total counter");
+    for (EndpointMetrics metrics : sorted.values()) {
+      out.println("datastore_entities_total{mapping=\"" + escape(metrics.getMapping())
+                  + "\"} " + metrics.getDatastoreEntities());
+    }
+
+    out.println("# HELP datastore_seconds_total Time spent in Datastore calls while serving "
+                + "requests.");
+    out.println("# TYPE datastore_seconds_total counter");
+    for (EndpointMetrics metrics : sorted.values()) {
+      out.println("datastore_seconds_total{mapping=\"" + escape(metrics.getMapping())
+                  + "\"} " + (metrics.getDatastoreNanos() / 1e9));
+    }
+  }
+
+  /**
+   * Writes the bucket, sum and count series of a single histogram.
+   */
+  private static void writeHistogram(PrintWriter out, String name, String labels,
+                                     LatencyHistogram histogram) {
+    long[] snapshot = histogram.snapshot();
+    long cumulative = 0;
+    int index = 0;
+    for (int octave = MIN_EXPORTED_OCTAVE; octave <= MAX_EXPORTED_OCTAVE; octave++) {
+      // Bucket boundaries fall on powers of two, so every value recorded
+      // below the bound's own bucket is strictly less than the bound.
+      int boundIndex = LatencyHistogram.bucketIndex(1L << octave);
+      for (; index < boundIndex; index++) {
+        cumulative += snapshot[index];
+      }
+      double seconds = (1L << octave) / 1e6;
+      out.println(name + "_bucket{" + labels + ",le=\"" + seconds + "\"} " + cumulative);
+    }
+    for (; index < snapshot.length; index++) {
+      cumulative += snapshot[index];
+    }
+    out.println(name + "_bucket{" + labels + ",le=\"+Inf\"} " + cumulative);
+    out.println(name + "_sum{" + labels + "} " + (histogram.getSum() / 1e6));
+    out.println(name + "_count{" + labels + "} " + cumulative);
+  }
+
+  /**
+   * Escapes a Prometheus label value.
+   */
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+}
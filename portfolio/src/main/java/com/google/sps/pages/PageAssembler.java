@@ -0,0 +1,144 @@
+/**
+ * PageAssembler.java
+ * 10/19/2026
+ *
+ * Assembles the dynamic "/projects" and "/visualizations" pages from
+ * their template page and content fragments.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.pages;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A page whose content is inserted into a shared template page. Used both
+ * by the servlets at request time and by {@link PrerenderPages} at build
+ * time so that the two always produce identical markup.
+ */
+public enum PageAssembler {
+  PROJECTS("projects", "ugadining",
+           ImmutableList.of("ugadining", "portflagship", "3dmodeling", "visualizations")),
+  VISUALIZATIONS("visualizations", "sorting",
+                 ImmutableList.of("sorting", "searching"));
+
+  /**
+   * The line of a template page after which the page content is
+   * inserted.
+   */
+  private static final String CONTENT_MARKER = "<div class=\"ten columns content-sidebar\">";
+
+  /** The directory (relative to the web root) of prerendered pages. */
+  public static final String PRERENDERED_DIRECTORY = "prerendered";
+
+  /** The name of this section, e.g. "projects". */
+  private final String section;
+
+  /** The page served when no page is specified. */
+  private final String defaultPage;
+
+  /** The valid pages of this section. */
+  private final ImmutableList<String> pages;
+
+  private PageAssembler(String section, String defaultPage, ImmutableList<String> pages) {
+    this.section = section;
+    this.defaultPage = defaultPage;
+    this.pages = pages;
+  }
+
+  /**
+   * Returns the name of this section.
+   *
+   * @return The name of this section, e.g. "projects".
+   */
+  public String getSection() {
+    return section;
+  }
+
+  /**
+   * Returns the valid pages of this section.
+   *
+   * @return The valid pages of this section.
+   */
+  public ImmutableList<String> getPages() {
+    return pages;
+  }
+
+  /**
+   * Resolves the path info of a request to this section into a page name.
+   *
+   * @param pathInfo The path info of the request (e.g. "/sorting"), possibly null.
+   * @return The requested page name, or null if no such page exists.
+   */
+  public String resolve(String pathInfo) {
+    if (pathInfo == null || pathInfo.equals("/")) {
+      return defaultPage;
+    }
+    String page = pathInfo.substring(1);
+    return pages.contains(page) ? page : null;
+  }
+
+  /**
+   * Assembles the specified page by inserting its content into the section
+   * template.
+   *
+   * @param root The web root containing the template and content files.
+   * @param page A valid page of this section.
+   * @return The fully rendered page.
+   * @throws IOException If the template or content could not be read.
+   */
+  public String assemble(Path root, String page) throws IOException {
+    List<String> content = Files.readAllLines(root.resolve("data/" + section + "/" + page + ".html"),
+                                              StandardCharsets.UTF_8);
+    List<String> template = Files.readAllLines(root.resolve(section + ".html"),
+                                               StandardCharsets.UTF_8);
+
+    String separator = System.lineSeparator();
+    StringBuilder rendered = new StringBuilder();
+    for (String line : template) {
+      rendered.append(line).append(separator);
+
+      if (line.trim().equals(CONTENT_MARKER)) {
+        for (String contentLine : content) {
+          rendered.append(contentLine).append(separator);
+        }
+      }
+    }
+    return rendered.toString();
+  }
+
+  /**
+   * Returns the web resource path of the prerendered copy of a page.
+   *
+   * @param page A valid page of this section.
+   * @return The resource path, e.g. "/prerendered/projects/ugadining.html".
+   */
+  public String getPrerenderedPath(String page) {
+    return "/" + PRERENDERED_DIRECTORY + "/" + section + "/" + page + ".html";
+  }
+
+  /**
+   * Returns the prerendered resource path for a request URI, if the URI
+   * addresses one of the assembled pages.
+   *
+   * @param uri A request URI, e.g. "/projects/3dmodeling".
+   * @return The prerendered resource path, or null if the URI does not
+   *     address an assembled page.
+   */
+  public static String prerenderedPathForUri(String uri) {
+    for (PageAssembler assembler : values()) {
+      String prefix = "/" + assembler.section;
+      if (uri.equals(prefix) || uri.startsWith(prefix + "/")) {
+        String page = assembler.resolve(uri.length() == prefix.length()
+                                        ? null : uri.substring(prefix.length()));
+        return page == null ? null : assembler.getPrerenderedPath(page);
+      }
+    }
+    return null;
+  }
+}
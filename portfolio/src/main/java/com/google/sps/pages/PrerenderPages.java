@@ -0,0 +1,60 @@
+/**
+ * PrerenderPages.java
+ * 10/19/2026
+ *
+ * Build-time entry point which renders every "/projects" and
+ * "/visualizations" page ahead of time.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.pages;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a plain and a gzip-compressed copy of every assembled page so that
+ * they may be packaged into the WAR and served without running a servlet.
+ * Invoked by the exec-maven-plugin during the prepare-package phase.
+ */
+public final class PrerenderPages {
+
+  private PrerenderPages() {
+    // Disallow instances.
+  }
+
+  /**
+   * Renders all pages.
+   *
+   * @param args The web root to read templates from, followed by the
+   *     directory to which the prerendered pages are written.
+   * @throws IOException If a page could not be read or written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      throw new IllegalArgumentException("Usage: PrerenderPages <webapp-root> <output-directory>");
+    }
+    Path root = Paths.get(args[0]);
+    Path output = Paths.get(args[1]);
+
+    for (PageAssembler assembler : PageAssembler.values()) {
+      for (String page : assembler.getPages()) {
+        byte[] rendered = assembler.assemble(root, page).getBytes(StandardCharsets.UTF_8);
+        // Strip the leading slash so the path resolves against the output directory.
+        Path target = output.resolve(assembler.getPrerenderedPath(page).substring(1));
+        Files.createDirectories(target.getParent());
+        Files.write(target, rendered);
+
+        Path compressed = target.resolveSibling(target.getFileName() + ".gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+          out.write(rendered);
+        }
+      }
+    }
+  }
+}
@@ -18,6 +18,7 @@ import com.google.appengine.api.datastore.KeyFactory;
 import com.google.appengine.api.users.UserService;
 import com.google.appengine.api.users.UserServiceFactory;
 import com.google.common.collect.ImmutableList;
+import com.google.sps.metrics.AccountingDatastoreService;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,7 +45,7 @@ public class CreateCommentServlet extends HttpServlet {
    * Datastore database. 
    */
   private final DatastoreService datastore =
-    DatastoreServiceFactory.getDatastoreService();
+    new AccountingDatastoreService(DatastoreServiceFactory.getDatastoreService());
 
   /** 
    * A UserService to retrieve information about the logged in user.
@@ -22,6 +22,7 @@ import com.google.appengine.api.datastore.Query.FilterPredicate;
 import com.google.appengine.api.users.UserService;
 import com.google.appengine.api.users.UserServiceFactory;
 import com.google.common.collect.ImmutableList;
+import com.google.sps.metrics.AccountingDatastoreService;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
@@ -40,7 +41,7 @@ public class DeleteCommentServlet extends HttpServlet {
    * Datastore database. 
    */
   private final DatastoreService datastore =
-    DatastoreServiceFactory.getDatastoreService();
+    new AccountingDatastoreService(DatastoreServiceFactory.getDatastoreService());
 
   /** 
    * A UserService to retrieve information about the logged in user.
@@ -17,6 +17,7 @@ import com.google.appengine.api.datastore.Key;
 import com.google.appengine.api.datastore.KeyFactory;
 import com.google.appengine.api.users.UserService;
 import com.google.appengine.api.users.UserServiceFactory;
+import com.google.sps.metrics.AccountingDatastoreService;
 import java.io.IOException;
 import java.util.List;
 import javax.servlet.annotation.WebServlet;
@@ -35,7 +36,7 @@ public class LikeCommentServlet extends HttpServlet {
    * Datastore database. 
    */
   private final DatastoreService datastore =
-    DatastoreServiceFactory.getDatastoreService();
+    new AccountingDatastoreService(DatastoreServiceFactory.getDatastoreService());
 
   /** 
    * A UserService to retrieve information about the logged in user.
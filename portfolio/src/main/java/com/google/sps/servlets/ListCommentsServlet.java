@@ -27,6 +27,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.gson.Gson;
 import com.google.sps.data.Comment;
 import com.google.sps.data.ListCommentsResponse;
+import com.google.sps.metrics.AccountingDatastoreService;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -55,7 +56,7 @@ public class ListCommentsServlet extends HttpServlet {
    * Datastore database. 
    */
   private final DatastoreService datastore =
-    DatastoreServiceFactory.getDatastoreService();
+    new AccountingDatastoreService(DatastoreServiceFactory.getDatastoreService());
   
   /** Used to serialize comment data to JSON. */
   private final Gson gson = new Gson();
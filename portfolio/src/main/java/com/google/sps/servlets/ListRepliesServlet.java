@@ -25,6 +25,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.gson.Gson;
 import com.google.sps.data.Comment;
 import com.google.sps.data.ListCommentsResponse;
+import com.google.sps.metrics.AccountingDatastoreService;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -46,7 +47,7 @@ public class ListRepliesServlet extends HttpServlet {
    * Datastore database. 
    */
   private final DatastoreService datastore =
-    DatastoreServiceFactory.getDatastoreService();
+    new AccountingDatastoreService(DatastoreServiceFactory.getDatastoreService());
   
   /** Used to serialize reply data to JSON. */
   private final Gson gson = new Gson();
@@ -0,0 +1,115 @@
+/**
+ * MetricsFilter.java
+ * 10/19/2026
+ *
+ * Records the latency and concurrency of every request to the webserver.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.servlets;
+
+import com.google.sps.metrics.DatastoreCost;
+import com.google.sps.metrics.EndpointMetrics;
+import com.google.sps.metrics.RequestMetrics;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRegistration;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Times every request and records it, along with the Datastore calls made
+ * while serving it, against the servlet mapping that handles it. Requests
+ * not handled by an application servlet (e.g. static files) are recorded
+ * under the default mapping "/". Must be ordered before RewriteURLFilter
+ * (see web.xml) so that pages it forwards are also timed.
+ */
+@WebFilter("/*")
+public class MetricsFilter implements Filter {
+  private static final Logger logger = Logger.getLogger(MetricsFilter.class.getName());
+
+  /**
+   * Requests making at least this many Datastore calls, or spending at least
+   * this long in them, are logged.
+   */
+  private static final long DATASTORE_CALLS_LOG_THRESHOLD = 10;
+  private static final long DATASTORE_MILLIS_LOG_THRESHOLD = 200;
+
+  /** The mapping under which requests to the default servlet are recorded. */
+  private static final String DEFAULT_MAPPING = "/";
+
+  /**
+   * The metrics of each servlet mapping keyed by the servlet path of the
+   * requests it handles, resolved once so that recording never allocates.
+   */
+  private final Map<String, EndpointMetrics> metricsByServletPath = new HashMap<>();
+
+  /** The metrics of requests handled by the default servlet. */
+  private EndpointMetrics defaultMetrics;
+
+  @Override
+  public void init(FilterConfig config) throws ServletException {
+    RequestMetrics registry = RequestMetrics.getInstance();
+    for (ServletRegistration servlet :
+           config.getServletContext().getServletRegistrations().values()) {
+      for (String mapping : servlet.getMappings()) {
+        if (mapping.endsWith("/*")) {
+          // For path mappings, the servlet path excludes the wildcard.
+          String servletPath = mapping.substring(0, mapping.length() - 2);
+          metricsByServletPath.put(servletPath, registry.forMapping(mapping));
+        } else if (mapping.startsWith("/") && !mapping.equals(DEFAULT_MAPPING)) {
+          metricsByServletPath.put(mapping, registry.forMapping(mapping));
+        }
+      }
+    }
+    defaultMetrics = registry.forMapping(DEFAULT_MAPPING);
+  }
+
+  @Override
+  public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+    throws ServletException, IOException {
+    if (!(req instanceof HttpServletRequest && res instanceof HttpServletResponse)) {
+      chain.doFilter(req, res);
+      return;
+    }
+
+    HttpServletRequest request = (HttpServletRequest) req;
+    HttpServletResponse response = (HttpServletResponse) res;
+    EndpointMetrics metrics =
+      metricsByServletPath.getOrDefault(request.getServletPath(), defaultMetrics);
+
+    // The cost is attached to the request so that servlets may inspect it.
+    DatastoreCost cost = DatastoreCost.begin();
+    request.setAttribute(DatastoreCost.REQUEST_ATTRIBUTE, cost);
+
+    long start = System.nanoTime();
+    metrics.begin();
+    int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+    try {
+      chain.doFilter(req, res);
+      status = response.getStatus();
+    } finally {
+      metrics.end(status, (System.nanoTime() - start) / 1000);
+      DatastoreCost.end();
+      metrics.recordDatastoreCost(cost);
+      if (cost.getCalls() >= DATASTORE_CALLS_LOG_THRESHOLD
+          || cost.getNanos() >= DATASTORE_MILLIS_LOG_THRESHOLD * 1_000_000) {
+        logger.warning("Expensive request " + request.getMethod() + " "
+                       + request.getRequestURI() + ": " + cost);
+      }
+    }
+  }
+
+  @Override
+  public void destroy() {}
+}
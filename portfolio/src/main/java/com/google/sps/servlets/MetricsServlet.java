@@ -0,0 +1,30 @@
+/**
+ * MetricsServlet.java
+ * 10/19/2026
+ *
+ * An endpoint exposing request metrics in the Prometheus text format.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.servlets;
+
+import com.google.sps.metrics.RequestMetrics;
+import java.io.IOException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Exposes the per-endpoint latency histograms and in-flight gauges
+ * recorded by MetricsFilter.
+ */
+@WebServlet("/metrics")
+public class MetricsServlet extends HttpServlet {
+  @Override
+  public void doGet(HttpServletRequest request, HttpServletResponse response)
+    throws IOException {
+    response.setContentType("text/plain; version=0.0.4; charset=utf-8");
+    RequestMetrics.getInstance().writePrometheus(response.getWriter());
+  }
+}
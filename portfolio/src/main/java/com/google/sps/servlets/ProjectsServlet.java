@@ -6,13 +6,9 @@
  */
 package com.google.sps.servlets;
 
+import com.google.sps.pages.PageAssembler;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -29,40 +25,15 @@ public class ProjectsServlet extends HttpServlet {
   public void doGet(HttpServletRequest request, HttpServletResponse response)
     throws IOException, ServletException {
     
-    String project = request.getPathInfo();
-    
     // Default project is UGA Dining project.
-    if (project == null || project.equals("/")) {
-      project = "/ugadining";
-    }
-    
-    // Gather the project content (title and description) which will be
-    // inserted into the projects template page.
-    List<String> content = new ArrayList<>();
-    switch (project) {
-    case "/ugadining":
-    case "/portflagship":
-    case "/3dmodeling":
-    case "/visualizations":
-      content = Files.readAllLines(Paths.get("data/projects" + project + ".html"),
-                                   StandardCharsets.UTF_8);
-      break;
-    default:
+    String project = PageAssembler.PROJECTS.resolve(request.getPathInfo());
+    if (project == null) {
       response.sendError(HttpServletResponse.SC_NOT_FOUND);
       return;
     }
-    
-    List<String> template = Files.readAllLines(Paths.get("projects.html"),
-                                               StandardCharsets.UTF_8);
-    
-    for (String line : template) {
-      response.getWriter().println(line);
-      
-      if (line.trim().equals("<div class=\"ten columns content-sidebar\">")) {
-        for (String contentLine : content) {
-          response.getWriter().println(contentLine);
-        }
-      }
-    }
+
+    // Pages are normally served prerendered by RewriteURLFilter; this path
+    // is only reached when the build stage that produces them was skipped.
+    response.getWriter().print(PageAssembler.PROJECTS.assemble(Paths.get(""), project));
   }
 }
@@ -6,7 +6,10 @@
  */
 package com.google.sps.servlets;
 
+import com.google.common.io.ByteStreams;
+import com.google.sps.pages.PageAssembler;
 import java.io.IOException;
+import java.io.InputStream;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -49,8 +52,13 @@ public class RewriteURLFilter implements Filter {
         return;
       }
 
+      // Assembled pages (e.g. /projects) are served from the copies
+      // prerendered at build time, falling back to their servlet.
+      if (servePrerendered(request, response, uri)) {
+        return;
+      }
+
       // Server-side forwarding (will not change url of client browser).
-      // Dynamic pages (e.g. /projects) are handled by a servlet.
       switch (uri) {
       case "/index":
       case "/about":
@@ -65,4 +73,91 @@ public class RewriteURLFilter implements Filter {
       chain.doFilter(req, res);
     }
   }
+
+  /**
+   * Writes the prerendered copy of an assembled page to the response,
+   * preferring the precompressed copy when the client accepts gzip.
+   *
+   * @param request The request to serve.
+   * @param response The response to write to.
+   * @param uri The request URI.
+   * @return True if a prerendered page was served; false if the URI does not
+   *     address an assembled page or no prerendered copy was packaged.
+   */
+  private static boolean servePrerendered(HttpServletRequest request,
+                                          HttpServletResponse response, String uri)
+    throws IOException {
+    String path = PageAssembler.prerenderedPathForUri(uri);
+    if (path == null) {
+      return false;
+    }
+
+    boolean gzip = acceptsGzip(request.getHeader("Accept-Encoding"));
+    InputStream page = request.getServletContext().getResourceAsStream(gzip ? path + ".gz" : path);
+    if (page == null) {
+      return false;
+    }
+
+    try (InputStream in = page) {
+      response.setContentType("text/html;charset=UTF-8");
+      response.setHeader("Vary", "Accept-Encoding");
+      if (gzip) {
+        response.setHeader("Content-Encoding", "gzip");
+      }
+      ByteStreams.copy(in, response.getOutputStream());
+    }
+    return true;
+  }
+
+  /**
+   * Determines whether an Accept-Encoding header admits gzip. An explicit
+   * gzip entry decides on its own; otherwise a "*" entry does. Either is a
+   * refusal when its q-value is zero (e.g. "gzip;q=0").
+   *
+   * @param acceptEncoding The Accept-Encoding header, or null if absent.
+   * @return True if the client accepts a gzip-encoded response.
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Boolean gzip = null;
+    Boolean wildcard = null;
+    for (String entry : acceptEncoding.split(",")) {
+      String[] params = entry.split(";");
+      String coding = params[0].trim().toLowerCase();
+      boolean accepted = qualityOf(params) > 0;
+      if (coding.equals("gzip") || coding.equals("x-gzip")) {
+        gzip = accepted;
+      } else if (coding.equals("*")) {
+        wildcard = accepted;
+      }
+    }
+    if (gzip != null) {
+      return gzip;
+    }
+    return wildcard != null && wildcard;
+  }
+
+  /**
+   * Reads the q-value among an Accept-Encoding entry's parameters.
+   *
+   * @param params The entry split on ';', coding first.
+   * @return The q-value, 1 if absent, or 0 if malformed.
+   */
+  private static double qualityOf(String[] params) {
+    for (int i = 1; i < params.length; i++) {
+      String param = params[i].trim();
+      int equals = param.indexOf('=');
+      if (equals < 0 || !param.substring(0, equals).trim().equalsIgnoreCase("q")) {
+        continue;
+      }
+      try {
+        return Double.parseDouble(param.substring(equals + 1).trim());
+      } catch (NumberFormatException e) {
+        return 0;
+      }
+    }
+    return 1;
+  }
 }
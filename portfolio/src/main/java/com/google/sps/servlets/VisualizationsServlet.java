@@ -6,13 +6,9 @@
  */
 package com.google.sps.servlets;
 
+import com.google.sps.pages.PageAssembler;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -29,38 +25,16 @@ public class VisualizationsServlet extends HttpServlet {
   public void doGet(HttpServletRequest request, HttpServletResponse response)
     throws IOException, ServletException {
     
-    String visualization = request.getPathInfo();
-
     // Default visualization is sorting visualization.
-    if (visualization == null || visualization.equals("/")) {
-      visualization = "/sorting";
-    }
-
-    // Gather the visualizations content which will be inserted into
-    // the visualizations template page.
-    List<String> content = new ArrayList<>();
-    switch (visualization) {
-    case "/sorting":
-    case "/searching":
-      content = Files.readAllLines(Paths.get("data/visualizations" + visualization + ".html"),
-                                   StandardCharsets.UTF_8);
-      break;
-    default:
+    String visualization = PageAssembler.VISUALIZATIONS.resolve(request.getPathInfo());
+    if (visualization == null) {
       response.sendError(HttpServletResponse.SC_NOT_FOUND);
       return;
     }
 
-    List<String> template = Files.readAllLines(Paths.get("visualizations.html"),
-                                               StandardCharsets.UTF_8);
-
-    for (String line : template) {
-      response.getWriter().println(line);
-      
-      if (line.trim().equals("<div class=\"ten columns content-sidebar\">")) {
-        for (String contentLine : content) {
-          response.getWriter().println(contentLine);
-        }
-      }
-    }
+    // Pages are normally served prerendered by RewriteURLFilter; this path
+    // is only reached when the build stage that produces them was skipped.
+    String page = PageAssembler.VISUALIZATIONS.assemble(Paths.get(""), visualization);
+    response.getWriter().print(page);
   }
 }
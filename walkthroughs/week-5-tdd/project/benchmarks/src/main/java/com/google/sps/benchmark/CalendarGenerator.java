@@ -0,0 +1,147 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * CalendarGenerator.java
+ * 10/19/2026
+ *
+ * Generates synthetic calendars and meeting requests for benchmarks.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.benchmark;
+
+import com.google.sps.Event;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates reproducible calendars shaped like those of an organization.
+ * Some people are far busier than others: each attendee is drawn from a
+ * Zipf distribution over the people. Most meetings have two to five
+ * attendees, with the occasional large one, and start on the quarter hour
+ * during working hours.
+ */
+public final class CalendarGenerator {
+  /** The exponent of the Zipf distribution of attendee popularity. */
+  private static final double ZIPF_EXPONENT = 1.1;
+
+  /** The fraction of meetings that are large. */
+  private static final double LARGE_MEETING_RATE = 0.05;
+
+  /** The meeting durations, in minutes, weighted by repetition. */
+  private static final int[] DURATIONS = {15, 30, 30, 30, 60, 60, 60, 90, 120};
+
+  private static final int WORKDAY_START = TimeRange.getTimeInMinutes(8, 0);
+  private static final int WORKDAY_END = TimeRange.getTimeInMinutes(18, 0);
+
+  /** The source of randomness. */
+  private final Random random;
+
+  /** The running total of the Zipf weights of people [0..i]. */
+  private final double[] cumulativeWeights;
+
+  /**
+   * Creates a generator.
+   *
+   * @param seed The seed; equal seeds generate equal calendars.
+   * @param people The number of people in the organization.
+   */
+  public CalendarGenerator(long seed, int people) {
+    random = new Random(seed);
+    cumulativeWeights = new double[people];
+    double total = 0;
+    for (int i = 0; i < people; i++) {
+      total += 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+      cumulativeWeights[i] = total;
+    }
+  }
+
+  /**
+   * Returns the number of people in an organization with the specified
+   * number of events in a day, so that calendars of all sizes are similarly
+   * dense.
+   *
+   * @param events The number of events.
+   * @return The number of people.
+   */
+  public static int peopleFor(int events) {
+    return Math.max(50, events / 4);
+  }
+
+  /**
+   * Returns a calendar of the specified number of events.
+   *
+   * @param count The number of events.
+   * @return The events.
+   */
+  public List<Event> events(int count) {
+    List<Event> events = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int size = random.nextDouble() < LARGE_MEETING_RATE
+          ? 10 + random.nextInt(40) : 2 + Math.min(geometric(0.5), 3);
+      int duration = DURATIONS[random.nextInt(DURATIONS.length)];
+      int quarters = (WORKDAY_END - WORKDAY_START - duration) / 15;
+      int start = WORKDAY_START + 15 * random.nextInt(quarters + 1);
+      events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, duration),
+                           people(size)));
+    }
+    return events;
+  }
+
+  /**
+   * Returns a meeting request.
+   *
+   * @param mandatory The number of mandatory attendees.
+   * @param optional The number of optional attendees.
+   * @param duration The duration of the meeting in minutes.
+   * @return The request.
+   */
+  public MeetingRequest request(int mandatory, int optional, int duration) {
+    List<String> people = new ArrayList<>(people(mandatory + optional));
+    MeetingRequest request = new MeetingRequest(people.subList(0, mandatory), duration);
+    for (String person : people.subList(mandatory, people.size())) {
+      request.addOptionalAttendee(person);
+    }
+    return request;
+  }
+
+  /**
+   * Returns the specified number of distinct people, drawn by popularity.
+   */
+  private Set<String> people(int count) {
+    count = Math.min(count, cumulativeWeights.length);
+    Set<String> people = new LinkedHashSet<>();
+    while (people.size() < count) {
+      double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+      int i = Arrays.binarySearch(cumulativeWeights, target);
+      people.add("person-" + (i >= 0 ? i : -i - 1));
+    }
+    return people;
+  }
+
+  /**
+   * Returns the number of failures before the first success of trials with
+   * the specified probability of success.
+   */
+  private int geometric(double p) {
+    return (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+  }
+}
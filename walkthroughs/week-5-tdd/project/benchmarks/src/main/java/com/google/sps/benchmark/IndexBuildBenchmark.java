@@ -0,0 +1,73 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * IndexBuildBenchmark.java
+ * 10/19/2026
+ *
+ * Measures building the indexes of the index engines.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.benchmark;
+
+import com.google.sps.AttendeeBitmapIndex;
+import com.google.sps.AttendeeCalendarIndex;
+import com.google.sps.Event;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building an {@link AttendeeCalendarIndex} and an
+ * {@link AttendeeBitmapIndex} of a synthetic calendar: the setup cost the
+ * index engines pay once per collection of events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IndexBuildBenchmark {
+  @Param({"1000", "10000", "100000", "1000000"})
+  private int events;
+
+  private List<Event> calendar;
+
+  @Setup
+  public void setUp() {
+    calendar = new CalendarGenerator(0, CalendarGenerator.peopleFor(events)).events(events);
+  }
+
+  @Benchmark
+  public AttendeeCalendarIndex calendarIndex() {
+    return AttendeeCalendarIndex.of(calendar);
+  }
+
+  @Benchmark
+  public AttendeeBitmapIndex bitmapIndex() {
+    return AttendeeBitmapIndex.of(calendar);
+  }
+}
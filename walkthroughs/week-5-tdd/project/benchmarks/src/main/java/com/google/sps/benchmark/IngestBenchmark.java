@@ -0,0 +1,96 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * IngestBenchmark.java
+ * 10/19/2026
+ *
+ * Measures streaming a calendar export into the event store.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.benchmark;
+
+import com.google.sps.CalendarFormat;
+import com.google.sps.CalendarIngester;
+import com.google.sps.Event;
+import com.google.sps.EventStore;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link CalendarIngester#ingest} of a synthetic CSV export into
+ * an empty {@link EventStore}: parsing in parallel chunks, interning
+ * attendees and bulk-loading the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IngestBenchmark {
+  @Param({"100000", "1000000"})
+  private int events;
+
+  @Param({"1", "4"})
+  private int threads;
+
+  private String export;
+
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setUp() {
+    LocalDateTime day = LocalDateTime.of(2020, 1, 1, 0, 0);
+    StringBuilder csv = new StringBuilder("title,start,end,attendees\n");
+    for (Event event
+         : new CalendarGenerator(0, CalendarGenerator.peopleFor(events)).events(events)) {
+      csv.append(event.getTitle()).append(',')
+          .append(day.plusMinutes(event.getWhen().start())).append(',')
+          .append(day.plusMinutes(event.getWhen().end())).append(',')
+          .append(String.join(";", event.getAttendees())).append('\n');
+    }
+    export = csv.toString();
+    pool = new ForkJoinPool(threads);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public EventStore ingest() throws IOException {
+    EventStore store = new EventStore(Collections.emptyList());
+    CalendarIngester.ingest(new StringReader(export), CalendarFormat.CSV, store, pool);
+    return store;
+  }
+}
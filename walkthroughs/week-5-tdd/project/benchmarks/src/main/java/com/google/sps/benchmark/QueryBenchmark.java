@@ -0,0 +1,100 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * QueryBenchmark.java
+ * 10/19/2026
+ *
+ * Measures meeting queries of each engine over synthetic calendars.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.sps.Event;
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link FindMeetingQuery#query} for each engine. The index
+ * engines index the calendar during setup, as they would when the same
+ * events are queried repeatedly, so only the query itself is measured.
+ * Requests are drawn in turn from a fixed set so that no single request's
+ * attendees dominate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class QueryBenchmark {
+  /** The number of distinct requests cycled through. A power of two. */
+  private static final int REQUESTS = 64;
+
+  @Param({"TREE_MULTISET", "PRIMITIVE_SWEEP", "CALENDAR_INDEX", "BITMAP"})
+  private FindMeetingQuery.Engine engine;
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  private int events;
+
+  @Param({"1", "4", "16"})
+  private int mandatory;
+
+  @Param({"0", "4"})
+  private int optional;
+
+  @Param({"30", "60"})
+  private int duration;
+
+  private ImmutableList<Event> calendar;
+  private MeetingRequest[] requests;
+  private FindMeetingQuery query;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    CalendarGenerator generator = new CalendarGenerator(0, CalendarGenerator.peopleFor(events));
+    // Immutable, so that the index engines reuse their index without
+    // checking the calendar for changes.
+    calendar = ImmutableList.copyOf(generator.events(events));
+    requests = new MeetingRequest[REQUESTS];
+    for (int i = 0; i < REQUESTS; i++) {
+      requests[i] = generator.request(mandatory, optional, duration);
+    }
+    query = new FindMeetingQuery(engine);
+    // Builds the index of the index engines.
+    query.query(calendar, requests[0]);
+  }
+
+  @Benchmark
+  public Collection<TimeRange> query() {
+    return query.query(calendar, requests[next++ & (REQUESTS - 1)]);
+  }
+}
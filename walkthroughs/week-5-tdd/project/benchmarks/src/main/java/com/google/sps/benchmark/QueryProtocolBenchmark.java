@@ -0,0 +1,104 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+/**
+ * QueryProtocolBenchmark.java
+ * 10/19/2026
+ *
+ * Measures decoding meeting requests and encoding their slots as JSON and
+ * as binary messages.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps.benchmark;
+
+import com.google.gson.Gson;
+import com.google.sps.BinaryQueryProtocol;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the protocol cost of one round trip of
+ * QueryServlet per format: decoding a
+ * meeting request and encoding eight open time slots. The engine is not
+ * run, so only the encoding is compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryProtocolBenchmark {
+  @Param({"3", "30"})
+  private int attendees;
+
+  private final Gson gson = new Gson();
+
+  private String jsonRequest;
+
+  private byte[] binaryRequest;
+
+  private final List<List<TimeRange>> slots = new ArrayList<>();
+
+  @Setup
+  public void setUp() throws IOException {
+    MeetingRequest request = new CalendarGenerator(0, 1000).request(attendees, attendees, 30);
+    jsonRequest = gson.toJson(request);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    BinaryQueryProtocol.writeRequests(Collections.singletonList(request), bytes);
+    binaryRequest = bytes.toByteArray();
+
+    List<TimeRange> answer = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      answer.add(TimeRange.fromStartDuration(i * 180, 60));
+    }
+    slots.add(answer);
+  }
+
+  @Benchmark
+  public void json(Blackhole blackhole) {
+    blackhole.consume(gson.fromJson(new StringReader(jsonRequest), MeetingRequest.class));
+    blackhole.consume(gson.toJson(slots.get(0)));
+  }
+
+  @Benchmark
+  public void binary(Blackhole blackhole) throws IOException {
+    blackhole.consume(BinaryQueryProtocol.readRequests(new ByteArrayInputStream(binaryRequest)));
+    ByteArrayOutputStream out = new ByteArrayOutputStream(8 + 8 * slots.get(0).size());
+    BinaryQueryProtocol.writeSlots(slots, out);
+    blackhole.consume(out.toByteArray());
+  }
+}
@@ -0,0 +1,90 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * AttendanceSlot.java
+ * 10/19/2026
+ *
+ * A candidate meeting time and the number of optional attendees free
+ * for it.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.Comparator;
+
+/**
+ * A time at which all mandatory attendees of a meeting request are free,
+ * together with how many of its optional attendees are free for the whole
+ * of that time. Slots are considered read-only.
+ */
+public final class AttendanceSlot {
+  /**
+   * A comparator ranking slots by the number of optional attendees free,
+   * most first, then by start time.
+   */
+  public static final Comparator<AttendanceSlot> ORDER_BY_ATTENDANCE = (a, b) -> {
+    int compare = Integer.compare(b.optionalAttendees, a.optionalAttendees);
+    if (compare == 0) {
+      compare = TimeRange.ORDER_BY_START.compare(a.when, b.when);
+    }
+    return compare;
+  };
+
+  private final TimeRange when;
+  private final int optionalAttendees;
+
+  /**
+   * Creates a new slot.
+   *
+   * @param when The time of the slot.
+   * @param optionalAttendees The number of optional attendees free for the whole slot.
+   */
+  public AttendanceSlot(TimeRange when, int optionalAttendees) {
+    this.when = when;
+    this.optionalAttendees = optionalAttendees;
+  }
+
+  /**
+   * Returns the time of this slot.
+   */
+  public TimeRange getWhen() {
+    return when;
+  }
+
+  /**
+   * Returns the number of optional attendees free for the whole of this slot.
+   */
+  public int getOptionalAttendees() {
+    return optionalAttendees;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof AttendanceSlot
+        && when.equals(((AttendanceSlot) other).when)
+        && optionalAttendees == ((AttendanceSlot) other).optionalAttendees;
+  }
+
+  @Override
+  public int hashCode() {
+    return when.hashCode() * 31 + optionalAttendees;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s with %d optional attendees", when, optionalAttendees);
+  }
+}
@@ -0,0 +1,117 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * AttendeeAvailability.java
+ * 10/19/2026
+ *
+ * Precompiles the working hours of attendees into masks of the minutes
+ * during which they cannot meet.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * An immutable map from each attendee to the minutes of every day outside
+ * of their working hours, compiled once both as intervals, for the sweep
+ * and calendar index engines, and as a bitmap, for the bitmap engines. The
+ * engines treat those minutes as busy in the same pass that gathers the
+ * attendee's events, so working hours cost no extra pass over the events.
+ * Attendees without working hours are always available. Instances are
+ * thread-safe.
+ */
+public final class AttendeeAvailability {
+  /** The availability of attendees who all may meet at any time. */
+  public static final AttendeeAvailability ALWAYS =
+      new AttendeeAvailability(new int[0][], new long[0]);
+
+  /** The off hours of an attendee without working hours. */
+  private static final int[] NO_INTERVALS = new int[0];
+
+  /**
+   * The off hours of each attendee, by attendee id, as sorted start, end
+   * pairs.
+   */
+  private final int[][] offHours;
+
+  /**
+   * The off-hours bitmaps of all attendees, laid end to end as in an
+   * {@link AttendeeBitmapIndex}.
+   */
+  private final long[] masks;
+
+  private AttendeeAvailability(int[][] offHours, long[] masks) {
+    this.offHours = offHours;
+    this.masks = masks;
+  }
+
+  /**
+   * Compiles the specified working hours.
+   *
+   * @param workingHours The working hours of each constrained attendee, by name.
+   * @return The availability of the attendees.
+   */
+  public static AttendeeAvailability of(Map<String, WorkingHours> workingHours) {
+    AttendeeRegistry registry = AttendeeRegistry.getInstance();
+    int length = 0;
+    int[] ids = new int[workingHours.size()];
+    int[][] intervals = new int[workingHours.size()][];
+    int count = 0;
+    for (Map.Entry<String, WorkingHours> entry : workingHours.entrySet()) {
+      ids[count] = registry.intern(entry.getKey());
+      intervals[count] = entry.getValue().getOffHours();
+      length = Math.max(length, ids[count] + 1);
+      count++;
+    }
+
+    int[][] offHours = new int[length][];
+    Arrays.fill(offHours, NO_INTERVALS);
+    long[] masks = new long[length * AttendeeBitmapIndex.WORDS];
+    for (int i = 0; i < count; i++) {
+      offHours[ids[i]] = intervals[i];
+      for (int j = 0; j < intervals[i].length; j += 2) {
+        AttendeeBitmapIndex.setRange(masks, ids[i] * AttendeeBitmapIndex.WORDS,
+            intervals[i][j], intervals[i][j + 1]);
+      }
+    }
+    return new AttendeeAvailability(offHours, masks);
+  }
+
+  /**
+   * Returns the minutes of every day outside of the working hours of the
+   * specified attendee.
+   *
+   * @param id An attendee id.
+   * @return The attendee's off hours as sorted start, end pairs.
+   */
+  int[] getOffHours(int id) {
+    return id < offHours.length ? offHours[id] : NO_INTERVALS;
+  }
+
+  /**
+   * ORs the off hours of the specified attendee into a day's bitmap.
+   */
+  void or(long[] busy, int id) {
+    if (id < offHours.length && offHours[id].length > 0) {
+      int offset = id * AttendeeBitmapIndex.WORDS;
+      for (int i = 0; i < AttendeeBitmapIndex.WORDS; i++) {
+        busy[i] |= masks[offset + i];
+      }
+    }
+  }
+}
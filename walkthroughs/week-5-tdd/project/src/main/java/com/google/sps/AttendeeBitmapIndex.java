@@ -0,0 +1,356 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * AttendeeBitmapIndex.java
+ * 10/19/2026
+ *
+ * Indexes the busy time of each attendee as a bitmap of the minutes of the
+ * day.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable index from each attendee to a bitmap of the minutes of the
+ * day during which they are busy. A query ORs together the bitmaps of the
+ * requested attendees and scans the result for runs of free minutes, so its
+ * cost depends on the number of attendees involved but not on the number of
+ * events. Minutes outside of an attendee's working hours are ORed in along
+ * with their bitmap. A dense index lays out a bitmap for every attendee id
+ * up to the largest among its events; a sparse one holds bitmaps only for
+ * the attendees of its events, found by binary search, so that many small
+ * indexes (such as the days of a {@link MultiDayIndex}) cost memory in the
+ * attendees they involve rather than in the span of their ids. Instances
+ * are thread-safe.
+ */
+public final class AttendeeBitmapIndex {
+  /** The number of minutes in a day, one bit each. */
+  static final int MINUTES = TimeRange.END_OF_DAY + 1;
+
+  /** The number of words in the bitmap of a day. */
+  static final int WORDS = (MINUTES + 63) >>> 6;
+
+  /**
+   * The bits past the end of the day in the last word of a bitmap. They are
+   * treated as busy so that the scan for free minutes stops at the end of
+   * the day.
+   */
+  static final long PAST_END_OF_DAY = MINUTES % 64 == 0 ? 0 : -1L << MINUTES;
+
+  /**
+   * The bitmaps of the attendees, laid end to end. In a dense index the
+   * bitmap of the attendee with id i occupies words [i * WORDS,
+   * (i + 1) * WORDS); in a sparse index that of the attendee ids[i] does.
+   */
+  private final long[] bitmaps;
+
+  /** The ids of the attendees with bitmaps, ascending, or null if dense. */
+  private final int[] ids;
+
+  /** The working hours of the attendees. */
+  private final AttendeeAvailability availability;
+
+  private AttendeeBitmapIndex(long[] bitmaps, int[] ids, AttendeeAvailability availability) {
+    this.bitmaps = bitmaps;
+    this.ids = ids;
+    this.availability = availability;
+  }
+
+  /**
+   * Builds an index of the specified events.
+   *
+   * @param events The events to index.
+   * @return The index of the events.
+   */
+  public static AttendeeBitmapIndex of(Collection<Event> events) {
+    return of(events, AttendeeAvailability.ALWAYS);
+  }
+
+  /**
+   * Builds an index of the specified events, treating attendees as busy
+   * outside of their working hours.
+   *
+   * @param events The events to index.
+   * @param availability The working hours of the attendees.
+   * @return The index of the events.
+   */
+  public static AttendeeBitmapIndex of(Collection<Event> events,
+                                       AttendeeAvailability availability) {
+    int attendees = 0;
+    for (Event event : events) {
+      attendees = Math.max(attendees, event.getAttendeeSet().max() + 1);
+    }
+    Builder builder = new Builder(availability, attendees);
+    for (Event event : events) {
+      builder.add(event.getAttendeeSet(), event.getWhen().start(), event.getWhen().end());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Accumulates busy minutes for an index.
+   */
+  static final class Builder {
+    private final AttendeeAvailability availability;
+    private long[] bitmaps;
+
+    /**
+     * The slot of the bitmap of each attendee added so far, by attendee id,
+     * if the index is sparse; null if it is dense.
+     */
+    private final Map<Integer, Integer> slots;
+
+    /**
+     * Creates a builder of a dense index with room for the bitmaps of the
+     * attendees with ids below the specified count. It grows if a larger id
+     * is added.
+     */
+    Builder(AttendeeAvailability availability, int attendees) {
+      this.availability = availability;
+      this.bitmaps = new long[attendees * WORDS];
+      this.slots = null;
+    }
+
+    /**
+     * Creates a builder of a dense or sparse index.
+     */
+    Builder(AttendeeAvailability availability, boolean sparse) {
+      this.availability = availability;
+      this.bitmaps = new long[0];
+      this.slots = sparse ? new HashMap<>() : null;
+    }
+
+    /**
+     * Creates a builder of a sparse index starting from the busy minutes of
+     * the specified sparse index, which is left unchanged.
+     */
+    Builder(AttendeeBitmapIndex index) {
+      this.availability = index.availability;
+      this.bitmaps = index.bitmaps.clone();
+      this.slots = new HashMap<>();
+      for (int i = 0; i < index.ids.length; i++) {
+        slots.put(index.ids[i], i);
+      }
+    }
+
+    /**
+     * Marks the specified attendees busy over the minutes [from, to) of the
+     * day. Minutes before or after the day are ignored.
+     */
+    void add(AttendeeSet attendees, int from, int to) {
+      from = Math.max(from, 0);
+      to = Math.min(to, MINUTES);
+      if (from >= to) {
+        return;
+      }
+      for (int id : attendees.toIds()) {
+        int slot = id;
+        if (slots != null) {
+          slot = slots.computeIfAbsent(id, key -> slots.size());
+        }
+        if ((slot + 1) * WORDS > bitmaps.length) {
+          bitmaps = Arrays.copyOf(bitmaps, Math.max((slot + 1) * WORDS, bitmaps.length * 2));
+        }
+        setRange(bitmaps, slot * WORDS, from, to);
+      }
+    }
+
+    /**
+     * Returns the index of the busy minutes added so far. A dense index is
+     * handed the builder's bitmaps rather than a copy; a sparse one gets them
+     * reordered by attendee id and trimmed. The builder may not be used
+     * afterwards.
+     */
+    AttendeeBitmapIndex build() {
+      AttendeeBitmapIndex index;
+      if (slots == null) {
+        index = new AttendeeBitmapIndex(bitmaps, null, availability);
+      } else {
+        int[] ids = new int[slots.size()];
+        int i = 0;
+        for (int id : slots.keySet()) {
+          ids[i++] = id;
+        }
+        Arrays.sort(ids);
+        long[] sorted = new long[ids.length * WORDS];
+        for (i = 0; i < ids.length; i++) {
+          System.arraycopy(bitmaps, slots.get(ids[i]) * WORDS, sorted, i * WORDS, WORDS);
+        }
+        index = new AttendeeBitmapIndex(sorted, ids, availability);
+      }
+      bitmaps = null;
+      return index;
+    }
+  }
+
+  /**
+   * Returns a list of open time slots for the specified meeting request.
+   * Optional attendees are considered first, and dropped if that leaves no
+   * open time slots for the mandatory attendees.
+   *
+   * @param request The meeting request.
+   * @return A list of open time slots for the specified request.
+   */
+  public Collection<TimeRange> query(MeetingRequest request) {
+    return query(request, new QueryScratch());
+  }
+
+  /**
+   * Returns a list of open time slots for the specified meeting request,
+   * using the specified working buffers.
+   *
+   * @param request The meeting request.
+   * @param scratch Working buffers not in use by any other thread.
+   * @return A list of open time slots for the specified request.
+   */
+  Collection<TimeRange> query(MeetingRequest request, QueryScratch scratch) {
+    AttendeeSet mandatory = request.getAttendeeSet();
+    AttendeeSet optional = request.getOptionalAttendeeSet();
+    long[] busy = scratch.busy;
+    long[] mandatoryBusy = scratch.mandatoryBusy;
+    Arrays.fill(busy, 0);
+    or(busy, mandatory);
+    System.arraycopy(busy, 0, mandatoryBusy, 0, WORDS);
+    or(busy, optional);
+
+    Collection<TimeRange> openTimeSlots = findOpenTimeSlots(busy, request.getDuration());
+    if (openTimeSlots.isEmpty() && !mandatory.isEmpty() && !optional.isEmpty()) {
+      openTimeSlots = findOpenTimeSlots(mandatoryBusy, request.getDuration());
+    }
+    return openTimeSlots;
+  }
+
+  /**
+   * ORs the bitmaps and off hours of the specified attendees into a day's
+   * bitmap.
+   */
+  void or(long[] busy, AttendeeSet attendees) {
+    for (int id : attendees.toIds()) {
+      int offset = offsetOf(id);
+      if (offset >= 0) {
+        for (int i = 0; i < WORDS; i++) {
+          busy[i] |= bitmaps[offset + i];
+        }
+      }
+      availability.or(busy, id);
+    }
+  }
+
+  /**
+   * Returns the offset of the bitmap of the specified attendee, or -1 if the
+   * index holds none.
+   */
+  private int offsetOf(int id) {
+    if (ids == null) {
+      int offset = id * WORDS;
+      return offset < bitmaps.length ? offset : -1;
+    }
+    int slot = Arrays.binarySearch(ids, id);
+    return slot < 0 ? -1 : slot * WORDS;
+  }
+
+  /**
+   * Returns the number of words of bitmaps held by the index.
+   */
+  int words() {
+    return bitmaps.length;
+  }
+
+  /**
+   * Returns the runs of free minutes at least the specified duration long.
+   *
+   * @param busy The bitmap of busy minutes. Its bits past the end of the day
+   *     are set.
+   * @param duration The minimum number of free minutes.
+   * @return The open time slots.
+   */
+  static Collection<TimeRange> findOpenTimeSlots(long[] busy, long duration) {
+    busy[WORDS - 1] |= PAST_END_OF_DAY;
+    Collection<TimeRange> openTimeSlots = new ArrayList<>();
+    int start = nextClearBit(busy, 0);
+    while (start < MINUTES) {
+      int end = nextSetBit(busy, start);
+      if (end - start >= duration) {
+        openTimeSlots.add(TimeRange.fromStartEnd(start, end, false));
+      }
+      start = nextClearBit(busy, end);
+    }
+    return openTimeSlots;
+  }
+
+  /**
+   * Returns the index of the first set bit at or after the specified index,
+   * or the number of bits in the bitmap if there is none.
+   */
+  static int nextSetBit(long[] bitmap, int from) {
+    int i = from >>> 6;
+    long word = bitmap[i] & (-1L << from);
+    while (word == 0) {
+      if (++i == bitmap.length) {
+        return bitmap.length << 6;
+      }
+      word = bitmap[i];
+    }
+    return (i << 6) + Long.numberOfTrailingZeros(word);
+  }
+
+  /**
+   * Returns the index of the first clear bit at or after the specified
+   * index, or the number of bits in the bitmap if there is none.
+   */
+  static int nextClearBit(long[] bitmap, int from) {
+    int i = from >>> 6;
+    if (i == bitmap.length) {
+      return from;
+    }
+    long word = ~bitmap[i] & (-1L << from);
+    while (word == 0) {
+      if (++i == bitmap.length) {
+        return bitmap.length << 6;
+      }
+      word = ~bitmap[i];
+    }
+    return (i << 6) + Long.numberOfTrailingZeros(word);
+  }
+
+  /**
+   * Sets the bits [from, to) of the bitmap starting at the specified offset.
+   */
+  static void setRange(long[] bitmaps, int offset, int from, int to) {
+    if (from >= to) {
+      return;
+    }
+    int first = offset + (from >>> 6);
+    int last = offset + ((to - 1) >>> 6);
+    long firstMask = -1L << from;
+    long lastMask = -1L >>> -to;
+    if (first == last) {
+      bitmaps[first] |= firstMask & lastMask;
+    } else {
+      bitmaps[first] |= firstMask;
+      for (int i = first + 1; i < last; i++) {
+        bitmaps[i] = -1L;
+      }
+      bitmaps[last] |= lastMask;
+    }
+  }
+}
@@ -0,0 +1,331 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * AttendeeCalendarIndex.java
+ * 10/19/2026
+ *
+ * Indexes the busy time of each attendee so that a meeting request only
+ * looks at the calendars of the people it involves.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An immutable index from each attendee to the sorted busy intervals of the
+ * events they attend. Overlapping intervals are merged when the index is
+ * built, so a query costs time in the number of intervals of the requested
+ * attendees rather than in the number of events. An index with an event
+ * added or removed shares the intervals of every attendee not at that
+ * event. The off hours of each requested attendee are gathered along with
+ * their intervals. Instances are thread-safe.
+ */
+public final class AttendeeCalendarIndex {
+  /** The busy intervals of an attendee with no events. */
+  private static final int[] NO_INTERVALS = new int[0];
+
+  /** The unmerged intervals of an attendee with no events. */
+  private static final long[] NO_EVENTS = new long[0];
+
+  /**
+   * The intervals of the events of each attendee, by attendee id, packed
+   * and sorted but not merged, so that single events can be removed.
+   */
+  private final long[][] events;
+
+  /**
+   * The busy intervals of each attendee, by attendee id, as sorted
+   * start, end pairs.
+   */
+  private final int[][] busy;
+
+  /** The working hours of the attendees. */
+  private final AttendeeAvailability availability;
+
+  private AttendeeCalendarIndex(long[][] events, int[][] busy,
+                                AttendeeAvailability availability) {
+    this.events = events;
+    this.busy = busy;
+    this.availability = availability;
+  }
+
+  /**
+   * Builds an index of the specified events. Events of no duration are
+   * ignored, as they never keep anyone busy.
+   *
+   * @param events The events to index.
+   * @return The index of the events.
+   */
+  public static AttendeeCalendarIndex of(Collection<Event> events) {
+    return of(events, AttendeeAvailability.ALWAYS);
+  }
+
+  /**
+   * Builds an index of the specified events, treating attendees as busy
+   * outside of their working hours.
+   *
+   * @param events The events to index.
+   * @param availability The working hours of the attendees.
+   * @return The index of the events.
+   */
+  public static AttendeeCalendarIndex of(Collection<Event> events,
+                                         AttendeeAvailability availability) {
+    // Counts the intervals of each attendee before filling them in.
+    int[] counts = new int[AttendeeRegistry.getInstance().size()];
+    for (Event event : events) {
+      if (event.getWhen().duration() > 0) {
+        for (int id : event.getAttendeeSet().toIds()) {
+          if (id >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(id + 1, counts.length * 2));
+          }
+          counts[id]++;
+        }
+      }
+    }
+
+    long[][] packed = new long[counts.length][];
+    for (int id = 0; id < counts.length; id++) {
+      packed[id] = new long[counts[id]];
+      counts[id] = 0;
+    }
+    for (Event event : events) {
+      TimeRange when = event.getWhen();
+      if (when.duration() > 0) {
+        for (int id : event.getAttendeeSet().toIds()) {
+          packed[id][counts[id]++] = TimeRange.pack(when.start(), when.end());
+        }
+      }
+    }
+
+    int[][] busy = new int[counts.length][];
+    for (int id = 0; id < counts.length; id++) {
+      busy[id] = merge(packed[id], packed[id].length);
+    }
+    return new AttendeeCalendarIndex(packed, busy, availability);
+  }
+
+  /**
+   * Returns an index of the events of this index and the specified event.
+   *
+   * @param event The event to add.
+   * @return The new index, sharing the intervals of all other attendees.
+   */
+  AttendeeCalendarIndex withEvent(Event event) {
+    return change(event, true);
+  }
+
+  /**
+   * Returns an index of the events of this index but the specified event.
+   *
+   * @param event The event to remove. It must have been added.
+   * @return The new index, sharing the intervals of all other attendees.
+   */
+  AttendeeCalendarIndex withoutEvent(Event event) {
+    return change(event, false);
+  }
+
+  /**
+   * Adds or removes the interval of an event in the rows of its attendees,
+   * copying only those rows.
+   */
+  private AttendeeCalendarIndex change(Event event, boolean add) {
+    TimeRange when = event.getWhen();
+    int[] ids = event.getAttendeeSet().toIds();
+    if (when.duration() <= 0 || ids.length == 0) {
+      return this;
+    }
+    int length = Math.max(events.length, ids[ids.length - 1] + 1);
+    long[][] newEvents = Arrays.copyOf(events, length);
+    int[][] newBusy = Arrays.copyOf(busy, length);
+    for (int id = events.length; id < length; id++) {
+      newEvents[id] = NO_EVENTS;
+      newBusy[id] = NO_INTERVALS;
+    }
+
+    long interval = TimeRange.pack(when.start(), when.end());
+    for (int id : ids) {
+      long[] row = newEvents[id];
+      int i = Arrays.binarySearch(row, interval);
+      long[] newRow;
+      if (add) {
+        int at = i >= 0 ? i : -i - 1;
+        newRow = new long[row.length + 1];
+        System.arraycopy(row, 0, newRow, 0, at);
+        newRow[at] = interval;
+        System.arraycopy(row, at, newRow, at + 1, row.length - at);
+      } else if (i >= 0) {
+        newRow = new long[row.length - 1];
+        System.arraycopy(row, 0, newRow, 0, i);
+        System.arraycopy(row, i + 1, newRow, i, row.length - i - 1);
+      } else {
+        continue;
+      }
+      newEvents[id] = newRow;
+      newBusy[id] = merge(newRow, newRow.length);
+    }
+    return new AttendeeCalendarIndex(newEvents, newBusy, availability);
+  }
+
+  /**
+   * Returns a list of open time slots for the specified meeting request.
+   * Optional attendees are considered first, and dropped if that leaves no
+   * open time slots for the mandatory attendees.
+   *
+   * @param request The meeting request.
+   * @return A list of open time slots for the specified request.
+   */
+  public Collection<TimeRange> query(MeetingRequest request) {
+    return query(request, new QueryScratch());
+  }
+
+  /**
+   * Returns a list of open time slots for the specified meeting request,
+   * using the specified working buffers.
+   *
+   * @param request The meeting request.
+   * @param scratch Working buffers not in use by any other thread.
+   * @return A list of open time slots for the specified request.
+   */
+  Collection<TimeRange> query(MeetingRequest request, QueryScratch scratch) {
+    AttendeeSet mandatory = request.getAttendeeSet();
+    AttendeeSet optional = request.getOptionalAttendeeSet();
+    Collection<TimeRange> openTimeSlots = findOpenTimeSlots(mandatory, optional, request, scratch);
+    if (openTimeSlots.isEmpty() && !mandatory.isEmpty() && !optional.isEmpty()) {
+      openTimeSlots = findOpenTimeSlots(mandatory, AttendeeSet.EMPTY, request, scratch);
+    }
+    return openTimeSlots;
+  }
+
+  /**
+   * Returns the sorted, merged busy intervals of the specified attendee.
+   *
+   * @param id An attendee id.
+   * @return The attendee's busy intervals as start, end pairs.
+   */
+  int[] getBusyIntervals(int id) {
+    return id < busy.length ? busy[id] : NO_INTERVALS;
+  }
+
+  /**
+   * Returns the gaps of at least the requested duration between the busy
+   * intervals of the specified attendees.
+   */
+  private Collection<TimeRange> findOpenTimeSlots(AttendeeSet mandatory, AttendeeSet optional,
+                                                  MeetingRequest request, QueryScratch scratch) {
+    int[] mandatoryIds = mandatory.toIds();
+    int[] optionalIds = optional.toIds();
+    int count = 0;
+    for (int id : mandatoryIds) {
+      count += (getBusyIntervals(id).length + availability.getOffHours(id).length) / 2;
+    }
+    for (int id : optionalIds) {
+      count += (getBusyIntervals(id).length + availability.getOffHours(id).length) / 2;
+    }
+
+    long[] intervals = scratch.intervals(count);
+    count = 0;
+    count = append(intervals, count, mandatoryIds);
+    count = append(intervals, count, optionalIds);
+    return sweep(intervals, count, request.getDuration());
+  }
+
+  /**
+   * Sorts packed busy intervals and returns the gaps of at least the
+   * specified duration between them. For a meeting of positive duration the
+   * gaps are the complement of the intervals as a {@link TimeRangeSet};
+   * a meeting of no duration also fits in the empty gaps between intervals
+   * that touch, which a set does not hold, so those are found by a sweep.
+   *
+   * @param intervals The packed intervals, which are sorted in place.
+   * @param count The number of intervals.
+   * @param duration The requested meeting duration.
+   * @return The open time slots.
+   */
+  static Collection<TimeRange> sweep(long[] intervals, int count, long duration) {
+    if (duration > 0) {
+      return TimeRangeSet.ofPackedInPlace(intervals, count).complementWithinDay()
+          .withMinimumDuration(duration).toList();
+    }
+    Arrays.sort(intervals, 0, count);
+    Collection<TimeRange> openTimeSlots = new ArrayList<>();
+    int free = TimeRange.START_OF_DAY;
+    for (int i = 0; i < count; i++) {
+      long interval = intervals[i];
+      int start = TimeRange.packedStart(interval);
+      int end = TimeRange.packedEnd(interval);
+      if (start - free >= duration) {
+        openTimeSlots.add(TimeRange.fromStartEnd(free, start, false));
+      }
+      free = Math.max(free, end);
+    }
+    if (TimeRange.END_OF_DAY + 1 - free >= duration) {
+      openTimeSlots.add(TimeRange.fromStartEnd(free, TimeRange.END_OF_DAY, true));
+    }
+    return openTimeSlots;
+  }
+
+  /**
+   * Appends the packed busy intervals and off hours of the specified
+   * attendees.
+   */
+  private int append(long[] intervals, int count, int[] ids) {
+    for (int id : ids) {
+      count = appendPairs(intervals, count, getBusyIntervals(id));
+      count = appendPairs(intervals, count, availability.getOffHours(id));
+    }
+    return count;
+  }
+
+  /**
+   * Appends start, end pairs as packed intervals.
+   */
+  private static int appendPairs(long[] intervals, int count, int[] pairs) {
+    for (int i = 0; i < pairs.length; i += 2) {
+      intervals[count++] = TimeRange.pack(pairs[i], pairs[i + 1]);
+    }
+    return count;
+  }
+
+  /**
+   * Sorts packed intervals and merges those that overlap. Intervals that
+   * merely touch are kept apart, matching the sweep engines.
+   *
+   * @return The merged intervals as start, end pairs.
+   */
+  private static int[] merge(long[] intervals, int count) {
+    if (count == 0) {
+      return NO_INTERVALS;
+    }
+    Arrays.sort(intervals, 0, count);
+    int[] merged = new int[count * 2];
+    int size = 0;
+    for (int i = 0; i < count; i++) {
+      int start = TimeRange.packedStart(intervals[i]);
+      int end = TimeRange.packedEnd(intervals[i]);
+      if (size > 0 && start < merged[size - 1]) {
+        merged[size - 1] = Math.max(merged[size - 1], end);
+      } else {
+        merged[size++] = start;
+        merged[size++] = end;
+      }
+    }
+    return size == merged.length ? merged : Arrays.copyOf(merged, size);
+  }
+
+}
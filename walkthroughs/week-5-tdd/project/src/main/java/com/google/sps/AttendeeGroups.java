@@ -0,0 +1,250 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+/**
+ * AttendeeGroups.java
+ * 10/19/2026
+ *
+ * Lets meeting requests invite groups and distribution lists, expanding
+ * them to their members through a cached transitive closure.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A directory of named groups, each of whose members is a person or
+ * another group. Groups may nest to any depth and may even contain one
+ * another. A meeting request naming a group invites everyone reachable
+ * from it, resolved to the interned ids of those people. The closure of
+ * each group is computed on first use and cached, so a request naming a
+ * group costs about as much as one naming a single person. Changing a
+ * group's members evicts the cached closures of that group and of every
+ * group containing it, directly or not, and no others. Readers never
+ * block; writers are serialized with one another. Instances are
+ * thread-safe.
+ */
+public final class AttendeeGroups {
+  /** The directory shared by all meeting requests. */
+  private static final AttendeeGroups INSTANCE = new AttendeeGroups();
+
+  /**
+   * An immutable view of the directory, with the closures cached for it.
+   */
+  private static final class State {
+    /** The direct members of each group. */
+    private final Map<String, Set<String>> members;
+
+    /** The cached closures of groups, computed from members. */
+    private final ConcurrentMap<String, AttendeeSet> closures;
+
+    private State(Map<String, Set<String>> members, ConcurrentMap<String, AttendeeSet> closures) {
+      this.members = members;
+      this.closures = closures;
+    }
+  }
+
+  /** Serializes writes. */
+  private final Object writeLock = new Object();
+
+  /** The current state, replaced by each write. */
+  private volatile State state =
+      new State(Collections.emptyMap(), new ConcurrentHashMap<>());
+
+  AttendeeGroups() {}
+
+  /**
+   * Returns the directory shared by all meeting requests.
+   *
+   * @return The shared directory.
+   */
+  public static AttendeeGroups getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Defines a group, replacing its members if it is already defined.
+   *
+   * @param group The name of the group.
+   * @param members The names of the people and groups in the group.
+   * @throws IllegalArgumentException If any name is null.
+   */
+  public void setMembers(String group, Collection<String> members) {
+    if (group == null || members.contains(null)) {
+      throw new IllegalArgumentException("Group and member names cannot be null.");
+    }
+    synchronized (writeLock) {
+      Map<String, Set<String>> newMembers = new HashMap<>(state.members);
+      newMembers.put(group, Collections.unmodifiableSet(new HashSet<>(members)));
+      publish(group, newMembers);
+    }
+  }
+
+  /**
+   * Removes a group. Groups containing it will treat its name as a person.
+   *
+   * @param group The name of the group.
+   * @return Whether the group was defined.
+   */
+  public boolean removeGroup(String group) {
+    synchronized (writeLock) {
+      if (!state.members.containsKey(group)) {
+        return false;
+      }
+      Map<String, Set<String>> newMembers = new HashMap<>(state.members);
+      newMembers.remove(group);
+      publish(group, newMembers);
+      return true;
+    }
+  }
+
+  /**
+   * Returns whether the specified name is the name of a group.
+   *
+   * @param name A person or group name.
+   * @return Whether a group of that name is defined.
+   */
+  public boolean isGroup(String name) {
+    return state.members.containsKey(name);
+  }
+
+  /**
+   * Returns the direct members of the specified group.
+   *
+   * @param group The name of the group.
+   * @return A read-only set of the names of its people and groups, or an
+   *     empty set if no such group is defined.
+   */
+  public Set<String> getMembers(String group) {
+    return state.members.getOrDefault(group, Collections.emptySet());
+  }
+
+  /**
+   * Returns the set of the people named, expanding the names of groups to
+   * everyone reachable from them. The names of people are looked up rather
+   * than interned, so naming strangers cannot grow the registry; the
+   * members of groups are interned, as the directory is stored.
+   *
+   * @param names The names of people and groups.
+   * @param registry The registry in which to look up the names of people.
+   * @return The set of the people.
+   */
+  AttendeeSet expand(Collection<String> names, AttendeeRegistry registry) {
+    State current = state;
+    if (current.members.isEmpty()) {
+      return AttendeeSet.lookup(names, registry);
+    }
+    List<String> people = new ArrayList<>(names.size());
+    AttendeeSet groups = AttendeeSet.EMPTY;
+    for (String name : names) {
+      if (current.members.containsKey(name)) {
+        groups = groups.union(getClosure(current, name, registry));
+      } else {
+        people.add(name);
+      }
+    }
+    return AttendeeSet.lookup(people, registry).union(groups);
+  }
+
+  /**
+   * Returns the people reachable from a group, computing and caching them
+   * if they are not cached.
+   */
+  private static AttendeeSet getClosure(State state, String group, AttendeeRegistry registry) {
+    AttendeeSet closure = state.closures.get(group);
+    if (closure == null) {
+      closure = computeClosure(state, group, registry);
+      // Racing threads compute the same closure, so either may win.
+      state.closures.putIfAbsent(group, closure);
+    }
+    return closure;
+  }
+
+  /**
+   * Walks the groups reachable from a group, gathering their people. The
+   * cached closures of reached groups are used rather than walked again.
+   */
+  private static AttendeeSet computeClosure(State state, String group,
+                                            AttendeeRegistry registry) {
+    Set<String> visited = new HashSet<>();
+    Deque<String> pending = new ArrayDeque<>();
+    visited.add(group);
+    pending.push(group);
+    int[] ids = new int[16];
+    int count = 0;
+    AttendeeSet cached = AttendeeSet.EMPTY;
+    while (!pending.isEmpty()) {
+      for (String member : state.members.get(pending.pop())) {
+        if (!state.members.containsKey(member)) {
+          if (count == ids.length) {
+            ids = Arrays.copyOf(ids, count * 2);
+          }
+          ids[count++] = registry.intern(member);
+        } else if (visited.add(member)) {
+          AttendeeSet closure = state.closures.get(member);
+          if (closure != null) {
+            cached = cached.union(closure);
+          } else {
+            pending.push(member);
+          }
+        }
+      }
+    }
+    return AttendeeSet.ofIds(Arrays.copyOf(ids, count)).union(cached);
+  }
+
+  /**
+   * Publishes new members after a change to the specified group, carrying
+   * over the cached closures of every group that cannot reach it. Called
+   * holding writeLock.
+   */
+  private void publish(String changed, Map<String, Set<String>> newMembers) {
+    State current = state;
+    // The groups that can reach the changed group, before or after the
+    // change. Its members only matter to groups that reach it through
+    // other groups, whose edges are the same in both maps.
+    Set<String> stale = new HashSet<>();
+    stale.add(changed);
+    boolean grew = true;
+    while (grew) {
+      grew = false;
+      for (Map.Entry<String, Set<String>> entry : current.members.entrySet()) {
+        if (!stale.contains(entry.getKey())
+            && !Collections.disjoint(entry.getValue(), stale)) {
+          stale.add(entry.getKey());
+          grew = true;
+        }
+      }
+    }
+
+    ConcurrentMap<String, AttendeeSet> closures = new ConcurrentHashMap<>(current.closures);
+    closures.keySet().removeAll(stale);
+    state = new State(Collections.unmodifiableMap(newMembers), closures);
+  }
+}
@@ -0,0 +1,104 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * AttendeeRegistry.java
+ * 10/19/2026
+ *
+ * Interns attendee names as dense integer ids.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns each distinct attendee name a dense id, counting up from zero, so
+ * that sets of attendees can be represented as bitsets. Ids are never
+ * reclaimed. Instances are thread-safe.
+ */
+final class AttendeeRegistry {
+  /** The registry shared by all events and meeting requests. */
+  private static final AttendeeRegistry INSTANCE = new AttendeeRegistry();
+
+  /** The id of each interned name. */
+  private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+  /** The name of each id. */
+  private final ConcurrentMap<Integer, String> names = new ConcurrentHashMap<>();
+
+  /** The id to assign to the next new name. */
+  private final AtomicInteger nextId = new AtomicInteger();
+
+  /**
+   * Returns the registry shared by all events and meeting requests.
+   *
+   * @return The shared registry.
+   */
+  static AttendeeRegistry getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the id of the specified name, assigning it a new id if it has
+   * not been seen before.
+   *
+   * @param name The attendee name.
+   * @return The id of the name.
+   */
+  int intern(String name) {
+    Integer id = ids.get(name);
+    if (id == null) {
+      id = ids.computeIfAbsent(name, key -> {
+        int newId = nextId.getAndIncrement();
+        names.put(newId, key);
+        return newId;
+      });
+    }
+    return id;
+  }
+
+  /**
+   * Returns the id of the specified name without interning it.
+   *
+   * @param name The attendee name.
+   * @return The id of the name, or -1 if it has not been interned.
+   */
+  int lookup(String name) {
+    Integer id = ids.get(name);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * Returns the name of the specified id.
+   *
+   * @param id An id assigned by this registry.
+   * @return The name interned as that id.
+   */
+  String getName(int id) {
+    return names.get(id);
+  }
+
+  /**
+   * Returns the number of interned names.
+   *
+   * @return One more than the greatest id assigned.
+   */
+  int size() {
+    return nextId.get();
+  }
+}
@@ -0,0 +1,360 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * AttendeeSet.java
+ * 10/19/2026
+ *
+ * A compact, immutable bitset of interned attendee ids.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A set of attendee ids stored as a sparse bitset: only the nonzero 64-bit
+ * words are kept, alongside their word indexes in ascending order. An event
+ * with a handful of attendees therefore costs a word or two regardless of
+ * how many names have been interned, and two sets intersect if any pair of
+ * words at the same index has a bit in common.
+ *
+ * <p>A set looked up for a meeting request may also hold the names of
+ * people who were never interned. They attend no events, so they never
+ * intersect another set, but they count towards its size and emptiness.
+ * Requests therefore cannot grow the registry.
+ */
+final class AttendeeSet {
+  /** No names. */
+  private static final String[] NO_NAMES = new String[0];
+
+  /** The set with no attendees. */
+  static final AttendeeSet EMPTY = new AttendeeSet(new int[0], new long[0]);
+
+  /** The index of each nonzero word, in ascending order. */
+  private final int[] indexes;
+
+  /** The nonzero words, parallel to indexes. */
+  private final long[] words;
+
+  /** The names of the people without ids, sorted. */
+  private final String[] unknown;
+
+  private AttendeeSet(int[] indexes, long[] words) {
+    this(indexes, words, NO_NAMES);
+  }
+
+  private AttendeeSet(int[] indexes, long[] words, String[] unknown) {
+    this.indexes = indexes;
+    this.words = words;
+    this.unknown = unknown;
+  }
+
+  /**
+   * Returns the set of the specified names, interning any that are new.
+   *
+   * @param names The attendee names.
+   * @param registry The registry in which to intern the names.
+   * @return The set of the ids of the names.
+   */
+  static AttendeeSet of(Collection<String> names, AttendeeRegistry registry) {
+    if (names.isEmpty()) {
+      return EMPTY;
+    }
+    int[] ids = new int[names.size()];
+    int i = 0;
+    for (String name : names) {
+      ids[i++] = registry.intern(name);
+    }
+    return ofIds(ids);
+  }
+
+  /**
+   * Returns the set of the specified names without interning them. Names
+   * that were never interned are kept as names.
+   *
+   * @param names The attendee names.
+   * @param registry The registry in which to look up the names.
+   * @return The set of the ids or names.
+   */
+  static AttendeeSet lookup(Collection<String> names, AttendeeRegistry registry) {
+    if (names.isEmpty()) {
+      return EMPTY;
+    }
+    int[] ids = new int[names.size()];
+    int count = 0;
+    SortedSet<String> unknown = null;
+    for (String name : names) {
+      int id = registry.lookup(name);
+      if (id >= 0) {
+        ids[count++] = id;
+      } else {
+        if (unknown == null) {
+          unknown = new TreeSet<>();
+        }
+        unknown.add(name);
+      }
+    }
+    AttendeeSet set = ofIds(Arrays.copyOf(ids, count));
+    return unknown == null
+        ? set
+        : new AttendeeSet(set.indexes, set.words, unknown.toArray(NO_NAMES));
+  }
+
+  /**
+   * Returns the set of the specified ids.
+   *
+   * @param ids The attendee ids, in any order. The array is sorted in place.
+   * @return The set of the ids.
+   */
+  static AttendeeSet ofIds(int... ids) {
+    if (ids.length == 0) {
+      return EMPTY;
+    }
+    Arrays.sort(ids);
+    int[] indexes = new int[ids.length];
+    long[] words = new long[ids.length];
+    int count = -1;
+    for (int id : ids) {
+      int index = id >>> 6;
+      if (count < 0 || indexes[count] != index) {
+        indexes[++count] = index;
+      }
+      words[count] |= 1L << id;
+    }
+    count++;
+    return new AttendeeSet(Arrays.copyOf(indexes, count), Arrays.copyOf(words, count));
+  }
+
+  /**
+   * Returns whether this set and the specified set share an attendee.
+   *
+   * @param other The set to compare to.
+   * @return True if the bitwise AND of the sets is nonzero.
+   */
+  boolean intersects(AttendeeSet other) {
+    int i = 0;
+    int j = 0;
+    while (i < indexes.length && j < other.indexes.length) {
+      if (indexes[i] < other.indexes[j]) {
+        i++;
+      } else if (indexes[i] > other.indexes[j]) {
+        j++;
+      } else {
+        if ((words[i] & other.words[j]) != 0) {
+          return true;
+        }
+        i++;
+        j++;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the set of the attendees in this set or the specified set.
+   *
+   * @param other The set to add.
+   * @return The bitwise OR of the sets.
+   */
+  AttendeeSet union(AttendeeSet other) {
+    if (other.isEmpty()) {
+      return this;
+    }
+    if (isEmpty()) {
+      return other;
+    }
+    int[] newIndexes = new int[indexes.length + other.indexes.length];
+    long[] newWords = new long[newIndexes.length];
+    int i = 0;
+    int j = 0;
+    int count = 0;
+    while (i < indexes.length || j < other.indexes.length) {
+      if (j == other.indexes.length
+          || (i < indexes.length && indexes[i] < other.indexes[j])) {
+        newIndexes[count] = indexes[i];
+        newWords[count++] = words[i++];
+      } else if (i == indexes.length || indexes[i] > other.indexes[j]) {
+        newIndexes[count] = other.indexes[j];
+        newWords[count++] = other.words[j++];
+      } else {
+        newIndexes[count] = indexes[i];
+        newWords[count++] = words[i++] | other.words[j++];
+      }
+    }
+    return new AttendeeSet(Arrays.copyOf(newIndexes, count), Arrays.copyOf(newWords, count),
+                           mergeNames(unknown, other.unknown));
+  }
+
+  /**
+   * Returns the set of the attendees in this set but not in the specified
+   * set.
+   *
+   * @param other The set to remove.
+   * @return The bitwise AND NOT of the sets.
+   */
+  AttendeeSet andNot(AttendeeSet other) {
+    if (!intersects(other) && (unknown.length == 0 || other.unknown.length == 0)) {
+      return this;
+    }
+    int[] newIndexes = new int[indexes.length];
+    long[] newWords = new long[indexes.length];
+    int j = 0;
+    int count = 0;
+    for (int i = 0; i < indexes.length; i++) {
+      while (j < other.indexes.length && other.indexes[j] < indexes[i]) {
+        j++;
+      }
+      long word = words[i];
+      if (j < other.indexes.length && other.indexes[j] == indexes[i]) {
+        word &= ~other.words[j];
+      }
+      if (word != 0) {
+        newIndexes[count] = indexes[i];
+        newWords[count++] = word;
+      }
+    }
+    String[] newUnknown = removeNames(unknown, other.unknown);
+    return count == 0 && newUnknown.length == 0
+        ? EMPTY
+        : new AttendeeSet(Arrays.copyOf(newIndexes, count), Arrays.copyOf(newWords, count),
+                          newUnknown);
+  }
+
+  /**
+   * Returns the sorted names in either of two sorted arrays.
+   */
+  private static String[] mergeNames(String[] a, String[] b) {
+    if (b.length == 0) {
+      return a;
+    }
+    if (a.length == 0) {
+      return b;
+    }
+    SortedSet<String> names = new TreeSet<>(Arrays.asList(a));
+    names.addAll(Arrays.asList(b));
+    return names.toArray(NO_NAMES);
+  }
+
+  /**
+   * Returns the sorted names in the first sorted array but not the second.
+   */
+  private static String[] removeNames(String[] a, String[] b) {
+    if (a.length == 0 || b.length == 0) {
+      return a;
+    }
+    List<String> names = new ArrayList<>(a.length);
+    for (String name : a) {
+      if (Arrays.binarySearch(b, name) < 0) {
+        names.add(name);
+      }
+    }
+    return names.toArray(NO_NAMES);
+  }
+
+  /**
+   * Returns whether this set contains the specified id.
+   *
+   * @param id An attendee id.
+   * @return True if the id's bit is set.
+   */
+  boolean contains(int id) {
+    int i = Arrays.binarySearch(indexes, id >>> 6);
+    return i >= 0 && (words[i] & (1L << id)) != 0;
+  }
+
+  /**
+   * Returns whether this set has no attendees.
+   */
+  boolean isEmpty() {
+    return indexes.length == 0 && unknown.length == 0;
+  }
+
+  /**
+   * Returns the largest id in this set, or -1 if it is empty.
+   */
+  int max() {
+    if (indexes.length == 0) {
+      return -1;
+    }
+    int last = indexes.length - 1;
+    return (indexes[last] << 6) + 63 - Long.numberOfLeadingZeros(words[last]);
+  }
+
+  /**
+   * Returns the number of attendees in this set, with or without ids.
+   */
+  int size() {
+    return idCount() + unknown.length;
+  }
+
+  /**
+   * Returns the names of the attendees in this set who were never interned.
+   *
+   * @return A read-only list of the names, sorted.
+   */
+  List<String> getUnknownNames() {
+    return Collections.unmodifiableList(Arrays.asList(unknown));
+  }
+
+  /**
+   * Returns the number of ids in this set.
+   */
+  private int idCount() {
+    int count = 0;
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the ids in this set in ascending order.
+   *
+   * @return A new array of the ids.
+   */
+  int[] toIds() {
+    int[] ids = new int[idCount()];
+    int count = 0;
+    for (int i = 0; i < words.length; i++) {
+      long word = words[i];
+      while (word != 0) {
+        ids[count++] = (indexes[i] << 6) + Long.numberOfTrailingZeros(word);
+        word &= word - 1;
+      }
+    }
+    return ids;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * Arrays.hashCode(indexes) + Arrays.hashCode(words))
+        + Arrays.hashCode(unknown);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof AttendeeSet
+        && Arrays.equals(indexes, ((AttendeeSet) other).indexes)
+        && Arrays.equals(words, ((AttendeeSet) other).words)
+        && Arrays.equals(unknown, ((AttendeeSet) other).unknown);
+  }
+}
@@ -0,0 +1,81 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * BatchQueryTask.java
+ * 10/19/2026
+ *
+ * Answers a batch of meeting requests in parallel.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
+
+/**
+ * Answers a range of a batch of meeting requests against a shared read-only
+ * index, splitting the range in half until it is small enough to answer on
+ * one thread. Each leaf owns its working buffers, so no two workers share
+ * scratch space, and writes its answers at the indexes of its requests, so
+ * the answers keep the order of the requests.
+ */
+final class BatchQueryTask extends RecursiveAction {
+  private static final long serialVersionUID = 1L;
+
+  /** The number of requests below which a range is answered on one thread. */
+  static final int THRESHOLD = 32;
+
+  /** Answers a request against the shared index using the given buffers. */
+  private final BiFunction<MeetingRequest, QueryScratch, Collection<TimeRange>> index;
+
+  /** The whole batch of requests. */
+  private final List<MeetingRequest> requests;
+
+  /** The answers to the whole batch, by request index. */
+  private final Collection<TimeRange>[] answers;
+
+  /** The first request of the range answered by this task. */
+  private final int from;
+
+  /** One past the last request of the range answered by this task. */
+  private final int to;
+
+  BatchQueryTask(BiFunction<MeetingRequest, QueryScratch, Collection<TimeRange>> index,
+                 List<MeetingRequest> requests, Collection<TimeRange>[] answers, int from,
+                 int to) {
+    this.index = index;
+    this.requests = requests;
+    this.answers = answers;
+    this.from = from;
+    this.to = to;
+  }
+
+  @Override
+  protected void compute() {
+    if (to - from <= THRESHOLD) {
+      QueryScratch scratch = new QueryScratch();
+      for (int i = from; i < to; i++) {
+        answers[i] = index.apply(requests.get(i), scratch);
+      }
+    } else {
+      int middle = (from + to) >>> 1;
+      invokeAll(new BatchQueryTask(index, requests, answers, from, middle),
+                new BatchQueryTask(index, requests, answers, middle, to));
+    }
+  }
+}
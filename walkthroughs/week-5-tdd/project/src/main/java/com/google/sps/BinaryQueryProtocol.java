@@ -0,0 +1,267 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * BinaryQueryProtocol.java
+ * 10/19/2026
+ *
+ * A compact binary encoding of batches of meeting requests and of their
+ * open time slots.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes meeting requests and their answers as length-prefixed binary
+ * messages, for callers sending too many queries for JSON to keep up.
+ * All integers are big-endian, as written by {@link DataOutputStream}.
+ * Messages are read into memory and decoded from a buffer, as reading a
+ * stream an int at a time costs more than the query itself.
+ *
+ * <p>A request message interns every attendee name once, then refers to
+ * attendees by their index into that table:
+ * <pre>
+ *   int nameCount, then nameCount names, each as an unsigned short length
+ *     followed by that many bytes of UTF-8
+ *   int requestCount, then for each request:
+ *     int duration, int mandatoryCount, int optionalCount,
+ *     then mandatoryCount + optionalCount name indices as ints
+ * </pre>
+ *
+ * <p>A response message holds the open time slots of each request, in the
+ * order of the requests:
+ * <pre>
+ *   int requestCount, then for each request:
+ *     int slotCount, then slotCount slots as int start, int duration
+ * </pre>
+ */
+public final class BinaryQueryProtocol {
+  /** The media type of binary request and response messages. */
+  public static final String MEDIA_TYPE = "application/x-sps-query";
+
+  private BinaryQueryProtocol() {
+    // Disallow instances.
+  }
+
+  /**
+   * Reads a request message.
+   *
+   * @param input The stream to read. It is not closed.
+   * @return The meeting requests, in the order of the message.
+   * @throws IOException If the stream cannot be read or ends early.
+   * @throws IllegalArgumentException If the message is malformed.
+   */
+  public static List<MeetingRequest> readRequests(InputStream input) throws IOException {
+    ByteBuffer in = readFully(input);
+    try {
+      // Counts are untrusted, so lists grow as they are read rather than
+      // being allocated up front.
+      int nameCount = readCount(in, "name");
+      List<String> names = new ArrayList<>(Math.min(nameCount, 1024));
+      for (int i = 0; i < nameCount; i++) {
+        int length = Short.toUnsignedInt(in.getShort());
+        if (length > in.remaining()) {
+          throw new BufferUnderflowException();
+        }
+        names.add(new String(in.array(), in.position(), length, StandardCharsets.UTF_8));
+        in.position(in.position() + length);
+      }
+
+      int requestCount = readCount(in, "request");
+      List<MeetingRequest> requests = new ArrayList<>(Math.min(requestCount, 1024));
+      List<String> attendees = new ArrayList<>();
+      for (int i = 0; i < requestCount; i++) {
+        int duration = in.getInt();
+        int mandatoryCount = readCount(in, "attendee");
+        int optionalCount = readCount(in, "optional attendee");
+        attendees.clear();
+        for (int j = 0; j < mandatoryCount; j++) {
+          attendees.add(readName(in, names));
+        }
+        MeetingRequest request = new MeetingRequest(attendees, duration);
+        for (int j = 0; j < optionalCount; j++) {
+          request.addOptionalAttendee(readName(in, names));
+        }
+        requests.add(request);
+      }
+      return requests;
+    } catch (BufferUnderflowException e) {
+      throw new EOFException("Message ends early.");
+    }
+  }
+
+  /**
+   * Writes a request message.
+   *
+   * @param requests The meeting requests. Durations must fit in an int.
+   * @param output The stream to write. It is flushed but not closed.
+   * @throws IOException If the stream cannot be written.
+   */
+  public static void writeRequests(List<MeetingRequest> requests, OutputStream output)
+      throws IOException {
+    Map<String, Integer> indices = new HashMap<>();
+    List<String> names = new ArrayList<>();
+    for (MeetingRequest request : requests) {
+      for (String name : request.getAttendees()) {
+        addName(indices, names, name);
+      }
+      for (String name : request.getOptionalAttendees()) {
+        addName(indices, names, name);
+      }
+    }
+
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+    out.writeInt(names.size());
+    for (String name : names) {
+      byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+      if (bytes.length > 0xFFFF) {
+        throw new IllegalArgumentException("Name longer than 65535 bytes: " + name);
+      }
+      out.writeShort(bytes.length);
+      out.write(bytes);
+    }
+    out.writeInt(requests.size());
+    for (MeetingRequest request : requests) {
+      out.writeInt(Math.toIntExact(request.getDuration()));
+      out.writeInt(request.getAttendees().size());
+      out.writeInt(request.getOptionalAttendees().size());
+      for (String name : request.getAttendees()) {
+        out.writeInt(indices.get(name));
+      }
+      for (String name : request.getOptionalAttendees()) {
+        out.writeInt(indices.get(name));
+      }
+    }
+    out.flush();
+  }
+
+  /**
+   * Reads a response message.
+   *
+   * @param input The stream to read. It is not closed.
+   * @return The open time slots of each request, in the order of the requests.
+   * @throws IOException If the stream cannot be read or ends early.
+   * @throws IllegalArgumentException If the message is malformed.
+   */
+  public static List<List<TimeRange>> readSlots(InputStream input) throws IOException {
+    ByteBuffer in = readFully(input);
+    try {
+      int requestCount = readCount(in, "request");
+      List<List<TimeRange>> answers = new ArrayList<>(Math.min(requestCount, 1024));
+      for (int i = 0; i < requestCount; i++) {
+        int slotCount = readCount(in, "slot");
+        List<TimeRange> slots = new ArrayList<>(Math.min(slotCount, 1024));
+        for (int j = 0; j < slotCount; j++) {
+          slots.add(TimeRange.fromStartDuration(in.getInt(), in.getInt()));
+        }
+        answers.add(slots);
+      }
+      return answers;
+    } catch (BufferUnderflowException e) {
+      throw new EOFException("Message ends early.");
+    }
+  }
+
+  /**
+   * Writes a response message.
+   *
+   * @param answers The open time slots of each request.
+   * @param output The stream to write. It is flushed but not closed.
+   * @throws IOException If the stream cannot be written.
+   */
+  public static void writeSlots(List<? extends Collection<TimeRange>> answers,
+                                OutputStream output) throws IOException {
+    int size = 4;
+    for (Collection<TimeRange> slots : answers) {
+      size += 4 + 8 * slots.size();
+    }
+    ByteBuffer out = ByteBuffer.allocate(size);
+    out.putInt(answers.size());
+    for (Collection<TimeRange> slots : answers) {
+      out.putInt(slots.size());
+      for (TimeRange slot : slots) {
+        out.putInt(slot.start());
+        out.putInt(slot.duration());
+      }
+    }
+    output.write(out.array());
+    output.flush();
+  }
+
+  /**
+   * Reads a stream to its end into a buffer, sized by the bytes available
+   * up front so that small messages are read with a single allocation.
+   */
+  private static ByteBuffer readFully(InputStream input) throws IOException {
+    byte[] bytes = new byte[Math.max(input.available(), 256)];
+    int size = 0;
+    int read;
+    while ((read = input.read(bytes, size, bytes.length - size)) >= 0) {
+      size += read;
+      if (size == bytes.length) {
+        bytes = Arrays.copyOf(bytes, size * 2);
+      }
+    }
+    return ByteBuffer.wrap(bytes, 0, size);
+  }
+
+  /**
+   * Reads a count, which must not be negative.
+   */
+  private static int readCount(ByteBuffer in, String what) {
+    int count = in.getInt();
+    if (count < 0) {
+      throw new IllegalArgumentException("Negative " + what + " count: " + count);
+    }
+    return count;
+  }
+
+  /**
+   * Reads an index into the name table and returns the name.
+   */
+  private static String readName(ByteBuffer in, List<String> names) {
+    int index = in.getInt();
+    if (index < 0 || index >= names.size()) {
+      throw new IllegalArgumentException("Name index out of range: " + index);
+    }
+    return names.get(index);
+  }
+
+  /**
+   * Adds a name to the name table unless it is already there.
+   */
+  private static void addName(Map<String, Integer> indices, List<String> names, String name) {
+    if (!indices.containsKey(name)) {
+      indices.put(name, names.size());
+      names.add(name);
+    }
+  }
+}
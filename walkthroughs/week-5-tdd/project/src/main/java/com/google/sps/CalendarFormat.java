@@ -0,0 +1,60 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * CalendarFormat.java
+ * 10/19/2026
+ *
+ * The formats of calendar exports that can be ingested.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+/**
+ * A format of calendar export understood by {@link CalendarIngester}. Times
+ * are read as epoch minutes in UTC, as for queries over a horizon.
+ */
+public enum CalendarFormat {
+  /**
+   * Comma-separated values with the columns title, start, end and
+   * attendees, and an optional header row. Fields may be quoted as in
+   * RFC 4180. Start and end are ISO-8601 date-times, read as UTC unless they
+   * carry an offset; attendees are separated by semicolons.
+   */
+  CSV {
+    @Override
+    EventParser newParser() {
+      return new CsvEventParser();
+    }
+  },
+
+  /**
+   * The VEVENT components of an iCalendar (RFC 5545) stream. Each event's
+   * SUMMARY, DTSTART, DTEND or DURATION, RRULE and ATTENDEE properties are
+   * read; attendees are named by their CN parameter, or else by their
+   * address.
+   */
+  ICALENDAR {
+    @Override
+    EventParser newParser() {
+      return new ICalendarEventParser();
+    }
+  };
+
+  /**
+   * Returns a new parser of this format for a single stream.
+   */
+  abstract EventParser newParser();
+}
@@ -0,0 +1,119 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * CalendarIngester.java
+ * 10/19/2026
+ *
+ * Streams calendar exports into events, parsing chunks in parallel.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Loads calendar exports of any size. The calling thread reads the stream
+ * and cuts it into chunks of records, which the workers of a pool parse
+ * into events, interning attendees as they go. At most two chunks per
+ * worker are in flight at once, so the text held in memory is bounded
+ * however large the export; only the parsed events accumulate. Recurring
+ * events are kept as their rules. The events are then loaded into a store
+ * in bulk, building its index in one pass.
+ */
+public final class CalendarIngester {
+  /** The number of records parsed as one task. */
+  static final int CHUNK_SIZE = 4096;
+
+  private CalendarIngester() {
+    // Disallow instances.
+  }
+
+  /**
+   * Parses every one-off and recurring event of a calendar export.
+   *
+   * @param input The export. It is read to the end but not closed.
+   * @param format The format of the export.
+   * @param pool The pool whose workers parse the export.
+   * @return The events, in the order of the export.
+   * @throws IOException If the export cannot be read.
+   * @throws IllegalArgumentException If the export is malformed.
+   */
+  public static ParsedCalendar parse(Reader input, CalendarFormat format, ForkJoinPool pool)
+      throws IOException {
+    BufferedReader reader = input instanceof BufferedReader
+        ? (BufferedReader) input
+        : new BufferedReader(input, 1 << 16);
+    EventParser parser = format.newParser();
+    int maxInFlight = 2 * pool.getParallelism();
+    Deque<ForkJoinTask<ParsedCalendar>> inFlight = new ArrayDeque<>();
+    ParsedCalendar events = new ParsedCalendar();
+    try {
+      List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+      String record;
+      while ((record = parser.readRecord(reader)) != null) {
+        chunk.add(record);
+        if (chunk.size() == CHUNK_SIZE) {
+          if (inFlight.size() == maxInFlight) {
+            events.addAll(inFlight.removeFirst().join());
+          }
+          List<String> records = chunk;
+          inFlight.addLast(pool.submit(() -> parser.parse(records)));
+          chunk = new ArrayList<>(CHUNK_SIZE);
+        }
+      }
+      // Parses the last, partial chunk here while the workers finish.
+      ParsedCalendar last = parser.parse(chunk);
+      while (!inFlight.isEmpty()) {
+        events.addAll(inFlight.removeFirst().join());
+      }
+      events.addAll(last);
+    } catch (IOException | RuntimeException e) {
+      for (ForkJoinTask<ParsedCalendar> task : inFlight) {
+        task.cancel(false);
+      }
+      throw e;
+    }
+    return events;
+  }
+
+  /**
+   * Parses every one-off and recurring event of a calendar export and adds
+   * them to a store.
+   *
+   * @param input The export. It is read to the end but not closed.
+   * @param format The format of the export.
+   * @param store The store to add the events to.
+   * @param pool The pool whose workers parse the export.
+   * @return The number of events added.
+   * @throws IOException If the export cannot be read.
+   * @throws IllegalArgumentException If the export is malformed, in which
+   *     case no events are added.
+   */
+  public static int ingest(Reader input, CalendarFormat format, EventStore store,
+                           ForkJoinPool pool) throws IOException {
+    ParsedCalendar events = parse(input, format, pool);
+    store.addAll(events.getEvents(), events.getRecurringEvents());
+    return events.size();
+  }
+}
@@ -0,0 +1,210 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * CsvEventParser.java
+ * 10/19/2026
+ *
+ * Parses events from comma-separated values.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the {@link CalendarFormat#CSV} format. A record is a row, which
+ * may span several lines if a quoted field holds line breaks.
+ */
+final class CsvEventParser implements EventParser {
+  /** The number of columns of a row. */
+  private static final int COLUMNS = 4;
+
+  /** Whether the next record read is the first of the stream. */
+  private boolean first = true;
+
+  @Override
+  public String readRecord(BufferedReader reader) throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      if (line == null) {
+        return null;
+      }
+    } while (line.isEmpty());
+
+    // Joins the lines of quoted fields holding line breaks.
+    StringBuilder record = null;
+    while (hasOpenQuote(record == null ? line : record)) {
+      String next = reader.readLine();
+      if (next == null) {
+        break;
+      }
+      if (record == null) {
+        record = new StringBuilder(line);
+      }
+      record.append('\n').append(next);
+    }
+    String row = record == null ? line : record.toString();
+
+    boolean isFirst = first;
+    first = false;
+    if (isFirst && row.regionMatches(true, 0, "title,", 0, 6)) {
+      // Skips the header.
+      return readRecord(reader);
+    }
+    return row;
+  }
+
+  @Override
+  public ParsedCalendar parse(List<String> records) {
+    Map<String, String> names = new HashMap<>();
+    List<Event> events = new ArrayList<>(records.size());
+    String[] fields = new String[COLUMNS];
+    for (String record : records) {
+      split(record, fields);
+      int start = parseEpochMinutes(fields[1], record);
+      int end = parseEpochMinutes(fields[2], record);
+      if (end < start) {
+        throw new IllegalArgumentException("Row ends before it starts: " + record);
+      }
+      List<String> attendees = new ArrayList<>();
+      for (String attendee : fields[3].split(";")) {
+        attendee = attendee.trim();
+        if (!attendee.isEmpty()) {
+          attendees.add(names.computeIfAbsent(attendee, name -> name));
+        }
+      }
+      Event event = new Event(fields[0], TimeRange.fromStartEnd(start, end, false), attendees);
+      // Interns the attendees on this worker rather than when indexing.
+      event.getAttendeeSet();
+      events.add(event);
+    }
+    return new ParsedCalendar(events, new ArrayList<>());
+  }
+
+  /**
+   * Splits a row into its fields, unquoting quoted fields.
+   */
+  private static void split(String record, String[] fields) {
+    StringBuilder field = new StringBuilder();
+    int column = 0;
+    boolean quoted = false;
+    for (int i = 0; i < record.length(); i++) {
+      char c = record.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          field.append(c);
+        } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        if (column == COLUMNS - 1) {
+          throw new IllegalArgumentException("Row has too many columns: " + record);
+        }
+        fields[column++] = field.toString();
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    if (column != COLUMNS - 1) {
+      throw new IllegalArgumentException("Row has too few columns: " + record);
+    }
+    fields[column] = field.toString();
+  }
+
+  /**
+   * Parses an ISO-8601 date-time into epoch minutes, reading it as UTC
+   * unless it carries an offset.
+   */
+  private static int parseEpochMinutes(String text, String record) {
+    text = text.trim();
+    if (text.length() == 16 && text.charAt(4) == '-' && text.charAt(7) == '-'
+        && text.charAt(10) == 'T' && text.charAt(13) == ':') {
+      // Reads the common "yyyy-MM-ddTHH:mm" form without the formatter,
+      // which dominates the cost of parsing a row.
+      int year = parseDigits(text, 0, 4);
+      int month = parseDigits(text, 5, 7);
+      int day = parseDigits(text, 8, 10);
+      int hour = parseDigits(text, 11, 13);
+      int minute = parseDigits(text, 14, 16);
+      if (year >= 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0) {
+        try {
+          return TimeRange.getEpochMinutes(LocalDate.of(year, month, day), hour, minute);
+        } catch (DateTimeException | IllegalArgumentException e) {
+          throw new IllegalArgumentException(
+              "Invalid time \"" + text + "\" in row: " + record, e);
+        }
+      }
+    }
+    try {
+      boolean hasOffset = text.endsWith("Z") || text.lastIndexOf('+') > 0
+          || text.lastIndexOf('-') > text.indexOf('T');
+      OffsetDateTime time = hasOffset
+          ? OffsetDateTime.parse(text)
+          : LocalDateTime.parse(text).atOffset(ZoneOffset.UTC);
+      return Math.toIntExact(Math.floorDiv(time.toEpochSecond(), 60));
+    } catch (DateTimeParseException | ArithmeticException e) {
+      throw new IllegalArgumentException("Invalid time \"" + text + "\" in row: " + record, e);
+    }
+  }
+
+  /**
+   * Returns the decimal number of the characters [from, to) of the text,
+   * or -1 if they are not all digits.
+   */
+  private static int parseDigits(String text, int from, int to) {
+    int number = 0;
+    for (int i = from; i < to; i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      number = number * 10 + (c - '0');
+    }
+    return number;
+  }
+
+  /**
+   * Returns whether the text has an odd number of quotes, so that a quoted
+   * field continues past it.
+   */
+  private static boolean hasOpenQuote(CharSequence text) {
+    boolean open = false;
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) == '"') {
+        open = !open;
+      }
+    }
+    return open;
+  }
+}
@@ -27,6 +27,8 @@ public final class Event {
   private final String title;
   private final TimeRange when;
   private final Set<String> attendees = new HashSet<>();
+  private final Set<String> resources = new HashSet<>();
+  private transient AttendeeSet attendeeSet;
 
   /**
    * Creates a new event.
@@ -36,6 +38,19 @@ public final class Event {
    * @param attendees The collection of people attending the event. Must be non-null.
    */
   public Event(String title, TimeRange when, Collection<String> attendees) {
+    this(title, when, attendees, Collections.emptySet());
+  }
+
+  /**
+   * Creates a new event booking resources.
+   *
+   * @param title The human-readable name for the event. Must be non-null.
+   * @param when The time when the event takes place. Must be non-null.
+   * @param attendees The collection of people attending the event. Must be non-null.
+   * @param resources The names of the rooms and equipment the event books. Must be non-null.
+   */
+  public Event(String title, TimeRange when, Collection<String> attendees,
+               Collection<String> resources) {
     if (title == null) {
       throw new IllegalArgumentException("title cannot be null");
     }
@@ -48,9 +63,16 @@ public final class Event {
       throw new IllegalArgumentException("attendees cannot be null. Use empty array instead.");
     }
 
+    if (resources == null) {
+      throw new IllegalArgumentException("resources cannot be null. Use empty array instead.");
+    }
+
     this.title = title;
     this.when = when;
     this.attendees.addAll(attendees);
+    this.resources.addAll(resources);
+    // Interned up front, as meeting requests only look names up.
+    this.attendeeSet = AttendeeSet.of(this.attendees, AttendeeRegistry.getInstance());
   }
 
   /**
@@ -76,6 +98,28 @@ public final class Event {
     return Collections.unmodifiableSet(attendees);
   }
 
+  /**
+   * Returns a read-only set of the names of the resources this event books.
+   */
+  public Set<String> getResources() {
+    // Events deserialized by Gson from JSON without resources leave the field null.
+    return resources == null ? Collections.emptySet() : Collections.unmodifiableSet(resources);
+  }
+
+  /**
+   * Returns the interned ids of the attendees of this event as a bitset.
+   */
+  AttendeeSet getAttendeeSet() {
+    // Computed lazily, as events deserialized by Gson bypass the constructor.
+    // The set is immutable, so racing threads at worst compute it twice.
+    AttendeeSet set = attendeeSet;
+    if (set == null) {
+      set = AttendeeSet.of(attendees, AttendeeRegistry.getInstance());
+      attendeeSet = set;
+    }
+    return set;
+  }
+
   @Override
   public int hashCode() {
     // For the hash code, just use the title. Most events "should" have different names and will
@@ -0,0 +1,62 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * EventPage.java
+ * 10/19/2026
+ *
+ * One page of the events of a store matching a filter.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of events in order of addition, together with the cursor from
+ * which the next page continues. Pages are considered read-only.
+ */
+public final class EventPage {
+  private final List<Event> events;
+  private final Long next;
+
+  /**
+   * Creates a new page.
+   *
+   * @param events The events of the page.
+   * @param next The id after which the next page starts, or null if this is
+   *     the last page.
+   */
+  EventPage(List<Event> events, Long next) {
+    this.events = Collections.unmodifiableList(events);
+    this.next = next;
+  }
+
+  /**
+   * Returns a read-only list of the events of this page.
+   */
+  public List<Event> getEvents() {
+    return events;
+  }
+
+  /**
+   * Returns the id after which the next page starts, or null if this is the
+   * last page.
+   */
+  public Long getNext() {
+    return next;
+  }
+}
@@ -0,0 +1,55 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * EventParser.java
+ * 10/19/2026
+ *
+ * Splits a calendar export into records and parses records into events.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A parser of one calendar export. Reading is split from parsing so that a
+ * single thread can cut the stream into records while workers parse chunks
+ * of records in parallel: {@link #readRecord} is called by one thread at a
+ * time, and {@link #parse} may be called by many at once.
+ */
+interface EventParser {
+  /**
+   * Reads the text of the next event from the stream, skipping anything
+   * that is not an event.
+   *
+   * @param reader The stream.
+   * @return The record, or null at the end of the stream.
+   * @throws IOException If the stream cannot be read.
+   */
+  String readRecord(BufferedReader reader) throws IOException;
+
+  /**
+   * Parses records into one-off and recurring events, interning their
+   * attendees.
+   *
+   * @param records Records returned by {@link #readRecord}.
+   * @return The events, in the order of the records.
+   * @throws IllegalArgumentException If a record is malformed.
+   */
+  ParsedCalendar parse(List<String> records);
+}
@@ -0,0 +1,466 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * EventStore.java
+ * 10/19/2026
+ *
+ * A mutable collection of events that can be queried for meeting times
+ * while it changes.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A concurrent store of events, each identified by an id assigned when it
+ * is added. The store keeps an {@link AttendeeCalendarIndex} of its events
+ * up to date as they change: each write derives a new index from the
+ * current one, copying only the intervals of the attendees of the changed
+ * event, and publishes it as an immutable snapshot. Queries run against the
+ * snapshot current when they start, so readers never block on writers.
+ * Writers are serialized with one another. The slots of repeated requests
+ * are cached, and a write evicts only the cached requests mentioning an
+ * attendee of the changed event. The events of each attendee are indexed
+ * too, so that the events of one person can be paged through without
+ * scanning the whole store.
+ *
+ * <p>The store also holds recurring events, kept as their rules. They and
+ * the one-off events are scheduled around by queries over a horizon, which
+ * use a {@link MultiDayIndex} of the snapshot. Each write derives it from the
+ * current one alongside the calendar index, indexing again only the days
+ * covered by the changed events. Instances are thread-safe.
+ */
+public final class EventStore {
+  /** The default number of requests whose slots are cached. */
+  static final int DEFAULT_CACHE_CAPACITY = 1024;
+
+  /** The store shared by the servlets, seeded with the sample events. */
+  private static final EventStore INSTANCE = new EventStore(Arrays.asList(Events.events));
+
+  /**
+   * An immutable view of the store at one point in time.
+   */
+  private static final class Snapshot {
+    /** The number of writes made to the store before this snapshot. */
+    private final long version;
+
+    /** The index of the events of the store. */
+    private final AttendeeCalendarIndex index;
+
+    /** The multi-day index of the one-off and recurring events of the store. */
+    private final MultiDayIndex horizonIndex;
+
+    private Snapshot(long version, AttendeeCalendarIndex index, MultiDayIndex horizonIndex) {
+      this.version = version;
+      this.index = index;
+      this.horizonIndex = horizonIndex;
+    }
+  }
+
+  /** The events of the store, by id. Ids increase in order of addition. */
+  private final ConcurrentNavigableMap<Long, Event> events = new ConcurrentSkipListMap<>();
+
+  /**
+   * The recurring events of the store, by id. Ids are shared with events.
+   */
+  private final ConcurrentNavigableMap<Long, RecurringEvent> recurringEvents =
+      new ConcurrentSkipListMap<>();
+
+  /** The events of each attendee, by attendee id, then by event id. */
+  private final ConcurrentMap<Integer, ConcurrentNavigableMap<Long, Event>> eventsByAttendee =
+      new ConcurrentHashMap<>();
+
+  /** Serializes writes. */
+  private final Object writeLock = new Object();
+
+  /** The id of the next event added. Guarded by writeLock. */
+  private long nextId;
+
+  /** The current snapshot, replaced by each write. */
+  private volatile Snapshot snapshot;
+
+  /** The cached slots of recent requests. */
+  private final QueryCache cache;
+
+  /**
+   * Creates a store holding the specified events, caching the slots of up to
+   * 1024 requests.
+   *
+   * @param events The initial events, assigned ids in iteration order.
+   */
+  public EventStore(Collection<Event> events) {
+    this(events, DEFAULT_CACHE_CAPACITY);
+  }
+
+  /**
+   * Creates a store holding the specified events.
+   *
+   * @param events The initial events, assigned ids in iteration order.
+   * @param cacheCapacity The number of requests whose slots are cached.
+   */
+  public EventStore(Collection<Event> events, int cacheCapacity) {
+    cache = new QueryCache(cacheCapacity);
+    for (Event event : events) {
+      index(nextId, event);
+      this.events.put(nextId++, event);
+    }
+    snapshot = new Snapshot(0, AttendeeCalendarIndex.of(events),
+        MultiDayIndex.of(events, Collections.emptyList(), AttendeeAvailability.ALWAYS));
+  }
+
+  /**
+   * Returns the store shared by the servlets, seeded with the sample events.
+   *
+   * @return The shared store.
+   */
+  public static EventStore getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Adds an event to the store.
+   *
+   * @param event The event to add.
+   * @return The id of the added event.
+   */
+  public long add(Event event) {
+    synchronized (writeLock) {
+      long id = nextId++;
+      index(id, event);
+      events.put(id, event);
+      publish(snapshot.index.withEvent(event),
+          snapshot.horizonIndex.withEvents(Collections.singletonList(event),
+                                           Collections.emptyList()));
+      cache.invalidate(event.getAttendeeSet(), snapshot.version);
+      return id;
+    }
+  }
+
+  /**
+   * Adds events to the store in bulk. Rather than deriving an index per
+   * event, the calendar index is rebuilt once from all the events of the
+   * store, the days the events cover are indexed again once, and cached
+   * requests mentioning any attendee of the events are evicted.
+   *
+   * @param added The events to add.
+   * @return The id of the first added event; the others follow in order.
+   */
+  public long addAll(Collection<Event> added) {
+    synchronized (writeLock) {
+      long firstId = nextId;
+      if (added.isEmpty()) {
+        return firstId;
+      }
+      BitSet attendees = new BitSet();
+      for (Event event : added) {
+        index(nextId, event);
+        events.put(nextId++, event);
+        for (int id : event.getAttendeeSet().toIds()) {
+          attendees.set(id);
+        }
+      }
+      publish(AttendeeCalendarIndex.of(events.values()),
+          snapshot.horizonIndex.withEvents(added, Collections.emptyList()));
+      cache.invalidate(AttendeeSet.ofIds(attendees.stream().toArray()), snapshot.version);
+      return firstId;
+    }
+  }
+
+  /**
+   * Adds a recurring event to the store. Only queries over a horizon see
+   * it.
+   *
+   * @param event The recurring event to add.
+   * @return The id of the added event.
+   */
+  public long addRecurring(RecurringEvent event) {
+    synchronized (writeLock) {
+      long id = nextId++;
+      recurringEvents.put(id, event);
+      publish(snapshot.index,
+          snapshot.horizonIndex.withRecurringEvents(Collections.singletonList(event),
+                                                    Collections.emptyList()));
+      return id;
+    }
+  }
+
+  /**
+   * Adds one-off and recurring events to the store in bulk, as by
+   * {@link #addAll(Collection)}.
+   *
+   * @param added The one-off events to add.
+   * @param addedRecurring The recurring events to add.
+   * @return The id of the first added event; the others follow in order,
+   *     one-off events first.
+   */
+  public long addAll(Collection<Event> added, Collection<RecurringEvent> addedRecurring) {
+    synchronized (writeLock) {
+      long firstId = addAll(added);
+      if (!addedRecurring.isEmpty()) {
+        for (RecurringEvent event : addedRecurring) {
+          recurringEvents.put(nextId++, event);
+        }
+        publish(snapshot.index,
+            snapshot.horizonIndex.withRecurringEvents(addedRecurring, Collections.emptyList()));
+      }
+      return firstId;
+    }
+  }
+
+  /**
+   * Removes a one-off or recurring event from the store.
+   *
+   * @param id The id of the event to remove.
+   * @return Whether the store held an event with that id.
+   */
+  public boolean remove(long id) {
+    synchronized (writeLock) {
+      RecurringEvent removedRecurring = recurringEvents.remove(id);
+      if (removedRecurring != null) {
+        publish(snapshot.index,
+            snapshot.horizonIndex.withRecurringEvents(Collections.emptyList(),
+                                                      Collections.singletonList(removedRecurring)));
+        return true;
+      }
+      Event removed = events.remove(id);
+      if (removed == null) {
+        return false;
+      }
+      unindex(id, removed);
+      publish(snapshot.index.withoutEvent(removed),
+          snapshot.horizonIndex.withEvents(Collections.emptyList(),
+                                           Collections.singletonList(removed)));
+      cache.invalidate(removed.getAttendeeSet(), snapshot.version);
+      return true;
+    }
+  }
+
+  /**
+   * Replaces an event of the store, keeping its id.
+   *
+   * @param id The id of the event to replace.
+   * @param event The replacement event.
+   * @return Whether the store held an event with that id.
+   */
+  public boolean update(long id, Event event) {
+    synchronized (writeLock) {
+      Event replaced = events.replace(id, event);
+      if (replaced == null) {
+        return false;
+      }
+      unindex(id, replaced);
+      index(id, event);
+      publish(snapshot.index.withoutEvent(replaced).withEvent(event),
+          snapshot.horizonIndex.withEvents(Collections.singletonList(event),
+                                           Collections.singletonList(replaced)));
+      cache.invalidate(replaced.getAttendeeSet(), snapshot.version);
+      cache.invalidate(event.getAttendeeSet(), snapshot.version);
+      return true;
+    }
+  }
+
+  /**
+   * Returns the event with the specified id.
+   *
+   * @param id An event id.
+   * @return The event, or null if the store holds no event with that id.
+   */
+  public Event get(long id) {
+    return events.get(id);
+  }
+
+  /**
+   * Returns a read-only, live view of the events of the store in order of
+   * addition. Iteration never blocks writers and reflects some, all or none
+   * of the writes made while it is in progress.
+   *
+   * @return The events of the store.
+   */
+  public Collection<Event> getEvents() {
+    return Collections.unmodifiableCollection(events.values());
+  }
+
+  /**
+   * Returns a read-only, live view of the recurring events of the store in
+   * order of addition, as for {@link #getEvents()}.
+   *
+   * @return The recurring events of the store.
+   */
+  public Collection<RecurringEvent> getRecurringEvents() {
+    return Collections.unmodifiableCollection(recurringEvents.values());
+  }
+
+  /**
+   * Returns a page of the events of the store matching a filter, in order of
+   * addition. Events of a single attendee are read from that attendee's
+   * index rather than filtered out of the whole store. Like
+   * {@link #getEvents()}, paging never blocks writers and may reflect writes
+   * made while it is in progress.
+   *
+   * @param attendee The attendee whose events to return, or null for the
+   *     events of all attendees.
+   * @param range The range the events must overlap, or null for any time.
+   * @param after The id after which the page starts; -1 for the first page.
+   * @param limit The maximum number of events in the page. Must be positive.
+   * @return The page of matching events.
+   */
+  public EventPage getEvents(String attendee, TimeRange range, long after, int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive");
+    }
+    ConcurrentNavigableMap<Long, Event> candidates = events;
+    if (attendee != null) {
+      int id = AttendeeRegistry.getInstance().lookup(attendee);
+      candidates = id < 0 ? null : eventsByAttendee.get(id);
+      if (candidates == null) {
+        return new EventPage(Collections.emptyList(), null);
+      }
+    }
+
+    List<Event> page = new ArrayList<>();
+    long last = after;
+    for (Map.Entry<Long, Event> entry : candidates.tailMap(after, false).entrySet()) {
+      if (range != null && !entry.getValue().getWhen().overlaps(range)) {
+        continue;
+      }
+      if (page.size() == limit) {
+        // Another event matches, so there is a next page.
+        return new EventPage(page, last);
+      }
+      page.add(entry.getValue());
+      last = entry.getKey();
+    }
+    return new EventPage(page, null);
+  }
+
+  /**
+   * Returns the number of writes made to the store since it was created.
+   *
+   * @return The version of the current snapshot.
+   */
+  public long getVersion() {
+    return snapshot.version;
+  }
+
+  /**
+   * Returns a list of open time slots for the specified meeting request
+   * among the events of the current snapshot, answering repeated requests
+   * from the cache.
+   *
+   * @param request The meeting request.
+   * @return A read-only list of open time slots for the specified request.
+   */
+  public Collection<TimeRange> query(MeetingRequest request) {
+    List<TimeRange> slots = cache.get(request);
+    if (slots == null) {
+      Snapshot current = snapshot;
+      slots = Collections.unmodifiableList(new ArrayList<>(current.index.query(request)));
+      cache.put(request, slots, current.version);
+    }
+    return slots;
+  }
+
+  /**
+   * Returns a list of open time slots for the specified meeting request
+   * within a horizon, around the one-off events and the occurrences of the
+   * recurring events of the current snapshot.
+   *
+   * @param request The meeting request.
+   * @param horizon The time range, in epoch minutes, to schedule within.
+   * @return A list of open time slots, in epoch minutes.
+   */
+  public Collection<TimeRange> query(MeetingRequest request, TimeRange horizon) {
+    return snapshot.horizonIndex.query(request, horizon);
+  }
+
+  /**
+   * Writes the index of the current snapshot to a file, atomically, for a
+   * later run to map with {@link IndexSnapshot#open}.
+   *
+   * @param path The file to write.
+   * @throws IOException If the file cannot be written.
+   */
+  public void writeSnapshot(Path path) throws IOException {
+    Snapshot current = snapshot;
+    IndexSnapshot.write(current.index, current.version, path);
+  }
+
+  /**
+   * Returns the cache of the slots of recent requests.
+   */
+  QueryCache getCache() {
+    return cache;
+  }
+
+  /**
+   * Returns the open time slots for each of the specified meeting requests
+   * among the events of a single snapshot, splitting the requests between
+   * the workers of the specified pool.
+   *
+   * @param requests The meeting requests.
+   * @param pool The pool whose workers answer the requests.
+   * @return The open time slots for each request, in the order of the requests.
+   */
+  public List<Collection<TimeRange>> queryAll(List<MeetingRequest> requests, ForkJoinPool pool) {
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    Collection<TimeRange>[] answers = new Collection[requests.size()];
+    pool.invoke(new BatchQueryTask(snapshot.index::query, requests, answers, 0, answers.length));
+    return Arrays.asList(answers);
+  }
+
+  /**
+   * Adds an event to the indexes of its attendees. Called holding writeLock,
+   * or from the constructor.
+   */
+  private void index(long id, Event event) {
+    for (int attendee : event.getAttendeeSet().toIds()) {
+      eventsByAttendee.computeIfAbsent(attendee, key -> new ConcurrentSkipListMap<>())
+          .put(id, event);
+    }
+  }
+
+  /**
+   * Removes an event from the indexes of its attendees. Called holding
+   * writeLock.
+   */
+  private void unindex(long id, Event event) {
+    for (int attendee : event.getAttendeeSet().toIds()) {
+      eventsByAttendee.get(attendee).remove(id);
+    }
+  }
+
+  /**
+   * Publishes a new snapshot of the specified indexes. Called holding
+   * writeLock.
+   */
+  private void publish(AttendeeCalendarIndex index, MultiDayIndex horizonIndex) {
+    snapshot = new Snapshot(snapshot.version + 1, index, horizonIndex);
+  }
+}
@@ -0,0 +1,68 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * FallbackIterator.java
+ * 10/19/2026
+ *
+ * Iterates over a fallback only if the first iterator is empty.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import com.google.common.collect.AbstractIterator;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Yields the elements of a first iterator or, if it has none at all, those
+ * of a fallback iterator created only then. Lazy slot iterators use it to
+ * drop optional attendees when no slot suits them, without searching for
+ * slots without them up front.
+ */
+final class FallbackIterator<T> extends AbstractIterator<T> {
+  /** The iterator currently yielding elements. */
+  private Iterator<T> current;
+
+  /** Creates the fallback iterator, or null once it has been considered. */
+  private Supplier<Iterator<T>> fallback;
+
+  /**
+   * Creates an iterator.
+   *
+   * @param first The iterator whose elements are preferred.
+   * @param fallback Creates the iterator used if the first has no elements.
+   */
+  FallbackIterator(Iterator<T> first, Supplier<Iterator<T>> fallback) {
+    this.current = first;
+    this.fallback = fallback;
+  }
+
+  @Override
+  protected T computeNext() {
+    if (current.hasNext()) {
+      fallback = null;
+      return current.next();
+    }
+    if (fallback != null) {
+      current = fallback.get();
+      fallback = null;
+      if (current.hasNext()) {
+        return current.next();
+      }
+    }
+    return endOfData();
+  }
+}
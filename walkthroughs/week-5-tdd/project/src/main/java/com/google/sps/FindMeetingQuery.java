@@ -22,20 +22,64 @@
  */
 package com.google.sps;
 
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.TreeMultiset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
 import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /** 
- * Finds all open time slots for a meeting request. 
+ * Finds all open time slots for a meeting request. Instances are not
+ * thread-safe: engines reuse their working buffers between queries, and the
+ * index engines cache the index of the events most recently queried.
  */
 public final class FindMeetingQuery {
 
-  /** Describes a type of time marking. */
-  private static enum Mark { END, START }
+  /** The algorithms by which open time slots may be found. */
+  public static enum Engine {
+    /** Sorts boxed time marks in a TreeMultiset. */
+    TREE_MULTISET,
+
+    /**
+     * Sorts time marks packed into primitive longs in a reusable array.
+     * Allocates nothing per event.
+     */
+    PRIMITIVE_SWEEP,
+
+    /**
+     * Merges the busy intervals of the requested attendees from an
+     * {@link AttendeeCalendarIndex} of the events. The index is reused only
+     * while the same immutable collection of events is queried.
+     */
+    CALENDAR_INDEX,
+
+    /**
+     * ORs together the busy minutes of the requested attendees from an
+     * {@link AttendeeBitmapIndex} of the events and scans for free runs. The
+     * index is reused only while the same immutable collection of events is
+     * queried.
+     */
+    BITMAP
+  }
+
+  /** 
+   * Describes a type of time marking. Ends are ordered before starts so that
+   * back-to-back events leave no gap between them.
+   */
+  static enum Mark { END, START }
 
   /** 
    * A mark in time. Either the start or 
@@ -63,16 +107,21 @@ public final class FindMeetingQuery {
 
   /** 
    * Orders a collection of time markings in
-   * chronological order.
+   * chronological order. Marks at the same time and of the same type are
+   * further ordered mandatory first; a TreeMultiset would otherwise
+   * collapse a mandatory and an optional mark into copies of whichever was
+   * added first.
    */
   private static final Comparator<TimeMark> ORDER_CHRONOLOGICALLY =
     (a, b) -> {
       int compare = Long.compare(a.time, b.time);
       if (compare == 0) {
-        return Long.compare(a.mark.ordinal(), b.mark.ordinal());
-      } else {
-        return compare;
+        compare = Long.compare(a.mark.ordinal(), b.mark.ordinal());
+      }
+      if (compare == 0) {
+        compare = Boolean.compare(a.optional, b.optional);
       }
+      return compare;
     };
 
   /**
@@ -80,7 +129,87 @@ public final class FindMeetingQuery {
    * comparison to those attendees or optional attendees of the 
    * specified meeting request.
    */
-  private static enum Relevance { MANDATORY, OPTIONAL, NONE }
+  static enum Relevance { MANDATORY, OPTIONAL, NONE }
+
+  /** The engine used to answer queries. */
+  private final Engine engine;
+
+  /** The working hours of the attendees. */
+  private final AttendeeAvailability availability;
+
+  /** The primitive sweep engine, holding its reusable buffer. */
+  private final PrimitiveSweep primitiveSweep;
+
+  /** The working buffers of the calendar index and bitmap engines. */
+  private final QueryScratch scratch = new QueryScratch();
+
+  /** The events most recently indexed by the calendar index or bitmap engine. */
+  private Collection<Event> indexedEvents;
+
+  /** The calendar index of indexedEvents, if the calendar index engine is used. */
+  private AttendeeCalendarIndex calendarIndex;
+
+  /** The bitmap index of indexedEvents, if the bitmap engine is used. */
+  private AttendeeBitmapIndex bitmapIndex;
+
+  /** The events most recently indexed for a resource query. */
+  private Collection<Event> resourceEvents;
+
+  /** The resources most recently indexed for a resource query. */
+  private Collection<Resource> indexedResources;
+
+  /** The bitmap index of the attendees of resourceEvents. */
+  private AttendeeBitmapIndex resourceAttendeeIndex;
+
+  /** The index of the bookings of indexedResources by resourceEvents. */
+  private ResourceIndex resourceIndex;
+
+  /** The events most recently indexed for a multi-day query. */
+  private Collection<Event> horizonEvents;
+
+  /** The recurring events most recently indexed for a multi-day query. */
+  private Collection<RecurringEvent> horizonRecurringEvents;
+
+  /** The multi-day index of horizonEvents and horizonRecurringEvents. */
+  private MultiDayIndex horizonIndex;
+
+  /**
+   * Constructs a query using the primitive sweep engine.
+   */
+  public FindMeetingQuery() {
+    this(Engine.PRIMITIVE_SWEEP);
+  }
+
+  /**
+   * Constructs a query using the specified engine. All engines produce
+   * identical results for meetings of positive duration. The index engines
+   * index the events queried on each call, unless they are the same
+   * immutable collection (such as an ImmutableList) as last queried, whose
+   * index is reused. To query a changing calendar repeatedly, index it
+   * explicitly, with {@link AttendeeCalendarIndex#of} or
+   * {@link MultiDayIndex#of}, or keep it in an {@link EventStore}, which
+   * keeps its indexes up to date as it changes.
+   *
+   * @param engine The engine used to answer queries.
+   */
+  public FindMeetingQuery(Engine engine) {
+    this(engine, AttendeeAvailability.ALWAYS);
+  }
+
+  /**
+   * Constructs a query using the specified engine that treats attendees as
+   * busy outside of their working hours. Every engine compiles the working
+   * hours of the requested attendees into its busy time in the same pass
+   * as their events.
+   *
+   * @param engine The engine used to answer queries.
+   * @param availability The working hours of the attendees.
+   */
+  public FindMeetingQuery(Engine engine, AttendeeAvailability availability) {
+    this.engine = engine;
+    this.availability = availability;
+    this.primitiveSweep = new PrimitiveSweep(availability);
+  }
 
   /**
    * Returns a list of open time slots for the specified meeting request.
@@ -90,6 +219,300 @@ public final class FindMeetingQuery {
    * @return A list of open time slots for the specified request.
    */
   public Collection<TimeRange> query(Collection<Event> events, MeetingRequest request) {
+    switch (engine) {
+      case TREE_MULTISET:
+        return queryTreeMultiset(events, request, availability);
+      case CALENDAR_INDEX:
+        if (calendarIndex == null || !isIndexed(indexedEvents, events)) {
+          indexedEvents = events;
+          calendarIndex = AttendeeCalendarIndex.of(events, availability);
+        }
+        return calendarIndex.query(request, scratch);
+      case BITMAP:
+        if (bitmapIndex == null || !isIndexed(indexedEvents, events)) {
+          indexedEvents = events;
+          bitmapIndex = AttendeeBitmapIndex.of(events, availability);
+        }
+        return bitmapIndex.query(request, scratch);
+      case PRIMITIVE_SWEEP:
+      default:
+        return primitiveSweep.query(events, request);
+    }
+  }
+
+  /**
+   * Returns the open time slots for the specified meeting request lazily, in
+   * chronological order. Slots are found only as they are pulled, so a
+   * caller that stops early skips the rest of the sweep. The iterator does
+   * not share this query's buffers, whatever the engine.
+   *
+   * @param events A collection of preexisting events.
+   * @param request The meeting request.
+   * @return An iterator over the open time slots for the specified request.
+   */
+  public Iterator<TimeRange> iterator(Collection<Event> events, MeetingRequest request) {
+    return PrimitiveSweep.iterator(events, request, availability);
+  }
+
+  /**
+   * Returns the open time slots for the specified meeting request as a lazy,
+   * ordered stream.
+   *
+   * @param events A collection of preexisting events.
+   * @param request The meeting request.
+   * @return A stream of the open time slots for the specified request.
+   */
+  public Stream<TimeRange> stream(Collection<Event> events, MeetingRequest request) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+        iterator(events, request), Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * Returns the earliest time at which the specified meeting fits, ending
+   * the sweep as soon as it is found.
+   *
+   * @param events A collection of preexisting events.
+   * @param request The meeting request.
+   * @return A range of the requested duration starting at the earliest open
+   *     time slot, if there is one.
+   */
+  public Optional<TimeRange> firstFit(Collection<Event> events, MeetingRequest request) {
+    Iterator<TimeRange> slots = iterator(events, request);
+    return slots.hasNext()
+        ? Optional.of(TimeRange.fromStartDuration(slots.next().start(),
+                                                  (int) request.getDuration()))
+        : Optional.empty();
+  }
+
+  /**
+   * Returns the open time slots for each of the specified meeting requests.
+   * The events are indexed once for the whole batch: by a bitmap index if
+   * this query uses the bitmap engine, and by a calendar index otherwise.
+   *
+   * @param events A collection of preexisting events.
+   * @param requests The meeting requests.
+   * @return The open time slots for each request, in the order of the requests.
+   */
+  public List<Collection<TimeRange>> queryAll(Collection<Event> events,
+                                              Collection<MeetingRequest> requests) {
+    BiFunction<MeetingRequest, QueryScratch, Collection<TimeRange>> index = indexForBatch(events);
+    QueryScratch scratch = new QueryScratch();
+    List<Collection<TimeRange>> answers = new ArrayList<>(requests.size());
+    for (MeetingRequest request : requests) {
+      answers.add(index.apply(request, scratch));
+    }
+    return answers;
+  }
+
+  /**
+   * Returns the open time slots for each of the specified meeting requests,
+   * splitting the requests between the workers of the specified pool. The
+   * events are indexed once, as by {@link #queryAll(Collection, Collection)},
+   * and the index is shared read-only by the workers.
+   *
+   * @param events A collection of preexisting events.
+   * @param requests The meeting requests.
+   * @param pool The pool whose workers answer the requests.
+   * @return The open time slots for each request, in the order of the requests.
+   */
+  public List<Collection<TimeRange>> queryAll(Collection<Event> events,
+                                              List<MeetingRequest> requests, ForkJoinPool pool) {
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    Collection<TimeRange>[] answers = new Collection[requests.size()];
+    pool.invoke(new BatchQueryTask(indexForBatch(events), requests, answers, 0, answers.length));
+    return Arrays.asList(answers);
+  }
+
+  /**
+   * Indexes events for a batch: by a bitmap index if this query uses the
+   * bitmap engine, and by a calendar index otherwise.
+   */
+  private BiFunction<MeetingRequest, QueryScratch, Collection<TimeRange>> indexForBatch(
+      Collection<Event> events) {
+    if (engine == Engine.BITMAP) {
+      return AttendeeBitmapIndex.of(events, availability)::query;
+    }
+    return AttendeeCalendarIndex.of(events, availability)::query;
+  }
+
+  /**
+   * Returns the times for the specified meeting request at which all
+   * mandatory attendees are free, ranked by the number of optional
+   * attendees also free, rather than requiring all or none of them. The
+   * ranking is found in a single sweep, whatever the engine.
+   *
+   * @param events A collection of preexisting events.
+   * @param request The meeting request.
+   * @return Slots of the requested duration, most optional attendees first.
+   */
+  public List<AttendanceSlot> queryByOptionalAttendance(Collection<Event> events,
+                                                        MeetingRequest request) {
+    return OptionalAttendanceSweep.query(events, request, availability);
+  }
+
+  /**
+   * Returns every pairing of an open time slot for the specified meeting
+   * request with a resource meeting its capacity and feature constraints
+   * that no event books during the slot. Attendee and resource availability
+   * are intersected as bitmaps, whatever the engine; the indexes are reused
+   * only while the same immutable collection of events and the same
+   * collection of resources are queried.
+   *
+   * @param events A collection of preexisting events.
+   * @param resources The resources that may be booked.
+   * @param request The meeting request.
+   * @return The pairings, sorted by start time, then by resource name.
+   */
+  public List<ResourceSlot> queryWithResources(Collection<Event> events,
+                                               Collection<Resource> resources,
+                                               MeetingRequest request) {
+    boolean eventsChanged = resourceIndex == null || !isIndexed(resourceEvents, events);
+    if (eventsChanged) {
+      resourceEvents = events;
+      resourceAttendeeIndex = AttendeeBitmapIndex.of(events, availability);
+    }
+    if (eventsChanged || resources != indexedResources) {
+      resourceIndex = ResourceIndex.of(resources, events);
+      indexedResources = resources;
+    }
+    return resourceIndex.query(request, resourceAttendeeIndex, scratch);
+  }
+
+  /**
+   * Returns a list of open time slots for the specified meeting request
+   * within a horizon spanning any number of days. The events are indexed
+   * per day, whatever the engine; the index is reused only while the same
+   * immutable collection is queried.
+   *
+   * @param events A collection of preexisting events, in epoch minutes.
+   * @param request The meeting request.
+   * @param horizon The time range, in epoch minutes, to schedule within.
+   * @return A list of open time slots, in epoch minutes.
+   */
+  public Collection<TimeRange> query(Collection<Event> events, MeetingRequest request,
+                                     TimeRange horizon) {
+    return query(events, ImmutableList.of(), request, horizon);
+  }
+
+  /**
+   * Returns a list of open time slots for the specified meeting request
+   * within a horizon, around both one-off events and the occurrences of
+   * recurring events. Recurring events are indexed as their rules; the
+   * index is reused only while the same immutable collections are queried.
+   *
+   * @param events A collection of preexisting events, in epoch minutes.
+   * @param recurringEvents A collection of preexisting recurring events.
+   * @param request The meeting request.
+   * @param horizon The time range, in epoch minutes, to schedule within.
+   * @return A list of open time slots, in epoch minutes.
+   */
+  public Collection<TimeRange> query(Collection<Event> events,
+                                     Collection<RecurringEvent> recurringEvents,
+                                     MeetingRequest request, TimeRange horizon) {
+    Collection<TimeRange> openTimeSlots = new ArrayList<>();
+    iterator(events, recurringEvents, request, horizon).forEachRemaining(openTimeSlots::add);
+    return openTimeSlots;
+  }
+
+  /**
+   * Returns the open time slots for the specified meeting request within a
+   * horizon lazily, in chronological order. Days are scanned only as slots
+   * are pulled, so the cost of the first slot depends on how far into the
+   * horizon it lies.
+   *
+   * @param events A collection of preexisting events, in epoch minutes.
+   * @param request The meeting request.
+   * @param horizon The time range, in epoch minutes, to schedule within.
+   * @return An iterator over the open time slots, in epoch minutes.
+   */
+  public Iterator<TimeRange> iterator(Collection<Event> events, MeetingRequest request,
+                                      TimeRange horizon) {
+    return iterator(events, ImmutableList.of(), request, horizon);
+  }
+
+  /**
+   * Returns the open time slots for the specified meeting request within a
+   * horizon lazily, around both one-off events and the occurrences of
+   * recurring events, as by {@link #iterator(Collection, MeetingRequest,
+   * TimeRange)}.
+   *
+   * @param events A collection of preexisting events, in epoch minutes.
+   * @param recurringEvents A collection of preexisting recurring events.
+   * @param request The meeting request.
+   * @param horizon The time range, in epoch minutes, to schedule within.
+   * @return An iterator over the open time slots, in epoch minutes.
+   */
+  public Iterator<TimeRange> iterator(Collection<Event> events,
+                                      Collection<RecurringEvent> recurringEvents,
+                                      MeetingRequest request, TimeRange horizon) {
+    return horizonIndex(events, recurringEvents).iterator(request, horizon);
+  }
+
+  /**
+   * Returns the earliest time within a horizon at which the specified
+   * meeting fits, scanning only the days up to it.
+   *
+   * @param events A collection of preexisting events, in epoch minutes.
+   * @param request The meeting request.
+   * @param horizon The time range, in epoch minutes, to schedule within.
+   * @return A range of the requested duration, in epoch minutes, starting at
+   *     the earliest open time slot, if there is one.
+   */
+  public Optional<TimeRange> firstFit(Collection<Event> events, MeetingRequest request,
+                                      TimeRange horizon) {
+    return firstFit(events, ImmutableList.of(), request, horizon);
+  }
+
+  /**
+   * Returns the earliest time within a horizon at which the specified
+   * meeting fits around both one-off events and the occurrences of
+   * recurring events, scanning only the days up to it.
+   *
+   * @param events A collection of preexisting events, in epoch minutes.
+   * @param recurringEvents A collection of preexisting recurring events.
+   * @param request The meeting request.
+   * @param horizon The time range, in epoch minutes, to schedule within.
+   * @return A range of the requested duration, in epoch minutes, starting at
+   *     the earliest open time slot, if there is one.
+   */
+  public Optional<TimeRange> firstFit(Collection<Event> events,
+                                      Collection<RecurringEvent> recurringEvents,
+                                      MeetingRequest request, TimeRange horizon) {
+    return horizonIndex(events, recurringEvents).firstFit(request, horizon);
+  }
+
+  /**
+   * Returns the multi-day index of the specified events and recurring
+   * events, reusing the last one if both are the immutable collections it
+   * indexed.
+   */
+  private MultiDayIndex horizonIndex(Collection<Event> events,
+                                     Collection<RecurringEvent> recurringEvents) {
+    if (horizonIndex == null || !isIndexed(horizonEvents, events)
+        || !isIndexed(horizonRecurringEvents, recurringEvents)) {
+      horizonEvents = events;
+      horizonRecurringEvents = recurringEvents;
+      horizonIndex = MultiDayIndex.of(events, recurringEvents, availability);
+    }
+    return horizonIndex;
+  }
+
+  /**
+   * Determines whether an index of the collection last indexed holds the
+   * specified collection. Only an immutable collection can be trusted not to
+   * have changed since, so any other is indexed again.
+   */
+  private static boolean isIndexed(Collection<?> indexed, Collection<?> events) {
+    return events == indexed && events instanceof ImmutableCollection;
+  }
+
+  /**
+   * Returns a list of open time slots for the specified meeting request,
+   * sorting boxed time marks in a TreeMultiset.
+   */
+  private static Collection<TimeRange> queryTreeMultiset(Collection<Event> events,
+                                                         MeetingRequest request,
+                                                         AttendeeAvailability availability) {
     TreeMultiset<TimeMark> sortedStartsAndEnds = TreeMultiset.create(ORDER_CHRONOLOGICALLY);
     
     for (Event event : events) {
@@ -109,6 +532,9 @@ public final class FindMeetingQuery {
           break;
       }
     }
+    addOffHours(sortedStartsAndEnds, request.getAttendeeSet(), availability, false);
+    addOffHours(sortedStartsAndEnds, request.getOptionalAttendeeSet(), availability,
+        !request.getAttendeeSet().isEmpty());
     sortedStartsAndEnds.add(new TimeMark(TimeRange.END_OF_DAY + 1, Mark.START, false));
     
     boolean consideringOptionals = true;
@@ -148,6 +574,21 @@ public final class FindMeetingQuery {
     return openTimeSlots;
   }
 
+  /**
+   * Adds time marks for the off hours of the specified attendees.
+   */
+  private static void addOffHours(TreeMultiset<TimeMark> sortedStartsAndEnds,
+                                  AttendeeSet attendees, AttendeeAvailability availability,
+                                  boolean optional) {
+    for (int id : attendees.toIds()) {
+      int[] offHours = availability.getOffHours(id);
+      for (int i = 0; i < offHours.length; i += 2) {
+        sortedStartsAndEnds.add(new TimeMark(offHours[i], Mark.START, optional));
+        sortedStartsAndEnds.add(new TimeMark(offHours[i + 1], Mark.END, optional));
+      }
+    }
+  }
+
   /**
    * Returns the relevance of a specified event as its attendees relate to those of the
    * specified meeting request.
@@ -158,20 +599,17 @@ public final class FindMeetingQuery {
    *     event contains an attendee matching an optional attendee of request, and NONE
    *     otherwise.
    */
-  private static Relevance getAttendeeRelevance(Event event, MeetingRequest request) {
-    for (String attendee : request.getAttendees()) {
-      if (event.getAttendees().contains(attendee)) {
-        return Relevance.MANDATORY;
-      }
+  static Relevance getAttendeeRelevance(Event event, MeetingRequest request) {
+    AttendeeSet attendees = event.getAttendeeSet();
+    if (attendees.intersects(request.getAttendeeSet())) {
+      return Relevance.MANDATORY;
     }
 
-    for (String optional : request.getOptionalAttendees()) {
-      if (event.getAttendees().contains(optional)) {
-        if (request.getAttendees().isEmpty()) {
-          return Relevance.MANDATORY;
-        } else {
-          return Relevance.OPTIONAL;
-        }
+    if (attendees.intersects(request.getOptionalAttendeeSet())) {
+      if (request.getAttendeeSet().isEmpty()) {
+        return Relevance.MANDATORY;
+      } else {
+        return Relevance.OPTIONAL;
       }
     }
 
@@ -0,0 +1,345 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * ICalendarEventParser.java
+ * 10/19/2026
+ *
+ * Parses events from the VEVENT components of an iCalendar stream.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the {@link CalendarFormat#ICALENDAR} format. A record is the
+ * unfolded content lines of one VEVENT, nested components included. A VEVENT
+ * with an RRULE that {@link Recurrence#parse} supports becomes a
+ * {@link RecurringEvent}, kept as its rule rather than expanded; with any
+ * other RRULE, only its first occurrence is read. EXDATE and RDATE are
+ * ignored.
+ */
+final class ICalendarEventParser implements EventParser {
+  private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+  private static final DateTimeFormatter DATE_TIME =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+  @Override
+  public String readRecord(BufferedReader reader) throws IOException {
+    String line;
+    do {
+      line = readUnfolded(reader);
+      if (line == null) {
+        return null;
+      }
+    } while (!line.equalsIgnoreCase("BEGIN:VEVENT"));
+
+    StringBuilder record = new StringBuilder();
+    int depth = 1;
+    while ((line = readUnfolded(reader)) != null) {
+      if (line.regionMatches(true, 0, "BEGIN:", 0, 6)) {
+        depth++;
+      } else if (line.regionMatches(true, 0, "END:", 0, 4) && --depth == 0) {
+        return record.toString();
+      }
+      record.append(line).append('\n');
+    }
+    throw new IllegalArgumentException("VEVENT is not ended: " + record);
+  }
+
+  @Override
+  public ParsedCalendar parse(List<String> records) {
+    Map<String, String> names = new HashMap<>();
+    List<Event> events = new ArrayList<>(records.size());
+    List<RecurringEvent> recurringEvents = new ArrayList<>();
+    for (String record : records) {
+      String title = "";
+      Integer start = null;
+      Integer end = null;
+      Integer duration = null;
+      String rule = null;
+      boolean allDay = false;
+      List<String> attendees = new ArrayList<>();
+      int depth = 0;
+      for (String line : record.split("\n")) {
+        if (line.regionMatches(true, 0, "BEGIN:", 0, 6)) {
+          depth++;
+          continue;
+        } else if (line.regionMatches(true, 0, "END:", 0, 4)) {
+          depth--;
+          continue;
+        } else if (depth > 0) {
+          // Skips the properties of nested components, such as alarms.
+          continue;
+        }
+
+        int colon = findValueColon(line);
+        if (colon < 0) {
+          throw new IllegalArgumentException("Malformed content line: " + line);
+        }
+        String[] params = line.substring(0, colon).split(";");
+        String name = params[0].toUpperCase();
+        String value = line.substring(colon + 1);
+        switch (name) {
+          case "SUMMARY":
+            title = unescape(value);
+            break;
+          case "DTSTART":
+            allDay = "DATE".equalsIgnoreCase(getParameter(params, "VALUE"))
+                || value.length() == 8;
+            start = parseEpochMinutes(value, getParameter(params, "TZID"), line);
+            break;
+          case "DTEND":
+            end = parseEpochMinutes(value, getParameter(params, "TZID"), line);
+            break;
+          case "DURATION":
+            duration = parseDuration(value, line);
+            break;
+          case "RRULE":
+            rule = value;
+            break;
+          case "ATTENDEE":
+            String attendee = getParameter(params, "CN");
+            if (attendee == null) {
+              attendee = value.regionMatches(true, 0, "mailto:", 0, 7)
+                  ? value.substring(7)
+                  : value;
+            }
+            attendees.add(names.computeIfAbsent(attendee, key -> key));
+            break;
+          default:
+            break;
+        }
+      }
+
+      if (start == null) {
+        throw new IllegalArgumentException("VEVENT has no DTSTART: " + record);
+      }
+      if (end == null) {
+        // Without an end, an event lasts its duration, or else a day if it
+        // is all day and no time at all otherwise.
+        end = start + (duration != null ? duration : allDay ? TimeRange.MINUTES_PER_DAY : 0);
+      }
+      if (end < start) {
+        throw new IllegalArgumentException("VEVENT ends before it starts: " + record);
+      }
+      TimeRange when = TimeRange.fromStartEnd(start, end, false);
+      Recurrence recurrence = rule == null ? null : parseRecurrence(rule);
+      // Interns the attendees on this worker rather than when indexing.
+      if (recurrence != null) {
+        RecurringEvent event = new RecurringEvent(title, when, attendees, recurrence);
+        event.getAttendeeSet();
+        recurringEvents.add(event);
+      } else {
+        Event event = new Event(title, when, attendees);
+        event.getAttendeeSet();
+        events.add(event);
+      }
+    }
+    return new ParsedCalendar(events, recurringEvents);
+  }
+
+  /**
+   * Parses an RRULE value, or returns null if the rule is not supported, so
+   * that its event is read as a single occurrence.
+   */
+  private static Recurrence parseRecurrence(String rule) {
+    try {
+      return Recurrence.parse(rule);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Reads a content line, joining the continuation lines folded after it.
+   */
+  private static String readUnfolded(BufferedReader reader) throws IOException {
+    String line = reader.readLine();
+    if (line == null) {
+      return null;
+    }
+    StringBuilder unfolded = null;
+    while (true) {
+      reader.mark(1);
+      int next = reader.read();
+      if (next != ' ' && next != '\t') {
+        if (next != -1) {
+          reader.reset();
+        }
+        break;
+      }
+      if (unfolded == null) {
+        unfolded = new StringBuilder(line);
+      }
+      String continuation = reader.readLine();
+      if (continuation != null) {
+        unfolded.append(continuation);
+      }
+    }
+    return unfolded == null ? line : unfolded.toString();
+  }
+
+  /**
+   * Returns the index of the colon separating a content line's name and
+   * parameters from its value, skipping colons in quoted parameter values.
+   */
+  private static int findValueColon(String line) {
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (c == ':' && !quoted) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the unquoted value of the named parameter, or null if it is
+   * absent.
+   */
+  private static String getParameter(String[] params, String name) {
+    for (int i = 1; i < params.length; i++) {
+      int equals = params[i].indexOf('=');
+      if (equals > 0 && params[i].substring(0, equals).equalsIgnoreCase(name)) {
+        String value = params[i].substring(equals + 1);
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+          value = value.substring(1, value.length() - 1);
+        }
+        return value;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Parses a DATE or DATE-TIME value into epoch minutes. Times in UTC end
+   * in "Z"; other times are in the named zone, or are read as UTC if there
+   * is none or it is unknown.
+   */
+  private static int parseEpochMinutes(String value, String tzid, String line) {
+    try {
+      long seconds;
+      if (value.length() == 8) {
+        seconds = LocalDate.parse(value, DATE).toEpochDay() * 24 * 60 * 60;
+      } else if (value.endsWith("Z")) {
+        seconds = LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME)
+            .toEpochSecond(ZoneOffset.UTC);
+      } else {
+        ZoneId zone = ZoneOffset.UTC;
+        if (tzid != null) {
+          try {
+            zone = ZoneId.of(tzid);
+          } catch (DateTimeException e) {
+            // Custom VTIMEZONE ids are not resolved.
+          }
+        }
+        seconds = LocalDateTime.parse(value, DATE_TIME).atZone(zone).toEpochSecond();
+      }
+      return Math.toIntExact(Math.floorDiv(seconds, 60));
+    } catch (DateTimeParseException | ArithmeticException e) {
+      throw new IllegalArgumentException("Invalid date-time: " + line, e);
+    }
+  }
+
+  /**
+   * Parses a DURATION value, such as "PT1H30M" or "P1W", into minutes.
+   */
+  private static int parseDuration(String value, String line) {
+    int i = 0;
+    boolean negative = false;
+    if (i < value.length() && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+      negative = value.charAt(i++) == '-';
+    }
+    if (i >= value.length() || value.charAt(i++) != 'P') {
+      throw new IllegalArgumentException("Invalid duration: " + line);
+    }
+    long seconds = 0;
+    long number = -1;
+    for (; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c >= '0' && c <= '9') {
+        number = Math.max(number, 0) * 10 + (c - '0');
+        continue;
+      }
+      if (c == 'T') {
+        continue;
+      }
+      if (number < 0) {
+        throw new IllegalArgumentException("Invalid duration: " + line);
+      }
+      switch (c) {
+        case 'W':
+          seconds += number * 7 * 24 * 60 * 60;
+          break;
+        case 'D':
+          seconds += number * 24 * 60 * 60;
+          break;
+        case 'H':
+          seconds += number * 60 * 60;
+          break;
+        case 'M':
+          seconds += number * 60;
+          break;
+        case 'S':
+          seconds += number;
+          break;
+        default:
+          throw new IllegalArgumentException("Invalid duration: " + line);
+      }
+      number = -1;
+    }
+    if (number >= 0) {
+      throw new IllegalArgumentException("Invalid duration: " + line);
+    }
+    return Math.toIntExact((negative ? -seconds : seconds) / 60);
+  }
+
+  /**
+   * Unescapes a TEXT value.
+   */
+  private static String unescape(String value) {
+    if (value.indexOf('\\') < 0) {
+      return value;
+    }
+    StringBuilder text = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' && i + 1 < value.length()) {
+        char escaped = value.charAt(++i);
+        text.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+      } else {
+        text.append(c);
+      }
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,230 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * IndexSnapshot.java
+ * 10/19/2026
+ *
+ * Writes a calendar index to a compact binary file and maps it back.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The binary snapshot format of an {@link AttendeeCalendarIndex}, laid out
+ * so that it can be queried in place once mapped, without deserializing.
+ * All numbers are big-endian ints unless noted.
+ *
+ * <pre>
+ * header     magic "SPSI", format version, store version (long),
+ *            attendee count n, table slot count m, interval count
+ * table      m slots, each 1 + the snapshot id of the attendee whose name
+ *            hashes there, or 0; probed linearly
+ * directory  n entries of name offset, name length, first interval and
+ *            interval count
+ * intervals  the sorted, merged busy intervals of every attendee, as start,
+ *            end pairs
+ * names      the UTF-8 bytes of every attendee name
+ * </pre>
+ *
+ * <p>Snapshot ids are dense and local to the file, since the ids of the
+ * attendee registry differ between runs. Only attendees with busy intervals
+ * are written. Working hours are not part of the snapshot.
+ */
+public final class IndexSnapshot {
+  /** The first int of every snapshot. */
+  static final int MAGIC = 0x53505349;
+
+  /** The version of the layout written. */
+  static final int FORMAT_VERSION = 1;
+
+  /** The length of the header in bytes. */
+  static final int HEADER_BYTES = 28;
+
+  /** The length of a directory entry in bytes. */
+  static final int ENTRY_BYTES = 16;
+
+  private IndexSnapshot() {
+    // Disallow instances.
+  }
+
+  /**
+   * Writes a snapshot of the specified index atomically: it is written to a
+   * temporary file beside the target, forced to disk and then moved over
+   * the target, so readers see either the old snapshot or the new one.
+   *
+   * @param index The index to write.
+   * @param version The store version of the index, recorded in the header.
+   * @param path The file to write.
+   * @throws IOException If the file cannot be written.
+   */
+  public static void write(AttendeeCalendarIndex index, long version, Path path)
+      throws IOException {
+    AttendeeRegistry registry = AttendeeRegistry.getInstance();
+    int registered = registry.size();
+    int attendees = 0;
+    long intervalCount = 0;
+    long nameBytes = 0;
+    byte[][] names = new byte[registered][];
+    for (int id = 0; id < registered; id++) {
+      int[] busy = index.getBusyIntervals(id);
+      if (busy.length > 0) {
+        names[id] = registry.getName(id).getBytes(StandardCharsets.UTF_8);
+        attendees++;
+        intervalCount += busy.length / 2;
+        nameBytes += names[id].length;
+      }
+    }
+    int slots = Integer.highestOneBit(Math.max(2 * attendees - 1, 1)) << 1;
+    long size = HEADER_BYTES + 4L * slots + (long) ENTRY_BYTES * attendees
+        + 8 * intervalCount + nameBytes;
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("Index too large for a snapshot: " + size + " bytes");
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate((int) size);
+    buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(version)
+        .putInt(attendees).putInt(slots).putInt((int) intervalCount);
+    int tableStart = buffer.position();
+    int directoryStart = tableStart + 4 * slots;
+    int intervalsStart = directoryStart + ENTRY_BYTES * attendees;
+    int namesStart = intervalsStart + (int) (8 * intervalCount);
+
+    int snapshotId = 0;
+    int firstInterval = 0;
+    int nameOffset = 0;
+    for (int id = 0; id < registered; id++) {
+      if (names[id] == null) {
+        continue;
+      }
+      int[] busy = index.getBusyIntervals(id);
+      int slot = hash(names[id]) & (slots - 1);
+      while (buffer.getInt(tableStart + 4 * slot) != 0) {
+        slot = (slot + 1) & (slots - 1);
+      }
+      buffer.putInt(tableStart + 4 * slot, snapshotId + 1);
+
+      int entry = directoryStart + ENTRY_BYTES * snapshotId;
+      buffer.putInt(entry, nameOffset);
+      buffer.putInt(entry + 4, names[id].length);
+      buffer.putInt(entry + 8, firstInterval);
+      buffer.putInt(entry + 12, busy.length / 2);
+      for (int i = 0; i < busy.length; i++) {
+        buffer.putInt(intervalsStart + 4 * (2 * firstInterval + i), busy[i]);
+      }
+      buffer.position(namesStart + nameOffset);
+      buffer.put(names[id]);
+
+      snapshotId++;
+      firstInterval += busy.length / 2;
+      nameOffset += names[id].length;
+    }
+
+    Path temp = Files.createTempFile(path.toAbsolutePath().getParent(),
+        path.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        buffer.rewind();
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      try {
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Maps a snapshot for querying. The mapping stays valid after the file
+   * is replaced by a newer snapshot.
+   *
+   * @param path The snapshot file.
+   * @return An index reading the mapped file.
+   * @throws IOException If the file cannot be read or is not a snapshot.
+   */
+  public static MappedCalendarIndex open(Path path) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException(path + " is too large to be a snapshot");
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+      throw new IOException(path + " is not an index snapshot");
+    }
+    if (buffer.getInt(4) != FORMAT_VERSION) {
+      throw new IOException(path + " has unsupported format version " + buffer.getInt(4));
+    }
+    if (getSize(buffer) != buffer.capacity()) {
+      throw new IOException(path + " is truncated or corrupt");
+    }
+    return new MappedCalendarIndex(buffer);
+  }
+
+  /**
+   * Returns the length of the snapshot the header of the specified buffer
+   * describes, or -1 if the header is inconsistent.
+   */
+  private static long getSize(ByteBuffer buffer) {
+    int attendees = buffer.getInt(16);
+    int slots = buffer.getInt(20);
+    int intervalCount = buffer.getInt(24);
+    if (attendees < 0 || slots <= 0 || Integer.bitCount(slots) != 1 || slots <= attendees
+        || intervalCount < 0) {
+      return -1;
+    }
+    long directoryStart = HEADER_BYTES + 4L * slots;
+    long namesStart = directoryStart + (long) ENTRY_BYTES * attendees + 8L * intervalCount;
+    if (namesStart > buffer.capacity()) {
+      return -1;
+    }
+    if (attendees == 0) {
+      return namesStart;
+    }
+    int last = (int) (directoryStart + ENTRY_BYTES * (attendees - 1L));
+    return namesStart + buffer.getInt(last) + buffer.getInt(last + 4);
+  }
+
+  /**
+   * Returns the hash of a UTF-8 name that places it in the table: FNV-1a,
+   * so that it is fixed by the format rather than by the JDK.
+   */
+  static int hash(byte[] name) {
+    int hash = 0x811c9dc5;
+    for (byte b : name) {
+      hash = (hash ^ b) * 0x01000193;
+    }
+    return hash ^ (hash >>> 16);
+  }
+}
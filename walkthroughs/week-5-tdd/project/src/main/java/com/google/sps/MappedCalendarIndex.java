@@ -0,0 +1,203 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * MappedCalendarIndex.java
+ * 10/19/2026
+ *
+ * Answers meeting requests straight from a mapped index snapshot.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A read-only calendar index backed by a snapshot mapped into memory by
+ * {@link IndexSnapshot#open}. Nothing is deserialized when it is opened: a
+ * query looks its attendees' names up in the snapshot's hash table and
+ * reads their busy intervals in place, so the index is ready as soon as
+ * the file is mapped, and pages are loaded only as they are touched. It
+ * answers queries exactly as the {@link AttendeeCalendarIndex} it was
+ * written from. Instances are thread-safe.
+ */
+public final class MappedCalendarIndex {
+  /** The mapped snapshot, read only with absolute gets. */
+  private final ByteBuffer buffer;
+
+  /** The number of attendees in the snapshot. */
+  private final int attendees;
+
+  /** The number of hash table slots, a power of two. */
+  private final int slots;
+
+  private final int tableStart;
+  private final int directoryStart;
+  private final int intervalsStart;
+  private final int namesStart;
+
+  /**
+   * Creates an index reading the specified snapshot, whose layout has been
+   * checked by {@link IndexSnapshot#open}.
+   */
+  MappedCalendarIndex(ByteBuffer buffer) {
+    this.buffer = buffer;
+    this.attendees = buffer.getInt(16);
+    this.slots = buffer.getInt(20);
+    this.tableStart = IndexSnapshot.HEADER_BYTES;
+    this.directoryStart = tableStart + 4 * slots;
+    this.intervalsStart = directoryStart + IndexSnapshot.ENTRY_BYTES * attendees;
+    this.namesStart = intervalsStart + 8 * buffer.getInt(24);
+  }
+
+  /**
+   * Returns the store version recorded in the snapshot's header.
+   *
+   * @return The version of the store the snapshot was written from.
+   */
+  public long getVersion() {
+    return buffer.getLong(8);
+  }
+
+  /**
+   * Returns a list of open time slots for the specified meeting request.
+   * Optional attendees are considered first, and dropped if that leaves no
+   * open time slots for the mandatory attendees.
+   *
+   * @param request The meeting request.
+   * @return A list of open time slots for the specified request.
+   */
+  public Collection<TimeRange> query(MeetingRequest request) {
+    return query(request, new QueryScratch());
+  }
+
+  /**
+   * Returns a list of open time slots for the specified meeting request,
+   * using the specified working buffers.
+   *
+   * @param request The meeting request.
+   * @param scratch Working buffers not in use by any other thread.
+   * @return A list of open time slots for the specified request.
+   */
+  Collection<TimeRange> query(MeetingRequest request, QueryScratch scratch) {
+    AttendeeSet mandatorySet = request.getAttendeeSet();
+    AttendeeSet optionalSet = request.getOptionalAttendeeSet();
+    int[] mandatory = lookup(mandatorySet);
+    int[] optional = lookup(optionalSet);
+    Collection<TimeRange> openTimeSlots =
+        findOpenTimeSlots(mandatory, optional, request.getDuration(), scratch);
+    if (openTimeSlots.isEmpty() && !mandatorySet.isEmpty() && !optionalSet.isEmpty()) {
+      openTimeSlots = findOpenTimeSlots(mandatory, new int[0], request.getDuration(), scratch);
+    }
+    return openTimeSlots;
+  }
+
+  /**
+   * Returns the snapshot ids of the specified attendees that have busy
+   * intervals. Attendees are matched by name, as the interned ids of the
+   * run that wrote the snapshot may differ from this run's, and this run
+   * may not have interned them at all.
+   */
+  private int[] lookup(AttendeeSet attendees) {
+    AttendeeRegistry registry = AttendeeRegistry.getInstance();
+    List<String> names = new ArrayList<>(attendees.size());
+    for (int attendee : attendees.toIds()) {
+      names.add(registry.getName(attendee));
+    }
+    names.addAll(attendees.getUnknownNames());
+    int[] ids = new int[names.size()];
+    int count = 0;
+    for (String name : names) {
+      int id = lookup(name.getBytes(StandardCharsets.UTF_8));
+      if (id >= 0) {
+        ids[count++] = id;
+      }
+    }
+    return count == ids.length ? ids : Arrays.copyOf(ids, count);
+  }
+
+  /**
+   * Returns the snapshot id of the specified UTF-8 name, or -1 if it is not
+   * in the snapshot.
+   */
+  private int lookup(byte[] name) {
+    int slot = IndexSnapshot.hash(name) & (slots - 1);
+    while (true) {
+      int id = buffer.getInt(tableStart + 4 * slot) - 1;
+      if (id < 0) {
+        return -1;
+      }
+      int entry = directoryStart + IndexSnapshot.ENTRY_BYTES * id;
+      if (nameEquals(name, namesStart + buffer.getInt(entry), buffer.getInt(entry + 4))) {
+        return id;
+      }
+      slot = (slot + 1) & (slots - 1);
+    }
+  }
+
+  /**
+   * Returns whether the name equals the bytes at the specified position.
+   */
+  private boolean nameEquals(byte[] name, int position, int length) {
+    if (name.length != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (buffer.get(position + i) != name[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the gaps of at least the requested duration between the busy
+   * intervals of the specified attendees.
+   */
+  private Collection<TimeRange> findOpenTimeSlots(int[] mandatory, int[] optional,
+                                                  long duration, QueryScratch scratch) {
+    int count = 0;
+    for (int id : mandatory) {
+      count += buffer.getInt(directoryStart + IndexSnapshot.ENTRY_BYTES * id + 12);
+    }
+    for (int id : optional) {
+      count += buffer.getInt(directoryStart + IndexSnapshot.ENTRY_BYTES * id + 12);
+    }
+    long[] intervals = scratch.intervals(count);
+    count = append(intervals, 0, mandatory);
+    count = append(intervals, count, optional);
+    return AttendeeCalendarIndex.sweep(intervals, count, duration);
+  }
+
+  /**
+   * Appends the packed busy intervals of the specified attendees.
+   */
+  private int append(long[] intervals, int count, int[] ids) {
+    for (int id : ids) {
+      int entry = directoryStart + IndexSnapshot.ENTRY_BYTES * id;
+      int position = intervalsStart + 8 * buffer.getInt(entry + 8);
+      int end = position + 8 * buffer.getInt(entry + 12);
+      for (; position < end; position += 8) {
+        intervals[count++] = TimeRange.pack(buffer.getInt(position), buffer.getInt(position + 4));
+      }
+    }
+    return count;
+  }
+}
@@ -30,6 +30,17 @@ public final class MeetingRequest {
   // The duration of the meeting in minutes.
   private final long duration;
 
+  // The number of people a resource must hold to be booked for this meeting.
+  private int min_capacity;
+
+  // The features a resource must offer to be booked for this meeting.
+  private final Collection<String> required_features = new HashSet<>();
+
+  // Bitsets of the attendees, computed lazily since Gson bypasses the constructor. Names are looked
+  // up rather than interned, so that requests cannot grow the registry.
+  private transient AttendeeSet attendeeSet;
+  private transient AttendeeSet optionalAttendeeSet;
+
   public MeetingRequest(Collection<String> attendees, long duration) {
     this.duration = duration;
     this.attendees.addAll(attendees);
@@ -55,7 +66,66 @@ public final class MeetingRequest {
   public void addOptionalAttendee(String attendee) {
     if (!attendees.contains(attendee)) {
       optional_attendees.add(attendee);
+      optionalAttendeeSet = null;
+    }
+  }
+
+  /**
+   * Returns the number of people a resource must hold to be booked for this meeting.
+   */
+  public int getMinimumCapacity() {
+    return min_capacity;
+  }
+
+  /**
+   * Sets the number of people a resource must hold to be booked for this meeting.
+   */
+  public void setMinimumCapacity(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("capacity cannot be negative");
+    }
+    min_capacity = capacity;
+  }
+
+  /**
+   * Returns a read-only copy of the features a resource must offer to be booked for this meeting.
+   */
+  public Collection<String> getRequiredFeatures() {
+    // Requests deserialized by Gson from JSON without features leave the field null.
+    return required_features == null
+        ? Collections.emptySet()
+        : Collections.unmodifiableCollection(required_features);
+  }
+
+  /**
+   * Adds one feature a resource must offer to be booked for this meeting.
+   */
+  public void addRequiredFeature(String feature) {
+    required_features.add(feature);
+  }
+
+  /**
+   * Returns the people who are required to attend this meeting, with groups expanded to their
+   * members. People who were never interned have no events, and are kept by name.
+   */
+  AttendeeSet getAttendeeSet() {
+    if (attendeeSet == null) {
+      attendeeSet = AttendeeGroups.getInstance().expand(attendees, AttendeeRegistry.getInstance());
+    }
+    return attendeeSet;
+  }
+
+  /**
+   * Returns the people who are optional to attend this meeting, with groups expanded to their
+   * members. People who are also required through a group are left out.
+   */
+  AttendeeSet getOptionalAttendeeSet() {
+    if (optionalAttendeeSet == null) {
+      optionalAttendeeSet = AttendeeGroups.getInstance()
+          .expand(optional_attendees, AttendeeRegistry.getInstance())
+          .andNot(getAttendeeSet());
     }
+    return optionalAttendeeSet;
   }
 
   /**
@@ -0,0 +1,498 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * MultiDayIndex.java
+ * 10/19/2026
+ *
+ * Indexes events spanning many days so that meetings can be scheduled over
+ * a horizon of days or weeks.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import com.google.common.collect.AbstractIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable index of events whose time ranges are in epoch minutes,
+ * partitioned into one sparse {@link AttendeeBitmapIndex} per day, holding
+ * bitmaps only for the attendees with events that day. Events crossing
+ * midnight are split between the days they cover. A query over a horizon
+ * visits only the days within it, so its cost depends on the length of the
+ * horizon and the number of requested attendees but not on the number of
+ * events. Working hours recur every day. Recurring events are indexed by
+ * attendee as their rules rather than as their occurrences, which are
+ * generated only for the days a query loads, so they cost memory in the
+ * number of recurring events rather than in how often they occur. Each day
+ * also keeps its events, so that an index can be derived from another by
+ * indexing again only the days covered by the events added or removed.
+ * Instances are thread-safe.
+ */
+public final class MultiDayIndex {
+  /** The events of a day with none. */
+  private static final Event[] NO_EVENTS = new Event[0];
+
+  /** The recurring events of an attendee with none. */
+  private static final RecurringEvent[] NO_RECURRING_EVENTS = new RecurringEvent[0];
+
+  /** The bitmap index of each day with events, by epoch day. */
+  private final Map<Integer, AttendeeBitmapIndex> days;
+
+  /** The events covering each day with events, by epoch day. */
+  private final Map<Integer, Event[]> eventsByDay;
+
+  /** The bitmap index of a day without events. */
+  private final AttendeeBitmapIndex emptyDay;
+
+  /** The recurring events of each attendee, by attendee id. */
+  private final RecurringEvent[][] recurring;
+
+  /** The working hours of the attendees. */
+  private final AttendeeAvailability availability;
+
+  private MultiDayIndex(Map<Integer, AttendeeBitmapIndex> days, Map<Integer, Event[]> eventsByDay,
+                        AttendeeBitmapIndex emptyDay, RecurringEvent[][] recurring,
+                        AttendeeAvailability availability) {
+    this.days = days;
+    this.eventsByDay = eventsByDay;
+    this.emptyDay = emptyDay;
+    this.recurring = recurring;
+    this.availability = availability;
+  }
+
+  /**
+   * Builds an index of the specified events.
+   *
+   * @param events The events to index. Their time ranges are in epoch
+   *     minutes.
+   * @return The index of the events.
+   */
+  public static MultiDayIndex of(Collection<Event> events) {
+    return of(events, AttendeeAvailability.ALWAYS);
+  }
+
+  /**
+   * Builds an index of the specified events, treating attendees as busy
+   * outside of their working hours on every day.
+   *
+   * @param events The events to index. Their time ranges are in epoch
+   *     minutes.
+   * @param availability The working hours of the attendees.
+   * @return The index of the events.
+   */
+  public static MultiDayIndex of(Collection<Event> events, AttendeeAvailability availability) {
+    return of(events, Collections.emptyList(), availability);
+  }
+
+  /**
+   * Builds an index of the specified events and recurring events, treating
+   * attendees as busy outside of their working hours on every day.
+   *
+   * @param events The events to index. Their time ranges are in epoch
+   *     minutes.
+   * @param recurringEvents The recurring events to index. Their occurrences
+   *     are not expanded.
+   * @param availability The working hours of the attendees.
+   * @return The index of the events.
+   */
+  public static MultiDayIndex of(Collection<Event> events,
+                                 Collection<RecurringEvent> recurringEvents,
+                                 AttendeeAvailability availability) {
+    Map<Integer, AttendeeBitmapIndex> days = new HashMap<>();
+    Map<Integer, Event[]> eventsByDay = new HashMap<>();
+    for (Map.Entry<Integer, List<Event>> entry : groupByDay(events).entrySet()) {
+      int day = entry.getKey();
+      days.put(day, indexDay(new AttendeeBitmapIndex.Builder(availability, true), day,
+                             entry.getValue()));
+      eventsByDay.put(day, entry.getValue().toArray(NO_EVENTS));
+    }
+    return new MultiDayIndex(days, eventsByDay,
+        new AttendeeBitmapIndex.Builder(availability, true).build(),
+        indexRecurring(recurringEvents), availability);
+  }
+
+  /**
+   * Returns an index of the events of this index with some added and some
+   * removed. Only the days the changed events cover are indexed again: a day
+   * that only gains events has them ORed into a copy of its bitmaps, and a
+   * day that loses any is rebuilt from the events left.
+   *
+   * @param added The events to add.
+   * @param removed The events to remove. Each must have been added.
+   * @return The new index, sharing every other day with this one.
+   */
+  MultiDayIndex withEvents(Collection<Event> added, Collection<Event> removed) {
+    Map<Integer, List<Event>> addedByDay = groupByDay(added);
+    Map<Integer, List<Event>> removedByDay = groupByDay(removed);
+    if (addedByDay.isEmpty() && removedByDay.isEmpty()) {
+      return this;
+    }
+    Set<Integer> changed = new HashSet<>(addedByDay.keySet());
+    changed.addAll(removedByDay.keySet());
+
+    Map<Integer, AttendeeBitmapIndex> newDays = new HashMap<>(days);
+    Map<Integer, Event[]> newEventsByDay = new HashMap<>(eventsByDay);
+    for (int day : changed) {
+      List<Event> dayAdded = addedByDay.getOrDefault(day, Collections.emptyList());
+      List<Event> dayRemoved = removedByDay.getOrDefault(day, Collections.emptyList());
+      List<Event> dayEvents =
+          new ArrayList<>(Arrays.asList(eventsByDay.getOrDefault(day, NO_EVENTS)));
+      for (Event event : dayRemoved) {
+        dayEvents.remove(event);
+      }
+      dayEvents.addAll(dayAdded);
+      if (dayEvents.isEmpty()) {
+        newDays.remove(day);
+        newEventsByDay.remove(day);
+        continue;
+      }
+      AttendeeBitmapIndex index = days.get(day);
+      newDays.put(day, index != null && dayRemoved.isEmpty()
+          ? indexDay(new AttendeeBitmapIndex.Builder(index), day, dayAdded)
+          : indexDay(new AttendeeBitmapIndex.Builder(availability, true), day, dayEvents));
+      newEventsByDay.put(day, dayEvents.toArray(NO_EVENTS));
+    }
+    return new MultiDayIndex(newDays, newEventsByDay, emptyDay, recurring, availability);
+  }
+
+  /**
+   * Returns an index of the events of this index with some recurring events
+   * added and some removed, copying only the recurring events of their
+   * attendees.
+   *
+   * @param added The recurring events to add.
+   * @param removed The recurring events to remove. Each must have been
+   *     added.
+   * @return The new index, sharing every day with this one.
+   */
+  MultiDayIndex withRecurringEvents(Collection<RecurringEvent> added,
+                                    Collection<RecurringEvent> removed) {
+    if (added.isEmpty() && removed.isEmpty()) {
+      return this;
+    }
+    RecurringEvent[][] newRecurring = recurring.clone();
+    for (RecurringEvent event : removed) {
+      for (int id : event.getAttendeeSet().toIds()) {
+        List<RecurringEvent> events = new ArrayList<>(Arrays.asList(newRecurring[id]));
+        events.remove(event);
+        newRecurring[id] = events.toArray(NO_RECURRING_EVENTS);
+      }
+    }
+    for (RecurringEvent event : added) {
+      for (int id : event.getAttendeeSet().toIds()) {
+        if (id >= newRecurring.length) {
+          int length = newRecurring.length;
+          newRecurring = Arrays.copyOf(newRecurring, Math.max(id + 1, length * 2));
+          Arrays.fill(newRecurring, length, newRecurring.length, NO_RECURRING_EVENTS);
+        }
+        RecurringEvent[] events = Arrays.copyOf(newRecurring[id], newRecurring[id].length + 1);
+        events[events.length - 1] = event;
+        newRecurring[id] = events;
+      }
+    }
+    return new MultiDayIndex(days, eventsByDay, emptyDay, newRecurring, availability);
+  }
+
+  /**
+   * Groups events by the epoch days they cover.
+   */
+  private static Map<Integer, List<Event>> groupByDay(Collection<Event> events) {
+    Map<Integer, List<Event>> byDay = new HashMap<>();
+    for (Event event : events) {
+      int end = event.getWhen().end();
+      for (int day = getDay(event.getWhen().start()); day * TimeRange.MINUTES_PER_DAY < end;
+           day++) {
+        byDay.computeIfAbsent(day, key -> new ArrayList<>()).add(event);
+      }
+    }
+    return byDay;
+  }
+
+  /**
+   * Adds the minutes of a day covered by the specified events to a builder
+   * and returns the index of that day.
+   */
+  private static AttendeeBitmapIndex indexDay(AttendeeBitmapIndex.Builder builder, int day,
+                                              Collection<Event> events) {
+    int dayStart = day * TimeRange.MINUTES_PER_DAY;
+    for (Event event : events) {
+      builder.add(event.getAttendeeSet(), event.getWhen().start() - dayStart,
+                  event.getWhen().end() - dayStart);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Groups recurring events by attendee.
+   */
+  private static RecurringEvent[][] indexRecurring(Collection<RecurringEvent> recurringEvents) {
+    int[] counts = new int[0];
+    for (RecurringEvent event : recurringEvents) {
+      for (int id : event.getAttendeeSet().toIds()) {
+        if (id >= counts.length) {
+          counts = Arrays.copyOf(counts, Math.max(id + 1, counts.length * 2));
+        }
+        counts[id]++;
+      }
+    }
+    RecurringEvent[][] recurring = new RecurringEvent[counts.length][];
+    for (int id = 0; id < counts.length; id++) {
+      recurring[id] = counts[id] == 0 ? NO_RECURRING_EVENTS : new RecurringEvent[counts[id]];
+      counts[id] = 0;
+    }
+    for (RecurringEvent event : recurringEvents) {
+      for (int id : event.getAttendeeSet().toIds()) {
+        recurring[id][counts[id]++] = event;
+      }
+    }
+    return recurring;
+  }
+
+  /**
+   * Returns a list of open time slots for the specified meeting request
+   * within the specified horizon. Slots may cross midnight. Optional
+   * attendees are considered first, and dropped if that leaves no open time
+   * slots anywhere in the horizon for the mandatory attendees.
+   *
+   * @param request The meeting request.
+   * @param horizon The time range, in epoch minutes, to schedule within.
+   * @return A list of open time slots, in epoch minutes.
+   */
+  public Collection<TimeRange> query(MeetingRequest request, TimeRange horizon) {
+    Collection<TimeRange> openTimeSlots = new ArrayList<>();
+    iterator(request, horizon).forEachRemaining(openTimeSlots::add);
+    return openTimeSlots;
+  }
+
+  /**
+   * Returns the open time slots for the specified meeting request within the
+   * specified horizon lazily, in chronological order, as by
+   * {@link #query}. Days are scanned only as slots are pulled, so finding
+   * the first slot costs time in the number of days up to it rather than in
+   * the length of the horizon.
+   *
+   * @param request The meeting request.
+   * @param horizon The time range, in epoch minutes, to schedule within.
+   * @return An iterator over the open time slots, in epoch minutes.
+   */
+  public Iterator<TimeRange> iterator(MeetingRequest request, TimeRange horizon) {
+    return iterator(request, horizon, false);
+  }
+
+  /**
+   * Returns the earliest time within the specified horizon at which the
+   * specified meeting fits, scanning only the days up to the point at which
+   * a free run first reaches the requested duration.
+   *
+   * @param request The meeting request.
+   * @param horizon The time range, in epoch minutes, to schedule within.
+   * @return A range of the requested duration, in epoch minutes, starting at
+   *     the earliest open time slot, if there is one.
+   */
+  public Optional<TimeRange> firstFit(MeetingRequest request, TimeRange horizon) {
+    Iterator<TimeRange> fits = iterator(request, horizon, true);
+    return fits.hasNext() ? Optional.of(fits.next()) : Optional.empty();
+  }
+
+  /**
+   * Returns an iterator over the open time slots or, if firstFit is set, over
+   * ranges of the requested duration at the start of each slot.
+   */
+  private Iterator<TimeRange> iterator(MeetingRequest request, TimeRange horizon,
+                                       boolean firstFit) {
+    AttendeeSet mandatory = request.getAttendeeSet();
+    AttendeeSet optional = request.getOptionalAttendeeSet();
+    Iterator<TimeRange> withOptionals =
+        new SlotIterator(mandatory, optional, request, horizon, firstFit);
+    if (mandatory.isEmpty() || optional.isEmpty()) {
+      return withOptionals;
+    }
+    return new FallbackIterator<>(withOptionals,
+        () -> new SlotIterator(mandatory, AttendeeSet.EMPTY, request, horizon, firstFit));
+  }
+
+  /**
+   * Scans each day of a horizon for free runs, joining runs that meet at
+   * midnight. In first fit mode a run is yielded, cut to the requested
+   * duration, as soon as it is long enough, without scanning on for its end.
+   */
+  private final class SlotIterator extends AbstractIterator<TimeRange> {
+    private final AttendeeSet mandatory;
+    private final AttendeeSet optional;
+    private final long duration;
+    private final TimeRange horizon;
+    private final int lastDay;
+    private final boolean firstFit;
+
+    /** The busy minutes of the day being scanned. */
+    private final long[] busy = new long[AttendeeBitmapIndex.WORDS];
+
+    /** The day being scanned. */
+    private int day;
+
+    /** The minute of the day to scan from, or 0 if the day is not loaded. */
+    private int position;
+
+    /** Whether a free run continues from the previous day. */
+    private boolean running;
+
+    /** The start of the current free run, in epoch minutes. */
+    private int runStart;
+
+    SlotIterator(AttendeeSet mandatory, AttendeeSet optional, MeetingRequest request,
+                 TimeRange horizon, boolean firstFit) {
+      this.mandatory = mandatory;
+      this.optional = optional;
+      this.duration = request.getDuration();
+      this.horizon = horizon;
+      this.day = getDay(horizon.start());
+      this.lastDay = horizon.duration() > 0 ? getDay(horizon.end() - 1) : day - 1;
+      this.firstFit = firstFit;
+    }
+
+    @Override
+    protected TimeRange computeNext() {
+      while (day <= lastDay) {
+        int dayStart = day * TimeRange.MINUTES_PER_DAY;
+        if (position == 0) {
+          load(dayStart);
+        }
+        int start = AttendeeBitmapIndex.nextClearBit(busy, position);
+        if (position == 0 && running && start != 0) {
+          // The run from the previous day ends at midnight.
+          running = false;
+          position = start;
+          if (dayStart - runStart >= duration) {
+            return slot(runStart, dayStart);
+          }
+        }
+        if (start >= AttendeeBitmapIndex.MINUTES) {
+          day++;
+          position = 0;
+          continue;
+        }
+        int end = AttendeeBitmapIndex.nextSetBit(busy, start);
+        if (!running) {
+          runStart = dayStart + start;
+        }
+        if (end == AttendeeBitmapIndex.MINUTES) {
+          if (firstFit && dayStart + end - runStart >= duration) {
+            // The meeting fits wherever the run ends.
+            day++;
+            position = 0;
+            return slot(runStart, dayStart + end);
+          }
+          // The run may continue into the next day.
+          running = true;
+          day++;
+          position = 0;
+          continue;
+        }
+        running = false;
+        position = end;
+        if (dayStart + end - runStart >= duration) {
+          return slot(runStart, dayStart + end);
+        }
+      }
+      if (running) {
+        running = false;
+        int end = (lastDay + 1) * TimeRange.MINUTES_PER_DAY;
+        if (end - runStart >= duration) {
+          return slot(runStart, end);
+        }
+      }
+      return endOfData();
+    }
+
+    /**
+     * Returns the slot of a free run, cut to the requested duration in first
+     * fit mode.
+     */
+    private TimeRange slot(int start, int end) {
+      return firstFit
+          ? TimeRange.fromStartDuration(start, (int) duration)
+          : TimeRange.fromStartEnd(start, end, false);
+    }
+
+    /**
+     * Loads the busy minutes of the requested attendees on the current day.
+     */
+    private void load(int dayStart) {
+      Arrays.fill(busy, 0);
+      AttendeeBitmapIndex index = days.getOrDefault(day, emptyDay);
+      index.or(busy, mandatory);
+      index.or(busy, optional);
+      if (recurring.length > 0) {
+        TimeRange today = TimeRange.fromStartDuration(dayStart, TimeRange.MINUTES_PER_DAY);
+        addOccurrences(busy, mandatory, today);
+        addOccurrences(busy, optional, today);
+      }
+      // Minutes outside of the horizon are never free.
+      AttendeeBitmapIndex.setRange(busy, 0, 0, horizon.start() - dayStart);
+      AttendeeBitmapIndex.setRange(busy, 0, horizon.end() - dayStart, TimeRange.MINUTES_PER_DAY);
+      busy[AttendeeBitmapIndex.WORDS - 1] |= AttendeeBitmapIndex.PAST_END_OF_DAY;
+    }
+  }
+
+  /**
+   * Marks the minutes of the occurrences of the recurring events of the
+   * specified attendees within a day as busy.
+   */
+  private void addOccurrences(long[] busy, AttendeeSet attendees, TimeRange day) {
+    for (int id : attendees.toIds()) {
+      if (id >= recurring.length) {
+        break;
+      }
+      for (RecurringEvent event : recurring[id]) {
+        Iterator<TimeRange> occurrences = event.occurrences(day);
+        while (occurrences.hasNext()) {
+          TimeRange occurrence = occurrences.next();
+          AttendeeBitmapIndex.setRange(busy, 0,
+              Math.max(occurrence.start() - day.start(), 0),
+              Math.min(occurrence.end() - day.start(), TimeRange.MINUTES_PER_DAY));
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of words of bitmaps held by the index of each day.
+   */
+  long words() {
+    long words = emptyDay.words();
+    for (AttendeeBitmapIndex day : days.values()) {
+      words += day.words();
+    }
+    return words;
+  }
+
+  /**
+   * Returns the epoch day containing the specified epoch minute.
+   */
+  private static int getDay(int epochMinutes) {
+    return Math.floorDiv(epochMinutes, TimeRange.MINUTES_PER_DAY);
+  }
+}
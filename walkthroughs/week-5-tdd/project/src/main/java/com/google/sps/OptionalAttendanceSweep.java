@@ -0,0 +1,183 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * OptionalAttendanceSweep.java
+ * 10/19/2026
+ *
+ * Ranks meeting times by how many optional attendees can attend.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Finds meeting times for which all mandatory attendees are free, ranked by
+ * the number of optional attendees free for the whole meeting.
+ *
+ * <p>A window of the requested duration slides across the time the
+ * mandatory attendees are free. Moving a window to the left can only drop
+ * busy intervals from its right edge until its start reaches the end of a
+ * busy interval, so the best windows start either where the mandatory
+ * attendees become free or where an optional attendee does. At each such
+ * start, busy intervals entering the window from the right and leaving it on
+ * the left update a count of busy intervals per optional attendee. Every
+ * interval enters and leaves once, so after sorting the sweep is linear,
+ * and the whole query takes O(E log E) time in the number of busy
+ * intervals.
+ */
+final class OptionalAttendanceSweep {
+  private OptionalAttendanceSweep() {
+    // Disallow instances.
+  }
+
+  /**
+   * Returns the meeting times for the specified request, ranked by optional
+   * attendance.
+   *
+   * @param events A collection of preexisting events.
+   * @param request The meeting request.
+   * @param availability The working hours of the attendees.
+   * @return Slots of the requested duration, ordered by
+   *     {@link AttendanceSlot#ORDER_BY_ATTENDANCE}.
+   */
+  static List<AttendanceSlot> query(Collection<Event> events, MeetingRequest request,
+                                    AttendeeAvailability availability) {
+    AttendeeSet mandatory = request.getAttendeeSet();
+    int[] mandatoryIds = mandatory.toIds();
+    AttendeeSet optional = request.getOptionalAttendeeSet();
+    int[] optionalIds = optional.toIds();
+    long duration = request.getDuration();
+
+    // Packs the busy intervals of the mandatory attendees as start, end and
+    // those of each optional attendee as start or end, attendee index. Off
+    // hours are busy intervals like any other.
+    int offHourCount = 0;
+    for (int id : mandatoryIds) {
+      offHourCount += availability.getOffHours(id).length / 2;
+    }
+    long[] mandatoryBusy = new long[events.size() + offHourCount];
+    int mandatoryCount = 0;
+    for (int id : mandatoryIds) {
+      int[] offHours = availability.getOffHours(id);
+      for (int j = 0; j < offHours.length; j += 2) {
+        mandatoryBusy[mandatoryCount++] = pack(offHours[j], offHours[j + 1]);
+      }
+    }
+    List<int[]> optionalBusy = new ArrayList<>();
+    for (int i = 0; i < optionalIds.length; i++) {
+      int[] offHours = availability.getOffHours(optionalIds[i]);
+      for (int j = 0; j < offHours.length; j += 2) {
+        optionalBusy.add(new int[] {offHours[j], offHours[j + 1], i});
+      }
+    }
+    for (Event event : events) {
+      TimeRange when = event.getWhen();
+      if (when.duration() <= 0) {
+        continue;
+      }
+      AttendeeSet attendees = event.getAttendeeSet();
+      if (attendees.intersects(mandatory)) {
+        mandatoryBusy[mandatoryCount++] = pack(when.start(), when.end());
+      }
+      for (int i = 0; i < optionalIds.length; i++) {
+        if (attendees.contains(optionalIds[i])) {
+          optionalBusy.add(new int[] {when.start(), when.end(), i});
+        }
+      }
+    }
+
+    long[] byStart = new long[optionalBusy.size()];
+    long[] byEnd = new long[optionalBusy.size()];
+    for (int i = 0; i < byStart.length; i++) {
+      int[] interval = optionalBusy.get(i);
+      byStart[i] = pack(interval[0], interval[2]);
+      byEnd[i] = pack(interval[1], interval[2]);
+    }
+    Arrays.sort(byStart);
+    Arrays.sort(byEnd);
+    Arrays.sort(mandatoryBusy, 0, mandatoryCount);
+
+    int[] busyIntervals = new int[optionalIds.length];
+    int busyAttendees = 0;
+    int entering = 0;
+    int leaving = 0;
+    int candidate = 0;
+    List<AttendanceSlot> slots = new ArrayList<>();
+
+    // Visits each run of time for which the mandatory attendees are free.
+    int free = TimeRange.START_OF_DAY;
+    for (int i = 0; i <= mandatoryCount; i++) {
+      int runEnd = i < mandatoryCount ? high(mandatoryBusy[i]) : TimeRange.END_OF_DAY + 1;
+      int runStart = free;
+      if (i < mandatoryCount) {
+        free = Math.max(free, low(mandatoryBusy[i]));
+      }
+      if (runEnd - runStart < duration) {
+        continue;
+      }
+
+      int start = runStart;
+      while (start + duration <= runEnd) {
+        // Intervals starting before the end of the window enter it.
+        while (entering < byStart.length && high(byStart[entering]) < start + duration) {
+          if (busyIntervals[low(byStart[entering++])]++ == 0) {
+            busyAttendees++;
+          }
+        }
+        // Intervals ending at or before the start of the window leave it.
+        while (leaving < byEnd.length && high(byEnd[leaving]) <= start) {
+          if (--busyIntervals[low(byEnd[leaving++])] == 0) {
+            busyAttendees--;
+          }
+        }
+        slots.add(new AttendanceSlot(TimeRange.fromStartDuration(start, (int) duration),
+                                     optional.size() - busyAttendees));
+
+        // Moves to the next end of an optional busy interval.
+        while (candidate < byEnd.length && high(byEnd[candidate]) <= start) {
+          candidate++;
+        }
+        if (candidate == byEnd.length) {
+          break;
+        }
+        start = high(byEnd[candidate]);
+      }
+    }
+
+    slots.sort(AttendanceSlot.ORDER_BY_ATTENDANCE);
+    return slots;
+  }
+
+  /**
+   * Packs two non-negative ints into a long ordered by the first, then the
+   * second.
+   */
+  private static long pack(int high, int low) {
+    return ((long) high << 32) | low;
+  }
+
+  private static int high(long packed) {
+    return (int) (packed >>> 32);
+  }
+
+  private static int low(long packed) {
+    return (int) packed;
+  }
+}
@@ -0,0 +1,84 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * ParsedCalendar.java
+ * 10/19/2026
+ *
+ * The events parsed from all or part of a calendar export.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The one-off and recurring events parsed from a calendar export, each in
+ * the order of the export. Recurring events are kept as their rules rather
+ * than expanded into occurrences.
+ */
+public final class ParsedCalendar {
+  private final List<Event> events;
+  private final List<RecurringEvent> recurringEvents;
+
+  /**
+   * Creates an empty calendar.
+   */
+  ParsedCalendar() {
+    this(new ArrayList<>(), new ArrayList<>());
+  }
+
+  /**
+   * Creates a calendar of the specified events, which it takes ownership of.
+   *
+   * @param events The one-off events.
+   * @param recurringEvents The recurring events.
+   */
+  ParsedCalendar(List<Event> events, List<RecurringEvent> recurringEvents) {
+    this.events = events;
+    this.recurringEvents = recurringEvents;
+  }
+
+  /**
+   * Returns a read-only list of the one-off events.
+   */
+  public List<Event> getEvents() {
+    return Collections.unmodifiableList(events);
+  }
+
+  /**
+   * Returns a read-only list of the recurring events.
+   */
+  public List<RecurringEvent> getRecurringEvents() {
+    return Collections.unmodifiableList(recurringEvents);
+  }
+
+  /**
+   * Returns the number of one-off and recurring events.
+   */
+  public int size() {
+    return events.size() + recurringEvents.size();
+  }
+
+  /**
+   * Appends the events of another calendar to this one's.
+   */
+  void addAll(ParsedCalendar other) {
+    events.addAll(other.events);
+    recurringEvents.addAll(other.recurringEvents);
+  }
+}
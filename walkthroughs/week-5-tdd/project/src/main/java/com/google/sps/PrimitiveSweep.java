@@ -0,0 +1,310 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * PrimitiveSweep.java
+ * 10/19/2026
+ *
+ * Finds the open time slots for a meeting request by sweeping over event
+ * boundaries packed into primitive longs.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import com.google.common.collect.AbstractIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * The primitive sweep engine of {@link FindMeetingQuery}. Each event boundary
+ * is packed into a single {@code long} whose natural ordering matches the
+ * chronological ordering of boxed time marks (by time, then ends before
+ * starts, then mandatory before optional), so the marks can be sorted with
+ * {@link Arrays#sort(long[], int, int)} and swept without boxing. The off
+ * hours of the requested attendees are added as marks of their own, so they
+ * are swept along with the events. The mark buffer is reused between
+ * queries, so instances are not thread-safe.
+ */
+final class PrimitiveSweep {
+  /** The bit set in a packed mark if the mark is optional. */
+  private static final long OPTIONAL_BIT = 1;
+
+  /** The bit set in a packed mark if the mark is a start. */
+  private static final long START_BIT = 2;
+
+  /** The number of low bits holding flags rather than the time. */
+  private static final int TIME_SHIFT = 2;
+
+  /** The working hours of the attendees. */
+  private final AttendeeAvailability availability;
+
+  /** The packed marks of the current query; grown as needed. */
+  private long[] marks = new long[64];
+
+  PrimitiveSweep(AttendeeAvailability availability) {
+    this.availability = availability;
+  }
+
+  /**
+   * Returns a list of open time slots for the specified meeting request.
+   *
+   * @param events A collection of preexisting events.
+   * @param request The meeting request.
+   * @return A list of open time slots for the specified request.
+   */
+  Collection<TimeRange> query(Collection<Event> events, MeetingRequest request) {
+    int count = 0;
+    for (Event event : events) {
+      FindMeetingQuery.Relevance relevance = FindMeetingQuery.getAttendeeRelevance(event, request);
+      if (relevance == FindMeetingQuery.Relevance.NONE) {
+        continue;
+      }
+      if (count + 3 > marks.length) {
+        marks = Arrays.copyOf(marks, marks.length * 2);
+      }
+      boolean isOptional = relevance == FindMeetingQuery.Relevance.OPTIONAL;
+      marks[count++] = pack(event.getWhen().start(), true, isOptional);
+      marks[count++] = pack(event.getWhen().end(), false, isOptional);
+    }
+    int needed = count + countOffHourMarks(request, availability) + 1;
+    if (needed > marks.length) {
+      marks = Arrays.copyOf(marks, Math.max(needed, marks.length * 2));
+    }
+    count = appendOffHours(marks, count, request, availability, true);
+    // Closes the gap running to the end of the day.
+    marks[count++] = pack(TimeRange.END_OF_DAY + 1, true, false);
+    Arrays.sort(marks, 0, count);
+
+    Collection<TimeRange> openTimeSlots = sweep(count, true, request.getDuration());
+    if (openTimeSlots.isEmpty()) {
+      openTimeSlots = sweep(count, false, request.getDuration());
+    }
+    return openTimeSlots;
+  }
+
+  /**
+   * Returns the open time slots for the specified meeting request lazily, in
+   * chronological order. Rather than sorting every mark up front, the marks
+   * are heapified in linear time and popped only as slots are pulled, so the
+   * first slot costs O(E + k log E) for the k marks before it. Iterators own
+   * their marks and may be used alongside other queries.
+   *
+   * @param events A collection of preexisting events.
+   * @param request The meeting request.
+   * @param availability The working hours of the attendees.
+   * @return An iterator over the open time slots for the specified request.
+   */
+  static Iterator<TimeRange> iterator(Collection<Event> events, MeetingRequest request,
+                                      AttendeeAvailability availability) {
+    LazySweep withOptionals = new LazySweep(events, request, availability, true);
+    if (!withOptionals.hasOptionalMarks) {
+      return withOptionals;
+    }
+    return new FallbackIterator<>(withOptionals,
+        () -> new LazySweep(events, request, availability, false));
+  }
+
+  /**
+   * Sweeps over the sorted marks, collecting every gap between busy periods
+   * at least as long as the requested duration.
+   *
+   * @param count The number of marks.
+   * @param consideringOptionals Whether optional marks count as busy.
+   * @param duration The requested meeting duration.
+   * @return The open time slots.
+   */
+  private Collection<TimeRange> sweep(int count, boolean consideringOptionals, long duration) {
+    Collection<TimeRange> openTimeSlots = new ArrayList<>();
+    int start = TimeRange.START_OF_DAY;
+    int eventsOverlapping = 0;
+    for (int i = 0; i < count; i++) {
+      long mark = marks[i];
+      if (!consideringOptionals && (mark & OPTIONAL_BIT) != 0) {
+        continue;
+      }
+      int time = (int) (mark >> TIME_SHIFT);
+      if ((mark & START_BIT) == 0) {
+        eventsOverlapping--;
+        if (eventsOverlapping == 0) {
+          start = time;
+        }
+      } else {
+        if (eventsOverlapping == 0 && time - start >= duration) {
+          openTimeSlots.add(TimeRange.fromStartEnd(start, time, false));
+        }
+        eventsOverlapping++;
+      }
+    }
+    return openTimeSlots;
+  }
+
+  /**
+   * Packs a time mark into a long ordered by time, then ends before starts,
+   * then mandatory before optional.
+   */
+  private static long pack(int time, boolean isStart, boolean isOptional) {
+    return ((long) time << TIME_SHIFT) | (isStart ? START_BIT : 0) | (isOptional ? OPTIONAL_BIT : 0);
+  }
+
+  /**
+   * Returns the number of marks for the off hours of the requested
+   * attendees.
+   */
+  private static int countOffHourMarks(MeetingRequest request,
+                                       AttendeeAvailability availability) {
+    int count = 0;
+    for (int id : request.getAttendeeSet().toIds()) {
+      count += availability.getOffHours(id).length;
+    }
+    for (int id : request.getOptionalAttendeeSet().toIds()) {
+      count += availability.getOffHours(id).length;
+    }
+    return count;
+  }
+
+  /**
+   * Appends marks for the off hours of the requested attendees. As for
+   * events, the off hours of optional attendees are mandatory if no
+   * attendee is.
+   *
+   * @param consideringOptionals Whether to append the off hours of optional
+   *     attendees.
+   * @return The number of marks.
+   */
+  private static int appendOffHours(long[] marks, int count, MeetingRequest request,
+                                    AttendeeAvailability availability,
+                                    boolean consideringOptionals) {
+    AttendeeSet mandatory = request.getAttendeeSet();
+    count = appendOffHours(marks, count, mandatory, availability, false);
+    if (consideringOptionals) {
+      count = appendOffHours(marks, count, request.getOptionalAttendeeSet(), availability,
+          !mandatory.isEmpty());
+    }
+    return count;
+  }
+
+  private static int appendOffHours(long[] marks, int count, AttendeeSet attendees,
+                                    AttendeeAvailability availability, boolean isOptional) {
+    for (int id : attendees.toIds()) {
+      int[] offHours = availability.getOffHours(id);
+      for (int i = 0; i < offHours.length; i += 2) {
+        marks[count++] = pack(offHours[i], true, isOptional);
+        marks[count++] = pack(offHours[i + 1], false, isOptional);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Sweeps over marks popped one at a time from a binary min-heap.
+   */
+  private static final class LazySweep extends AbstractIterator<TimeRange> {
+    /** The unpopped marks, as a binary min-heap in heap[0..size). */
+    private final long[] heap;
+    private int size;
+
+    /** Whether any event was relevant only to optional attendees. */
+    private boolean hasOptionalMarks;
+
+    /** The requested meeting duration. */
+    private final long duration;
+
+    /** The start of the current gap. */
+    private int start = TimeRange.START_OF_DAY;
+
+    /** The number of events overlapping the current mark. */
+    private int eventsOverlapping;
+
+    LazySweep(Collection<Event> events, MeetingRequest request,
+              AttendeeAvailability availability, boolean consideringOptionals) {
+      long[] marks = new long[2 * events.size() + countOffHourMarks(request, availability) + 1];
+      int count = 0;
+      for (Event event : events) {
+        FindMeetingQuery.Relevance relevance =
+            FindMeetingQuery.getAttendeeRelevance(event, request);
+        if (relevance == FindMeetingQuery.Relevance.OPTIONAL) {
+          hasOptionalMarks = true;
+        }
+        if (relevance == FindMeetingQuery.Relevance.NONE
+            || (relevance == FindMeetingQuery.Relevance.OPTIONAL && !consideringOptionals)) {
+          continue;
+        }
+        marks[count++] = pack(event.getWhen().start(), true, false);
+        marks[count++] = pack(event.getWhen().end(), false, false);
+      }
+      if (!request.getAttendeeSet().isEmpty()) {
+        for (int id : request.getOptionalAttendeeSet().toIds()) {
+          hasOptionalMarks |= availability.getOffHours(id).length > 0;
+        }
+      }
+      count = appendOffHours(marks, count, request, availability, consideringOptionals);
+      // Closes the gap running to the end of the day.
+      marks[count++] = pack(TimeRange.END_OF_DAY + 1, true, false);
+
+      heap = marks;
+      size = count;
+      duration = request.getDuration();
+      for (int i = size / 2 - 1; i >= 0; i--) {
+        siftDown(i);
+      }
+    }
+
+    @Override
+    protected TimeRange computeNext() {
+      while (size > 0) {
+        long mark = heap[0];
+        heap[0] = heap[--size];
+        siftDown(0);
+
+        int time = (int) (mark >> TIME_SHIFT);
+        if ((mark & START_BIT) == 0) {
+          eventsOverlapping--;
+          if (eventsOverlapping == 0) {
+            start = time;
+          }
+        } else {
+          boolean open = eventsOverlapping == 0 && time - start >= duration;
+          eventsOverlapping++;
+          if (open) {
+            return TimeRange.fromStartEnd(start, time, false);
+          }
+        }
+      }
+      return endOfData();
+    }
+
+    /**
+     * Moves the mark at the specified index down the heap until it is no
+     * greater than its children.
+     */
+    private void siftDown(int i) {
+      long mark = heap[i];
+      int child;
+      while ((child = 2 * i + 1) < size) {
+        if (child + 1 < size && heap[child + 1] < heap[child]) {
+          child++;
+        }
+        if (mark <= heap[child]) {
+          break;
+        }
+        heap[i] = heap[child];
+        i = child;
+      }
+      heap[i] = mark;
+    }
+  }
+}
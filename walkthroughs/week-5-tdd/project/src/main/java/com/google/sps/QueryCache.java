@@ -0,0 +1,241 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * QueryCache.java
+ * 10/19/2026
+ *
+ * Caches the open time slots of repeated meeting requests.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A size-bounded, least recently used cache of the open time slots of
+ * meeting requests, keyed by the normalized request: its sorted mandatory
+ * and optional attendee ids and its duration.
+ *
+ * <p>Each entry records the store version its slots were computed at.
+ * Rather than keying entries by version, which would discard every entry on
+ * any write, the cache remembers the version at which each attendee's
+ * calendar last changed. A change evicts only the entries mentioning a
+ * changed attendee, and slots computed at a version older than one of their
+ * attendees' changes are never added. So that the versions of changes do
+ * not pile up for the life of the store, once more attendees have changed
+ * than the cache holds entries, the versions are forgotten and replaced by
+ * the latest of them as a floor below which no slots are added. Only slots
+ * computed while the versions were being forgotten are turned away for it.
+ * Instances are thread-safe.
+ */
+final class QueryCache {
+  /**
+   * A normalized meeting request.
+   */
+  private static final class Key {
+    private final AttendeeSet mandatory;
+    private final AttendeeSet optional;
+    private final long duration;
+
+    private Key(MeetingRequest request) {
+      mandatory = request.getAttendeeSet();
+      optional = request.getOptionalAttendeeSet();
+      duration = request.getDuration();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Key
+          && mandatory.equals(((Key) other).mandatory)
+          && optional.equals(((Key) other).optional)
+          && duration == ((Key) other).duration;
+    }
+
+    @Override
+    public int hashCode() {
+      return (mandatory.hashCode() * 31 + optional.hashCode()) * 31 + Long.hashCode(duration);
+    }
+  }
+
+  /** The maximum number of entries. */
+  private final int capacity;
+
+  /** The cached slots, least recently used first. Guarded by this. */
+  private final LinkedHashMap<Key, List<TimeRange>> entries;
+
+  /** The keys mentioning each attendee, by attendee id. Guarded by this. */
+  private final Map<Integer, Set<Key>> keysByAttendee = new HashMap<>();
+
+  /**
+   * The version at which each attendee last changed, for changes since
+   * floor. Guarded by this.
+   */
+  private final Map<Integer, Long> changedAt = new HashMap<>();
+
+  /**
+   * The latest version of the changes no longer in changedAt. Slots computed
+   * at an older version are never added. Guarded by this.
+   */
+  private long floor;
+
+  /** The number of lookups that found an entry. Guarded by this. */
+  private long hits;
+
+  /** The number of lookups that found no entry. Guarded by this. */
+  private long misses;
+
+  /**
+   * Creates a cache.
+   *
+   * @param capacity The maximum number of entries.
+   */
+  QueryCache(int capacity) {
+    this.capacity = capacity;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Returns the cached slots of the specified request.
+   *
+   * @param request The meeting request.
+   * @return The read-only slots, or null if none are cached.
+   */
+  synchronized List<TimeRange> get(MeetingRequest request) {
+    List<TimeRange> slots = entries.get(new Key(request));
+    if (slots == null) {
+      misses++;
+    } else {
+      hits++;
+    }
+    return slots;
+  }
+
+  /**
+   * Caches the slots of the specified request, unless an attendee of the
+   * request has changed since they were computed.
+   *
+   * @param request The meeting request.
+   * @param slots The read-only slots of the request.
+   * @param version The store version the slots were computed at.
+   */
+  synchronized void put(MeetingRequest request, List<TimeRange> slots, long version) {
+    if (version < floor) {
+      return;
+    }
+    Key key = new Key(request);
+    int[] ids = attendeeIds(key);
+    for (int id : ids) {
+      Long changed = changedAt.get(id);
+      if (changed != null && changed > version) {
+        return;
+      }
+    }
+    if (entries.put(key, slots) == null) {
+      for (int id : ids) {
+        keysByAttendee.computeIfAbsent(id, unused -> new HashSet<>()).add(key);
+      }
+    }
+    if (entries.size() > capacity) {
+      Key eldest = entries.keySet().iterator().next();
+      remove(eldest);
+    }
+  }
+
+  /**
+   * Evicts the entries mentioning any of the specified attendees.
+   *
+   * @param attendees The attendees whose calendars changed.
+   * @param version The store version of the change.
+   */
+  synchronized void invalidate(AttendeeSet attendees, long version) {
+    for (int id : attendees.toIds()) {
+      changedAt.put(id, version);
+      Set<Key> keys = keysByAttendee.get(id);
+      if (keys != null) {
+        for (Key key : new ArrayList<>(keys)) {
+          remove(key);
+        }
+      }
+    }
+    if (changedAt.size() > capacity) {
+      floor = Math.max(floor, version);
+      changedAt.clear();
+    }
+  }
+
+  /**
+   * Returns the number of cached entries.
+   */
+  synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the number of attendees whose latest change is remembered.
+   */
+  synchronized int trackedChangeCount() {
+    return changedAt.size();
+  }
+
+  /**
+   * Returns the number of lookups that found an entry.
+   */
+  synchronized long getHitCount() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of lookups that found no entry.
+   */
+  synchronized long getMissCount() {
+    return misses;
+  }
+
+  /**
+   * Removes an entry and its attendees' references to it.
+   */
+  private void remove(Key key) {
+    entries.remove(key);
+    for (int id : attendeeIds(key)) {
+      Set<Key> keys = keysByAttendee.get(id);
+      if (keys != null) {
+        keys.remove(key);
+        if (keys.isEmpty()) {
+          keysByAttendee.remove(id);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the mandatory and optional attendee ids of a key.
+   */
+  private static int[] attendeeIds(Key key) {
+    int[] mandatory = key.mandatory.toIds();
+    int[] optional = key.optional.toIds();
+    int[] ids = new int[mandatory.length + optional.length];
+    System.arraycopy(mandatory, 0, ids, 0, mandatory.length);
+    System.arraycopy(optional, 0, ids, mandatory.length, optional.length);
+    return ids;
+  }
+}
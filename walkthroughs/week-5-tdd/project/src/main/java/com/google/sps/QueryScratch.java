@@ -0,0 +1,57 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * QueryScratch.java
+ * 10/19/2026
+ *
+ * Working buffers reused between queries of a shared index.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+/**
+ * The working buffers of queries against an {@link AttendeeCalendarIndex},
+ * {@link AttendeeBitmapIndex} or {@link ResourceIndex}. The indexes are
+ * read-only and may be shared between threads, but each thread must use its
+ * own scratch.
+ */
+final class QueryScratch {
+  /**
+   * The packed busy intervals gathered by a calendar index query. Grown on
+   * first use, so bitmap queries never allocate it.
+   */
+  private long[] intervals = new long[0];
+
+  /** The busy minutes of all requested attendees. */
+  final long[] busy = new long[AttendeeBitmapIndex.WORDS];
+
+  /** The busy minutes of the mandatory attendees. */
+  final long[] mandatoryBusy = new long[AttendeeBitmapIndex.WORDS];
+
+  /** The busy minutes of the attendees and of a candidate resource. */
+  final long[] resourceBusy = new long[AttendeeBitmapIndex.WORDS];
+
+  /**
+   * Returns a buffer of at least the specified length for packed busy
+   * intervals. Its contents are unspecified.
+   */
+  long[] intervals(int length) {
+    if (intervals.length < length) {
+      intervals = new long[Math.max(length, Math.max(64, intervals.length * 2))];
+    }
+    return intervals;
+  }
+}
@@ -0,0 +1,382 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+/**
+ * Recurrence.java
+ * 10/19/2026
+ *
+ * A rule, in the style of an iCalendar RRULE, by which an event repeats.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import com.google.common.collect.AbstractIterator;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * The rule by which a {@link RecurringEvent} repeats: every so many days,
+ * or every so many weeks on chosen days of the week, optionally for a
+ * number of occurrences or until a time. Occurrences keep the time of day
+ * and duration of the first, and are generated on demand within a window,
+ * jumping straight to the first period that can reach it, so their cost
+ * depends on the length of the window rather than on how long the event
+ * has been repeating. Weeks start on Monday. Rules are considered
+ * read-only.
+ */
+public final class Recurrence {
+  /** How often a rule repeats. */
+  public enum Frequency {
+    DAILY,
+    WEEKLY
+  }
+
+  /** The minutes in a week. */
+  private static final int MINUTES_PER_WEEK = 7 * TimeRange.MINUTES_PER_DAY;
+
+  /** The format of an UNTIL time in UTC. */
+  private static final DateTimeFormatter UNTIL_DATE_TIME =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+  /** The format of an UNTIL date. */
+  private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+  private final Frequency frequency;
+  private final int interval;
+  private final Set<DayOfWeek> days;
+  private final int count;
+  private final int until;
+
+  private Recurrence(Frequency frequency, int interval, Set<DayOfWeek> days, int count,
+                     int until) {
+    if (interval <= 0) {
+      throw new IllegalArgumentException("interval must be positive");
+    }
+    if (count <= 0) {
+      throw new IllegalArgumentException("count must be positive");
+    }
+    this.frequency = frequency;
+    this.interval = interval;
+    this.days = Collections.unmodifiableSet(days);
+    this.count = count;
+    this.until = until;
+  }
+
+  /**
+   * Returns a rule repeating every so many days, forever.
+   *
+   * @param interval The number of days between occurrences. Must be positive.
+   * @return The rule.
+   */
+  public static Recurrence daily(int interval) {
+    return new Recurrence(Frequency.DAILY, interval, EnumSet.noneOf(DayOfWeek.class),
+        Integer.MAX_VALUE, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns a rule repeating every so many weeks, forever.
+   *
+   * @param interval The number of weeks between occurrences. Must be positive.
+   * @param days The days of the week on which the event occurs, or none for
+   *     the day of the week of the first occurrence.
+   * @return The rule.
+   */
+  public static Recurrence weekly(int interval, DayOfWeek... days) {
+    Set<DayOfWeek> set = EnumSet.noneOf(DayOfWeek.class);
+    set.addAll(Arrays.asList(days));
+    return new Recurrence(Frequency.WEEKLY, interval, set, Integer.MAX_VALUE, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns this rule limited to the specified number of occurrences,
+   * counting the first.
+   *
+   * @param count The number of occurrences. Must be positive.
+   * @return The limited rule.
+   */
+  public Recurrence withCount(int count) {
+    return new Recurrence(frequency, interval, days, count, until);
+  }
+
+  /**
+   * Returns this rule limited to occurrences starting at or before the
+   * specified time.
+   *
+   * @param until The latest start of an occurrence, in epoch minutes.
+   * @return The limited rule.
+   */
+  public Recurrence until(int until) {
+    return new Recurrence(frequency, interval, days, count, until);
+  }
+
+  /**
+   * Parses the value of an iCalendar RRULE, such as
+   * "FREQ=WEEKLY;BYDAY=MO,WE,FR;COUNT=30". FREQ, INTERVAL, BYDAY (plain
+   * days only), COUNT and UNTIL (a UTC time or a date) are supported.
+   *
+   * @param rule The value of the rule.
+   * @return The rule.
+   * @throws IllegalArgumentException If the rule is malformed or unsupported.
+   */
+  public static Recurrence parse(String rule) {
+    Frequency frequency = null;
+    int interval = 1;
+    Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    int count = Integer.MAX_VALUE;
+    int until = Integer.MAX_VALUE;
+    try {
+      for (String part : rule.split(";")) {
+        int equals = part.indexOf('=');
+        if (equals < 0) {
+          throw new IllegalArgumentException("Malformed rule part \"" + part + "\"");
+        }
+        String value = part.substring(equals + 1);
+        switch (part.substring(0, equals)) {
+          case "FREQ":
+            frequency = parseFrequency(value);
+            break;
+          case "INTERVAL":
+            interval = Integer.parseInt(value);
+            break;
+          case "COUNT":
+            count = Integer.parseInt(value);
+            break;
+          case "UNTIL":
+            until = parseUntil(value);
+            break;
+          case "BYDAY":
+            for (String day : value.split(",")) {
+              days.add(parseDay(day));
+            }
+            break;
+          case "WKST":
+            if (!value.equals("MO")) {
+              throw new IllegalArgumentException("Unsupported week start " + value);
+            }
+            break;
+          default:
+            throw new IllegalArgumentException("Unsupported rule part \"" + part + "\"");
+        }
+      }
+    } catch (NumberFormatException | DateTimeException e) {
+      throw new IllegalArgumentException("Malformed rule \"" + rule + "\"", e);
+    }
+    if (frequency == null) {
+      throw new IllegalArgumentException("Rule has no FREQ: \"" + rule + "\"");
+    }
+    if (frequency == Frequency.DAILY && !days.isEmpty()) {
+      throw new IllegalArgumentException("BYDAY is only supported weekly: \"" + rule + "\"");
+    }
+    return new Recurrence(frequency, interval, days, count, until);
+  }
+
+  /**
+   * Returns how often this rule repeats.
+   */
+  public Frequency getFrequency() {
+    return frequency;
+  }
+
+  /**
+   * Returns the number of days or weeks between occurrences.
+   */
+  public int getInterval() {
+    return interval;
+  }
+
+  /**
+   * Returns a read-only set of the days of the week on which a weekly rule
+   * occurs, or an empty set for the day of the week of the first occurrence.
+   */
+  public Set<DayOfWeek> getDays() {
+    return days;
+  }
+
+  /**
+   * Returns the number of occurrences, or {@link Integer#MAX_VALUE} if
+   * unlimited.
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the latest start of an occurrence in epoch minutes, or
+   * {@link Integer#MAX_VALUE} if unlimited.
+   */
+  public int getUntil() {
+    return until;
+  }
+
+  /**
+   * Returns the occurrences of an event repeating by this rule that overlap
+   * a window, in chronological order.
+   *
+   * @param first The first occurrence of the event, in epoch minutes. A
+   *     weekly rule skips it unless it falls on one of the rule's days.
+   * @param window The window, in epoch minutes.
+   * @return An iterator over the overlapping occurrences, generated lazily.
+   */
+  Iterator<TimeRange> occurrences(TimeRange first, TimeRange window) {
+    return new OccurrenceIterator(first, window);
+  }
+
+  /**
+   * Walks the periods of a rule from the first that can reach the window.
+   * A period is the days, or the week starting on Monday, of one repetition;
+   * each holds the same offsets, in days from its start, on which the event
+   * occurs.
+   */
+  private final class OccurrenceIterator extends AbstractIterator<TimeRange> {
+    private final int duration;
+    private final TimeRange window;
+
+    /** The start of the first period, in epoch minutes. */
+    private final long periodStart;
+
+    /** The length of a period in minutes. */
+    private final long periodLength;
+
+    /** The start of each occurrence in a period, in minutes from its start. */
+    private final long[] offsets;
+
+    /** The number of offsets of the first period before the first occurrence. */
+    private final int skipped;
+
+    /** The start of the first occurrence, in epoch minutes. */
+    private final int firstStart;
+
+    private long period;
+    private int offset;
+
+    OccurrenceIterator(TimeRange first, TimeRange window) {
+      this.duration = first.duration();
+      this.window = window;
+      this.firstStart = first.start();
+      int timeOfDay = Math.floorMod(firstStart, TimeRange.MINUTES_PER_DAY);
+      long firstDay = Math.floorDiv(firstStart, TimeRange.MINUTES_PER_DAY);
+      if (frequency == Frequency.DAILY) {
+        periodStart = firstDay * TimeRange.MINUTES_PER_DAY;
+        periodLength = (long) interval * TimeRange.MINUTES_PER_DAY;
+        offsets = new long[] {timeOfDay};
+      } else {
+        // Epoch day 0 was a Thursday, so Mondays fall 4 days after a multiple of 7.
+        long monday = Math.floorDiv(firstDay - 4, 7) * 7 + 4;
+        periodStart = monday * TimeRange.MINUTES_PER_DAY;
+        periodLength = (long) interval * MINUTES_PER_WEEK;
+        Set<DayOfWeek> occurring = days.isEmpty()
+            ? EnumSet.of(DayOfWeek.of((int) (firstDay - monday) + 1)) : days;
+        offsets = new long[occurring.size()];
+        int i = 0;
+        for (DayOfWeek day : occurring) {
+          offsets[i++] = (day.getValue() - 1L) * TimeRange.MINUTES_PER_DAY + timeOfDay;
+        }
+      }
+      int skip = 0;
+      while (skip < offsets.length && periodStart + offsets[skip] < firstStart) {
+        skip++;
+      }
+      this.skipped = skip;
+
+      // Jumps to the first period with an occurrence that may end in the window.
+      long reach = (long) window.start() - duration - periodStart;
+      period = Math.max(0, Math.floorDiv(reach, periodLength));
+      offset = period == 0 ? skipped : 0;
+    }
+
+    @Override
+    protected TimeRange computeNext() {
+      while (true) {
+        if (offset == offsets.length) {
+          period++;
+          offset = 0;
+        }
+        long index = period * offsets.length + offset - skipped;
+        long start = periodStart + period * periodLength + offsets[offset];
+        if (index >= count || start > until || start >= window.end()
+            || start + duration > Integer.MAX_VALUE) {
+          return endOfData();
+        }
+        offset++;
+        if (start + duration > window.start()) {
+          return TimeRange.fromStartDuration((int) start, duration);
+        }
+      }
+    }
+  }
+
+  /**
+   * Parses an UNTIL value, a UTC time or a date, into the latest start of
+   * an occurrence.
+   */
+  private static int parseUntil(String value) {
+    if (value.length() == 8) {
+      LocalDate date = LocalDate.parse(value, UNTIL_DATE);
+      return Math.toIntExact((date.toEpochDay() + 1) * TimeRange.MINUTES_PER_DAY - 1);
+    }
+    LocalDateTime time = LocalDateTime.parse(value, UNTIL_DATE_TIME);
+    return Math.toIntExact(time.toEpochSecond(ZoneOffset.UTC) / 60);
+  }
+
+  /**
+   * Parses a FREQ value.
+   */
+  private static Frequency parseFrequency(String value) {
+    for (Frequency frequency : Frequency.values()) {
+      if (frequency.name().equals(value)) {
+        return frequency;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported frequency " + value);
+  }
+
+  /**
+   * Parses a two-letter BYDAY day, such as "MO".
+   */
+  private static DayOfWeek parseDay(String day) {
+    for (DayOfWeek candidate : DayOfWeek.values()) {
+      if (day.length() == 2 && candidate.name().startsWith(day)) {
+        return candidate;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported BYDAY day \"" + day + "\"");
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof Recurrence
+        && frequency == ((Recurrence) other).frequency
+        && interval == ((Recurrence) other).interval
+        && days.equals(((Recurrence) other).days)
+        && count == ((Recurrence) other).count
+        && until == ((Recurrence) other).until;
+  }
+
+  @Override
+  public int hashCode() {
+    return (((frequency.hashCode() * 31 + interval) * 31 + days.hashCode()) * 31 + count) * 31
+        + until;
+  }
+}
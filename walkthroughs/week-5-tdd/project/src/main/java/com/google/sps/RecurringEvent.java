@@ -0,0 +1,145 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+/**
+ * RecurringEvent.java
+ * 10/19/2026
+ *
+ * An event that repeats by a rule, stored once however often it occurs.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * A group of people meeting repeatedly, such as a daily standup. Only the
+ * first occurrence and the {@link Recurrence} rule are stored; occurrences
+ * are generated lazily, within the window being looked at, so a recurring
+ * event costs the same memory whether it repeats for a week or for years.
+ * Recurring events are considered read-only.
+ */
+public final class RecurringEvent {
+  private final String title;
+  private final TimeRange first;
+  private final Set<String> attendees = new HashSet<>();
+  private final Recurrence recurrence;
+  private transient AttendeeSet attendeeSet;
+
+  /**
+   * Creates a new recurring event.
+   *
+   * @param title The human-readable name for the event. Must be non-null.
+   * @param first The time of the first occurrence, in epoch minutes. Must be non-null.
+   * @param attendees The collection of people attending the event. Must be non-null.
+   * @param recurrence The rule by which the event repeats. Must be non-null.
+   */
+  public RecurringEvent(String title, TimeRange first, Collection<String> attendees,
+                        Recurrence recurrence) {
+    if (title == null) {
+      throw new IllegalArgumentException("title cannot be null");
+    }
+
+    if (first == null) {
+      throw new IllegalArgumentException("first cannot be null");
+    }
+
+    if (attendees == null) {
+      throw new IllegalArgumentException("attendees cannot be null. Use empty array instead.");
+    }
+
+    if (recurrence == null) {
+      throw new IllegalArgumentException("recurrence cannot be null");
+    }
+
+    this.title = title;
+    this.first = first;
+    this.attendees.addAll(attendees);
+    this.recurrence = recurrence;
+    // Interned up front, as meeting requests only look names up.
+    this.attendeeSet = AttendeeSet.of(this.attendees, AttendeeRegistry.getInstance());
+  }
+
+  /**
+   * Returns the human-readable name for this event.
+   */
+  public String getTitle() {
+    return title;
+  }
+
+  /**
+   * Returns the time of the first occurrence of this event, in epoch minutes.
+   */
+  public TimeRange getFirst() {
+    return first;
+  }
+
+  /**
+   * Returns a read-only set of required attendees for this event.
+   */
+  public Set<String> getAttendees() {
+    return Collections.unmodifiableSet(attendees);
+  }
+
+  /**
+   * Returns the rule by which this event repeats.
+   */
+  public Recurrence getRecurrence() {
+    return recurrence;
+  }
+
+  /**
+   * Returns the occurrences of this event overlapping a window, in
+   * chronological order.
+   *
+   * @param window The window, in epoch minutes.
+   * @return An iterator over the occurrences, generated lazily.
+   */
+  public Iterator<TimeRange> occurrences(TimeRange window) {
+    return recurrence.occurrences(first, window);
+  }
+
+  /**
+   * Returns the interned ids of the attendees of this event as a bitset.
+   */
+  AttendeeSet getAttendeeSet() {
+    // Computed lazily and racily, as for Event.
+    AttendeeSet set = attendeeSet;
+    if (set == null) {
+      set = AttendeeSet.of(attendees, AttendeeRegistry.getInstance());
+      attendeeSet = set;
+    }
+    return set;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof RecurringEvent
+        && title.equals(((RecurringEvent) other).title)
+        && first.equals(((RecurringEvent) other).first)
+        && attendees.equals(((RecurringEvent) other).attendees)
+        && recurrence.equals(((RecurringEvent) other).recurrence);
+  }
+
+  @Override
+  public int hashCode() {
+    return title.hashCode();
+  }
+}
@@ -0,0 +1,115 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * Resource.java
+ * 10/19/2026
+ *
+ * A bookable room or piece of equipment.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A room or piece of equipment that events book by name, with the number of
+ * people it holds and the features it offers (e.g. "projector"). Resources
+ * are considered read-only.
+ */
+public final class Resource {
+  private final String name;
+  private final int capacity;
+  private final Set<String> features = new HashSet<>();
+
+  /**
+   * Creates a new resource.
+   *
+   * @param name The unique name events book the resource by. Must be non-null.
+   * @param capacity The number of people the resource holds. Must not be negative.
+   * @param features The features the resource offers. Must be non-null.
+   */
+  public Resource(String name, int capacity, Collection<String> features) {
+    if (name == null) {
+      throw new IllegalArgumentException("name cannot be null");
+    }
+
+    if (capacity < 0) {
+      throw new IllegalArgumentException("capacity cannot be negative");
+    }
+
+    if (features == null) {
+      throw new IllegalArgumentException("features cannot be null. Use empty array instead.");
+    }
+
+    this.name = name;
+    this.capacity = capacity;
+    this.features.addAll(features);
+  }
+
+  /**
+   * Returns the unique name events book this resource by.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the number of people this resource holds.
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Returns a read-only set of the features this resource offers.
+   */
+  public Set<String> getFeatures() {
+    return Collections.unmodifiableSet(features);
+  }
+
+  /**
+   * Returns whether this resource meets the resource constraints of the
+   * specified meeting request.
+   *
+   * @param request The meeting request.
+   * @return Whether the resource is large enough and offers every required feature.
+   */
+  public boolean satisfies(MeetingRequest request) {
+    return capacity >= request.getMinimumCapacity()
+        && features.containsAll(request.getRequiredFeatures());
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof Resource
+        && name.equals(((Resource) other).name)
+        && capacity == ((Resource) other).capacity
+        && features.equals(((Resource) other).features);
+  }
+
+  @Override
+  public int hashCode() {
+    return name.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s (%d people)", name, capacity);
+  }
+}
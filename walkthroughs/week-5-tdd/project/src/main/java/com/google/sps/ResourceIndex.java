@@ -0,0 +1,155 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * ResourceIndex.java
+ * 10/19/2026
+ *
+ * Indexes the busy time of each bookable resource as a bitmap of the
+ * minutes of the day.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable index from each resource to a bitmap of the minutes of the
+ * day during which it is booked, laid out like the bitmaps of an
+ * {@link AttendeeBitmapIndex}. A query ORs together the bitmaps of the
+ * requested attendees once, then ORs in the bitmap of each suitable
+ * resource and scans for free runs, so pairing slots with resources costs
+ * a few dozen words per resource however many events there are. Instances
+ * are thread-safe.
+ */
+public final class ResourceIndex {
+  /** The indexed resources, by position. */
+  private final Resource[] resources;
+
+  /**
+   * The bitmaps of all resources, laid end to end. The bitmap of the
+   * resource at position i occupies words [i * WORDS, (i + 1) * WORDS).
+   */
+  private final long[] bitmaps;
+
+  private ResourceIndex(Resource[] resources, long[] bitmaps) {
+    this.resources = resources;
+    this.bitmaps = bitmaps;
+  }
+
+  /**
+   * Builds an index of the bookings of the specified resources by the
+   * specified events. Bookings of resources not listed, and the minutes of
+   * bookings outside of the day, are ignored.
+   *
+   * @param resources The resources to index. Names must be unique.
+   * @param events The events booking the resources.
+   * @return The index of the resources.
+   */
+  public static ResourceIndex of(Collection<Resource> resources, Collection<Event> events) {
+    Resource[] array = resources.toArray(new Resource[0]);
+    Map<String, Integer> positions = new HashMap<>();
+    for (int i = 0; i < array.length; i++) {
+      if (positions.put(array[i].getName(), i) != null) {
+        throw new IllegalArgumentException("Duplicate resource: " + array[i].getName());
+      }
+    }
+
+    long[] bitmaps = new long[array.length * AttendeeBitmapIndex.WORDS];
+    for (Event event : events) {
+      // Minutes before or after the day would spill into a neighbour's bitmap.
+      int from = Math.max(event.getWhen().start(), 0);
+      int to = Math.min(event.getWhen().end(), AttendeeBitmapIndex.MINUTES);
+      for (String name : event.getResources()) {
+        Integer position = positions.get(name);
+        if (position != null) {
+          AttendeeBitmapIndex.setRange(bitmaps, position * AttendeeBitmapIndex.WORDS, from, to);
+        }
+      }
+    }
+    return new ResourceIndex(array, bitmaps);
+  }
+
+  /**
+   * Returns every pairing of an open time slot for the specified meeting
+   * request with a resource meeting its constraints and free for the whole
+   * slot. Optional attendees are considered first, and dropped if that
+   * leaves no pairings for the mandatory attendees.
+   *
+   * @param request The meeting request.
+   * @param attendees The busy minutes of the attendees.
+   * @return The pairings, sorted by start time, then by resource name.
+   */
+  public List<ResourceSlot> query(MeetingRequest request, AttendeeBitmapIndex attendees) {
+    return query(request, attendees, new QueryScratch());
+  }
+
+  /**
+   * Returns every pairing of an open time slot for the specified meeting
+   * request with a suitable resource, using the specified working buffers.
+   *
+   * @param request The meeting request.
+   * @param attendees The busy minutes of the attendees.
+   * @param scratch Working buffers not in use by any other thread.
+   * @return The pairings, sorted by start time, then by resource name.
+   */
+  List<ResourceSlot> query(MeetingRequest request, AttendeeBitmapIndex attendees,
+                           QueryScratch scratch) {
+    AttendeeSet mandatory = request.getAttendeeSet();
+    AttendeeSet optional = request.getOptionalAttendeeSet();
+    long[] busy = scratch.busy;
+    long[] mandatoryBusy = scratch.mandatoryBusy;
+    Arrays.fill(busy, 0);
+    attendees.or(busy, mandatory);
+    System.arraycopy(busy, 0, mandatoryBusy, 0, AttendeeBitmapIndex.WORDS);
+    attendees.or(busy, optional);
+
+    List<ResourceSlot> slots = findResourceSlots(busy, request, scratch);
+    if (slots.isEmpty() && !mandatory.isEmpty() && !optional.isEmpty()) {
+      slots = findResourceSlots(mandatoryBusy, request, scratch);
+    }
+    return slots;
+  }
+
+  /**
+   * Returns the free runs of each suitable resource intersected with the
+   * free minutes of the attendees.
+   */
+  private List<ResourceSlot> findResourceSlots(long[] busy, MeetingRequest request,
+                                               QueryScratch scratch) {
+    long[] combined = scratch.resourceBusy;
+    List<ResourceSlot> slots = new ArrayList<>();
+    for (int i = 0; i < resources.length; i++) {
+      if (!resources[i].satisfies(request)) {
+        continue;
+      }
+      int offset = i * AttendeeBitmapIndex.WORDS;
+      for (int word = 0; word < AttendeeBitmapIndex.WORDS; word++) {
+        combined[word] = busy[word] | bitmaps[offset + word];
+      }
+      for (TimeRange when :
+           AttendeeBitmapIndex.findOpenTimeSlots(combined, request.getDuration())) {
+        slots.add(new ResourceSlot(when, resources[i]));
+      }
+    }
+    slots.sort(ResourceSlot.ORDER_BY_START);
+    return slots;
+  }
+}
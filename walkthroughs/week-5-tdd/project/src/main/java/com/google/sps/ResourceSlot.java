@@ -0,0 +1,88 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * ResourceSlot.java
+ * 10/19/2026
+ *
+ * An open time slot paired with a resource free for all of it.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.Comparator;
+
+/**
+ * A time at which the attendees of a meeting request are free, together
+ * with a resource meeting its constraints that is free for the whole of
+ * that time. Slots are considered read-only.
+ */
+public final class ResourceSlot {
+  /**
+   * A comparator for sorting slots by start time, then by resource name.
+   */
+  public static final Comparator<ResourceSlot> ORDER_BY_START = (a, b) -> {
+    int compare = TimeRange.ORDER_BY_START.compare(a.when, b.when);
+    if (compare == 0) {
+      compare = a.resource.getName().compareTo(b.resource.getName());
+    }
+    return compare;
+  };
+
+  private final TimeRange when;
+  private final Resource resource;
+
+  /**
+   * Creates a new slot.
+   *
+   * @param when The time of the slot.
+   * @param resource The resource free for the whole slot.
+   */
+  public ResourceSlot(TimeRange when, Resource resource) {
+    this.when = when;
+    this.resource = resource;
+  }
+
+  /**
+   * Returns the time of this slot.
+   */
+  public TimeRange getWhen() {
+    return when;
+  }
+
+  /**
+   * Returns the resource free for the whole of this slot.
+   */
+  public Resource getResource() {
+    return resource;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof ResourceSlot
+        && when.equals(((ResourceSlot) other).when)
+        && resource.equals(((ResourceSlot) other).resource);
+  }
+
+  @Override
+  public int hashCode() {
+    return when.hashCode() * 31 + resource.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s in %s", when, resource.getName());
+  }
+}
@@ -14,17 +14,21 @@
 
 package com.google.sps;
 
+import java.time.LocalDate;
 import java.util.Comparator;
 
 /**
  * Class representing a span of time, enforcing properties (e.g. start comes before end) and
- * providing methods to make ranges easier to work with (e.g. {@code overlaps}).
+ * providing methods to make ranges easier to work with (e.g. {@code overlaps}). Ranges are in
+ * minutes, either from the start of a day or, when spanning several days, from the epoch.
  */
 public final class TimeRange {
   public static final int START_OF_DAY = getTimeInMinutes(0, 0);
   public static final int END_OF_DAY = getTimeInMinutes(23, 59);
 
-  public static final TimeRange WHOLE_DAY = new TimeRange(0, 24 * 60);
+  public static final int MINUTES_PER_DAY = 24 * 60;
+
+  public static final TimeRange WHOLE_DAY = new TimeRange(0, MINUTES_PER_DAY);
 
   /**
    * A comparator for sorting ranges by their start time in ascending order.
@@ -120,6 +124,13 @@ public final class TimeRange {
     return contains(this, point);
   }
 
+  /**
+   * Returns this range packed into a single {@code long}, as by {@link #pack(int, int)}.
+   */
+  public long toPacked() {
+    return pack(start, start + duration);
+  }
+
   @Override
   public boolean equals(Object other) {
     return other instanceof TimeRange && equals(this, (TimeRange) other);
@@ -168,6 +179,14 @@ public final class TimeRange {
     return (hours * 60) + minutes;
   }
 
+  /**
+   * Returns the number of minutes from the epoch, 1970-01-01T00:00, to the specified time of the
+   * specified day.
+   */
+  public static int getEpochMinutes(LocalDate date, int hours, int minutes) {
+    return Math.toIntExact(date.toEpochDay() * MINUTES_PER_DAY) + getTimeInMinutes(hours, minutes);
+  }
+
   /**
    * Creates a {@code TimeRange} from {@code start} to {@code end}. Whether or not {@code end} is
    * included in the range will depend on {@code inclusive}. If {@code inclusive} is {@code true},
@@ -183,4 +202,35 @@ public final class TimeRange {
   public static TimeRange fromStartDuration(int start, int duration) {
     return new TimeRange(start, duration);
   }
+
+  /**
+   * Creates a {@code TimeRange} from a range packed by {@link #pack(int, int)}.
+   */
+  public static TimeRange fromPacked(long packed) {
+    return fromStartEnd(packedStart(packed), packedEnd(packed), false);
+  }
+
+  /**
+   * Packs the range from {@code start} to the exclusive {@code end} into a single {@code long},
+   * with the start in the high 32 bits and the end in the low 32 bits. Packed ranges with
+   * non-negative ends compare as ranges do: by start, then by end. They can be stored in primitive
+   * arrays and sorted without allocating a {@code TimeRange} each.
+   */
+  public static long pack(int start, int end) {
+    return ((long) start << 32) | (end & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Returns the start of a range packed by {@link #pack(int, int)}.
+   */
+  public static int packedStart(long packed) {
+    return (int) (packed >> 32);
+  }
+
+  /**
+   * Returns the exclusive end of a range packed by {@link #pack(int, int)}.
+   */
+  public static int packedEnd(long packed) {
+    return (int) packed;
+  }
 }
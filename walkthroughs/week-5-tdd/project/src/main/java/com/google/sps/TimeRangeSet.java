@@ -0,0 +1,359 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+/**
+ * TimeRangeSet.java
+ * 10/19/2026
+ *
+ * A set of times stored as packed ranges in a flat array, with linear-time
+ * set algebra.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An immutable set of minutes stored as sorted, disjoint ranges, each
+ * packed into a {@code long} by {@link TimeRange#pack}. Overlapping and
+ * touching ranges are merged and empty ones dropped, so every set has a
+ * single representation. Union, intersection, difference and complement
+ * each walk the ranges of their operands once, in time linear in the number
+ * of ranges, and allocate only the array of the result, so free-time
+ * calculations can be chained without creating a {@link TimeRange} per
+ * step. Instances are thread-safe.
+ */
+public final class TimeRangeSet {
+  /** The set with no times. */
+  public static final TimeRangeSet EMPTY = new TimeRangeSet(new long[0]);
+
+  /** The packed ranges, sorted, disjoint and not touching. */
+  private final long[] ranges;
+
+  private TimeRangeSet(long[] ranges) {
+    this.ranges = ranges;
+  }
+
+  /**
+   * Returns the set of the times in any of the specified ranges.
+   *
+   * @param ranges The ranges, in any order. They may overlap.
+   * @return The set of their times.
+   */
+  public static TimeRangeSet of(Collection<TimeRange> ranges) {
+    long[] packed = new long[ranges.size()];
+    int count = 0;
+    for (TimeRange range : ranges) {
+      packed[count++] = range.toPacked();
+    }
+    return normalize(packed, count);
+  }
+
+  /**
+   * Returns the set of the times in any of the specified packed ranges.
+   *
+   * @param packed Ranges packed by {@link TimeRange#pack}, in any order. They
+   *     may overlap. The array is not modified.
+   * @param count The number of ranges.
+   * @return The set of their times.
+   */
+  public static TimeRangeSet ofPacked(long[] packed, int count) {
+    return normalize(Arrays.copyOf(packed, count), count);
+  }
+
+  /**
+   * Returns the set of the times in any of the specified packed ranges,
+   * sorting and merging them within the array, so that only the merged
+   * ranges are copied. For callers whose array is a working buffer.
+   *
+   * @param packed Ranges packed by {@link TimeRange#pack}, in any order. They
+   *     may overlap. The first count elements are overwritten.
+   * @param count The number of ranges.
+   * @return The set of their times, which does not share the array.
+   */
+  static TimeRangeSet ofPackedInPlace(long[] packed, int count) {
+    int size = mergeInPlace(packed, count);
+    return size == 0 ? EMPTY : new TimeRangeSet(Arrays.copyOf(packed, size));
+  }
+
+  /**
+   * Returns the set of the times in this set or the specified set.
+   *
+   * @param other The set to add.
+   * @return The union of the sets.
+   */
+  public TimeRangeSet union(TimeRangeSet other) {
+    if (other.ranges.length == 0) {
+      return this;
+    }
+    if (ranges.length == 0) {
+      return other;
+    }
+    long[] result = new long[ranges.length + other.ranges.length];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+    while (i < ranges.length || j < other.ranges.length) {
+      long next = j == other.ranges.length
+          || (i < ranges.length && ranges[i] < other.ranges[j])
+          ? ranges[i++] : other.ranges[j++];
+      count = appendMerging(result, count, next);
+    }
+    return create(result, count);
+  }
+
+  /**
+   * Returns the set of the times in both this set and the specified set.
+   *
+   * @param other The set to intersect with.
+   * @return The intersection of the sets.
+   */
+  public TimeRangeSet intersection(TimeRangeSet other) {
+    long[] result = new long[ranges.length + other.ranges.length];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+    while (i < ranges.length && j < other.ranges.length) {
+      int start = Math.max(TimeRange.packedStart(ranges[i]),
+          TimeRange.packedStart(other.ranges[j]));
+      int end = Math.min(TimeRange.packedEnd(ranges[i]), TimeRange.packedEnd(other.ranges[j]));
+      if (start < end) {
+        result[count++] = TimeRange.pack(start, end);
+      }
+      // The range ending first cannot overlap anything further in the other set.
+      if (TimeRange.packedEnd(ranges[i]) < TimeRange.packedEnd(other.ranges[j])) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return create(result, count);
+  }
+
+  /**
+   * Returns the set of the times in this set but not in the specified set.
+   *
+   * @param other The set to remove.
+   * @return The difference of the sets.
+   */
+  public TimeRangeSet difference(TimeRangeSet other) {
+    if (ranges.length == 0 || other.ranges.length == 0) {
+      return this;
+    }
+    // Each removed range splits at most one range in two.
+    long[] result = new long[ranges.length + other.ranges.length];
+    int count = 0;
+    int j = 0;
+    for (long range : ranges) {
+      int start = TimeRange.packedStart(range);
+      int end = TimeRange.packedEnd(range);
+      while (j < other.ranges.length && TimeRange.packedEnd(other.ranges[j]) <= start) {
+        j++;
+      }
+      int k = j;
+      while (k < other.ranges.length && TimeRange.packedStart(other.ranges[k]) < end) {
+        int removedStart = TimeRange.packedStart(other.ranges[k]);
+        if (removedStart > start) {
+          result[count++] = TimeRange.pack(start, removedStart);
+        }
+        start = Math.max(start, TimeRange.packedEnd(other.ranges[k]));
+        k++;
+      }
+      if (start < end) {
+        result[count++] = TimeRange.pack(start, end);
+      }
+      // A removed range reaching past this range may overlap the next one.
+      j = Math.max(j, k - 1);
+    }
+    return create(result, count);
+  }
+
+  /**
+   * Returns the set of the times within the specified bounds that are not
+   * in this set.
+   *
+   * @param bounds The range to complement within.
+   * @return The complement of this set within the bounds.
+   */
+  public TimeRangeSet complement(TimeRange bounds) {
+    long[] result = new long[ranges.length + 1];
+    int count = 0;
+    int free = bounds.start();
+    for (long range : ranges) {
+      int start = TimeRange.packedStart(range);
+      if (start >= bounds.end()) {
+        break;
+      }
+      if (start > free) {
+        result[count++] = TimeRange.pack(free, start);
+      }
+      free = Math.max(free, TimeRange.packedEnd(range));
+    }
+    if (free < bounds.end()) {
+      result[count++] = TimeRange.pack(free, bounds.end());
+    }
+    return create(result, count);
+  }
+
+  /**
+   * Returns the set of the minutes of the day that are not in this set.
+   *
+   * @return The complement of this set within {@link TimeRange#WHOLE_DAY}.
+   */
+  public TimeRangeSet complementWithinDay() {
+    return complement(TimeRange.WHOLE_DAY);
+  }
+
+  /**
+   * Returns the ranges of this set lasting at least the specified duration.
+   *
+   * @param duration The minimum duration in minutes.
+   * @return The set of the long enough ranges.
+   */
+  public TimeRangeSet withMinimumDuration(long duration) {
+    long[] result = new long[ranges.length];
+    int count = 0;
+    for (long range : ranges) {
+      if (TimeRange.packedEnd(range) - (long) TimeRange.packedStart(range) >= duration) {
+        result[count++] = range;
+      }
+    }
+    return count == ranges.length ? this : create(result, count);
+  }
+
+  /**
+   * Returns whether this set contains the specified minute.
+   *
+   * @param point A minute.
+   * @return True if a range of this set contains the minute.
+   */
+  public boolean contains(int point) {
+    // Finds the last range starting at or before the point.
+    int i = Arrays.binarySearch(ranges, TimeRange.pack(point, -1));
+    i = i >= 0 ? i : -i - 2;
+    return i >= 0 && TimeRange.packedEnd(ranges[i]) > point;
+  }
+
+  /**
+   * Returns whether this set has no times.
+   */
+  public boolean isEmpty() {
+    return ranges.length == 0;
+  }
+
+  /**
+   * Returns the number of disjoint ranges in this set.
+   */
+  public int size() {
+    return ranges.length;
+  }
+
+  /**
+   * Returns the range of this set at the specified index, packed by
+   * {@link TimeRange#pack}. Ranges are in ascending order.
+   *
+   * @param index The index of the range.
+   * @return The packed range.
+   */
+  public long getPacked(int index) {
+    return ranges[index];
+  }
+
+  /**
+   * Returns the ranges of this set in ascending order.
+   *
+   * @return A new list of the ranges.
+   */
+  public List<TimeRange> toList() {
+    List<TimeRange> list = new ArrayList<>(ranges.length);
+    for (long range : ranges) {
+      list.add(TimeRange.fromPacked(range));
+    }
+    return list;
+  }
+
+  /**
+   * Sorts packed ranges in place and merges those that overlap or touch.
+   */
+  private static TimeRangeSet normalize(long[] packed, int count) {
+    return create(packed, mergeInPlace(packed, count));
+  }
+
+  /**
+   * Sorts the first packed ranges of an array and merges those that overlap
+   * or touch into its start.
+   *
+   * @return The number of merged ranges.
+   */
+  private static int mergeInPlace(long[] packed, int count) {
+    Arrays.sort(packed, 0, count);
+    int size = 0;
+    for (int i = 0; i < count; i++) {
+      size = appendMerging(packed, size, packed[i]);
+    }
+    return size;
+  }
+
+  /**
+   * Appends a packed range no earlier than the last, merging it into the
+   * last if they overlap or touch and dropping it if it is empty.
+   *
+   * @return The number of ranges.
+   */
+  private static int appendMerging(long[] ranges, int count, long range) {
+    int start = TimeRange.packedStart(range);
+    int end = TimeRange.packedEnd(range);
+    if (start >= end) {
+      return count;
+    }
+    if (count > 0 && start <= TimeRange.packedEnd(ranges[count - 1])) {
+      int last = TimeRange.packedStart(ranges[count - 1]);
+      ranges[count - 1] = TimeRange.pack(last,
+          Math.max(end, TimeRange.packedEnd(ranges[count - 1])));
+      return count;
+    }
+    ranges[count] = range;
+    return count + 1;
+  }
+
+  /**
+   * Returns a set of the first ranges of an array, trimming it if needed.
+   */
+  private static TimeRangeSet create(long[] ranges, int count) {
+    if (count == 0) {
+      return EMPTY;
+    }
+    return new TimeRangeSet(count == ranges.length ? ranges : Arrays.copyOf(ranges, count));
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof TimeRangeSet && Arrays.equals(ranges, ((TimeRangeSet) other).ranges);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(ranges);
+  }
+
+  @Override
+  public String toString() {
+    return toList().toString();
+  }
+}
@@ -0,0 +1,126 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * WorkingHours.java
+ * 10/19/2026
+ *
+ * The hours of the day during which an attendee is willing to meet.
+ *
+ * @author Alexander Luiz Costa
+ */
+package com.google.sps;
+
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+/**
+ * The daily working hours of an attendee in their own time zone. Times of
+ * day elsewhere in this package are read as UTC, so the hours are shifted
+ * by the zone's offset; hours ending at or before they start run past
+ * midnight. Working hours are considered read-only.
+ */
+public final class WorkingHours {
+  private final LocalTime start;
+  private final LocalTime end;
+  private final ZoneOffset offset;
+
+  /**
+   * Creates new working hours.
+   *
+   * @param start The local time at which work starts. Must be non-null.
+   * @param end The local time at which work ends, exclusive. Must be non-null.
+   *     Equal to start for the whole day.
+   * @param offset The offset of the attendee's time zone from UTC. Must be non-null.
+   */
+  public WorkingHours(LocalTime start, LocalTime end, ZoneOffset offset) {
+    if (start == null) {
+      throw new IllegalArgumentException("start cannot be null");
+    }
+
+    if (end == null) {
+      throw new IllegalArgumentException("end cannot be null");
+    }
+
+    if (offset == null) {
+      throw new IllegalArgumentException("offset cannot be null");
+    }
+
+    this.start = start;
+    this.end = end;
+    this.offset = offset;
+  }
+
+  /**
+   * Returns the local time at which work starts.
+   */
+  public LocalTime getStart() {
+    return start;
+  }
+
+  /**
+   * Returns the local time at which work ends, exclusive.
+   */
+  public LocalTime getEnd() {
+    return end;
+  }
+
+  /**
+   * Returns the offset of the attendee's time zone from UTC.
+   */
+  public ZoneOffset getOffset() {
+    return offset;
+  }
+
+  /**
+   * Returns the minutes of a UTC day outside of these working hours.
+   *
+   * @return Sorted, disjoint start, end pairs. At most two, as the hours may
+   *     wrap around midnight once shifted to UTC.
+   */
+  int[] getOffHours() {
+    int minutesPerDay = TimeRange.MINUTES_PER_DAY;
+    int startMinute = start.getHour() * 60 + start.getMinute();
+    int endMinute = end.getHour() * 60 + end.getMinute();
+    int working = Math.floorMod(endMinute - startMinute - 1, minutesPerDay) + 1;
+    if (working == minutesPerDay) {
+      return new int[0];
+    }
+    int offStart =
+        Math.floorMod(endMinute - offset.getTotalSeconds() / 60, minutesPerDay);
+    int offEnd = offStart + minutesPerDay - working;
+    if (offEnd <= minutesPerDay) {
+      return new int[] {offStart, offEnd};
+    }
+    return new int[] {0, offEnd - minutesPerDay, offStart, minutesPerDay};
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof WorkingHours
+        && start.equals(((WorkingHours) other).start)
+        && end.equals(((WorkingHours) other).end)
+        && offset.equals(((WorkingHours) other).offset);
+  }
+
+  @Override
+  public int hashCode() {
+    return (start.hashCode() * 31 + end.hashCode()) * 31 + offset.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s to %s at %s", start, end, offset);
+  }
+}
@@ -14,7 +14,9 @@
 
 package com.google.sps.servlets;
 
-import com.google.sps.Events;
+import com.google.sps.EventPage;
+import com.google.sps.EventStore;
+import com.google.sps.TimeRange;
 import com.google.gson.Gson;
 import java.io.IOException;
 import javax.servlet.annotation.WebServlet;
@@ -22,15 +24,126 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+/**
+ * Responds with the events of the event store. Without parameters, the
+ * response is a JSON array of every event, serialized once per version of
+ * the store and then served from memory. With any of the parameters below,
+ * the response is a JSON object holding a page of the matching events and
+ * the cursor of the next page, if any:
+ * <ul>
+ *   <li>attendee: only the events of this attendee
+ *   <li>start, end: only the events overlapping [start, end), in minutes
+ *   <li>after: the cursor returned with the previous page
+ *   <li>limit: the maximum number of events per page (default 100, at most 1000)
+ * </ul>
+ */
 @WebServlet("/get-events")
 public class GetEventsServlet extends HttpServlet {
+  private static final long serialVersionUID = 1L;
+
+  /** The default number of events per page. */
+  static final int DEFAULT_LIMIT = 100;
+
+  /** The maximum number of events per page. */
+  static final int MAX_LIMIT = 1000;
+
+  /** Serializes responses. Gson instances are thread-safe. */
+  private static final Gson gson = new Gson();
+
+  /**
+   * The serialized events of one version of the store.
+   */
+  private static final class SerializedEvents {
+    private final long version;
+    private final String json;
+
+    private SerializedEvents(long version, String json) {
+      this.version = version;
+      this.json = json;
+    }
+  }
+
+  /** The most recently serialized events, or null if none have been. */
+  private volatile SerializedEvents serialized;
+
   @Override
   public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
-    Gson gson = new Gson();
-    String jsonResponse = gson.toJson(Events.events);
+    EventStore store = EventStore.getInstance();
+    String jsonResponse;
+    if (request.getParameterMap().isEmpty()) {
+      jsonResponse = getAllEvents(store);
+    } else {
+      EventPage page;
+      try {
+        page = store.getEvents(request.getParameter("attendee"), parseRange(request),
+            parseLong(request, "after", -1), parseLimit(request));
+      } catch (IllegalArgumentException e) {
+        response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        return;
+      }
+      jsonResponse = gson.toJson(page);
+    }
 
     // Send the JSON back as the response
     response.setContentType("application/json");
     response.getWriter().println(jsonResponse);
   }
+
+  /**
+   * Returns every event of the store as a JSON array, serializing them only
+   * if the store has changed since they were last serialized.
+   */
+  private String getAllEvents(EventStore store) {
+    SerializedEvents current = serialized;
+    // The version is read before the events, so the JSON holds at least
+    // every write up to it, and a later write always misses the cache.
+    long version = store.getVersion();
+    if (current == null || current.version != version) {
+      current = new SerializedEvents(version, gson.toJson(store.getEvents()));
+      serialized = current;
+    }
+    return current.json;
+  }
+
+  /**
+   * Returns the range named by the start and end parameters, or null if
+   * neither is present.
+   */
+  static TimeRange parseRange(HttpServletRequest request) {
+    if (request.getParameter("start") == null && request.getParameter("end") == null) {
+      return null;
+    }
+    long start = parseLong(request, "start", 0);
+    long end = parseLong(request, "end", Integer.MAX_VALUE);
+    if (start < 0 || end > Integer.MAX_VALUE || start >= end) {
+      throw new IllegalArgumentException("start must come before end, within [0, 2^31).");
+    }
+    return TimeRange.fromStartEnd((int) start, (int) end, false);
+  }
+
+  /**
+   * Returns the page size requested by the limit parameter.
+   */
+  private static int parseLimit(HttpServletRequest request) {
+    long limit = parseLong(request, "limit", DEFAULT_LIMIT);
+    if (limit <= 0 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ".");
+    }
+    return (int) limit;
+  }
+
+  /**
+   * Returns the value of a numeric parameter, or the default if it is absent.
+   */
+  private static long parseLong(HttpServletRequest request, String name, long defaultValue) {
+    String value = request.getParameter(name);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(name + " must be an integer.");
+    }
+  }
 }
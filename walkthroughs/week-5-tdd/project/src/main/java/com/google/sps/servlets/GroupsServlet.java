@@ -0,0 +1,79 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.google.sps.servlets;
+
+import com.google.sps.AttendeeGroups;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.IOException;
+import java.util.List;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Defines the groups that meeting requests may invite in place of
+ * individuals. A POST of {"name": ..., "members": [...]} defines or
+ * redefines a group, whose members are people or other groups; a DELETE
+ * with a name parameter removes one.
+ */
+@WebServlet("/groups")
+public class GroupsServlet extends HttpServlet {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The body of a POST.
+   */
+  private static final class GroupDefinition {
+    private String name;
+    private List<String> members;
+  }
+
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    GroupDefinition group;
+    try {
+      group = new Gson().fromJson(request.getReader(), GroupDefinition.class);
+    } catch (JsonParseException e) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Malformed group.");
+      return;
+    }
+    if (group == null || group.members == null) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected a name and members.");
+      return;
+    }
+
+    try {
+      AttendeeGroups.getInstance().setMembers(group.name, group.members);
+    } catch (IllegalArgumentException e) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+      return;
+    }
+    response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+  }
+
+  @Override
+  public void doDelete(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    String name = request.getParameter("name");
+    if (name == null || !AttendeeGroups.getInstance().removeGroup(name)) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND, "No such group.");
+      return;
+    }
+    response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+  }
+}
@@ -0,0 +1,64 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.CalendarFormat;
+import com.google.sps.CalendarIngester;
+import com.google.sps.EventStore;
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Streams a calendar export, as text/csv or text/calendar, into the event
+ * store and responds with the number of events added.
+ */
+@WebServlet("/ingest")
+public class IngestServlet extends HttpServlet {
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    String contentType = request.getContentType();
+    CalendarFormat format;
+    if (contentType != null && contentType.startsWith("text/csv")) {
+      format = CalendarFormat.CSV;
+    } else if (contentType != null && contentType.startsWith("text/calendar")) {
+      format = CalendarFormat.ICALENDAR;
+    } else {
+      response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE,
+          "Expected text/csv or text/calendar.");
+      return;
+    }
+
+    // Parse the export in parallel on the common pool's workers and load it in bulk.
+    int added;
+    try {
+      added = CalendarIngester.ingest(request.getReader(), format, EventStore.getInstance(),
+          ForkJoinPool.commonPool());
+    } catch (IllegalArgumentException e) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+      return;
+    }
+
+    // Send the number of events added back as the response
+    response.setContentType("application/json");
+    response.getWriter().println(new Gson().toJson(added));
+  }
+}
@@ -14,38 +14,129 @@
 
 package com.google.sps.servlets;
 
-import com.google.sps.Events;
-import com.google.sps.FindMeetingQuery;
+import com.google.sps.BinaryQueryProtocol;
+import com.google.sps.EventStore;
+import com.google.sps.IndexSnapshot;
+import com.google.sps.MappedCalendarIndex;
 import com.google.sps.MeetingRequest;
 import com.google.sps.TimeRange;
 import com.google.gson.Gson;
+import java.io.EOFException;
 import java.io.IOException;
-import java.util.Arrays;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+/**
+ * Answers a JSON meeting request with a JSON array of its possible meeting
+ * times. If the system property com.google.sps.snapshot names an index
+ * snapshot, queries are served straight from the mapped file, without
+ * loading any events; otherwise they are served from the event store.
+ *
+ * <p>If the start or end parameter is given, in epoch minutes, meetings are
+ * scheduled within that horizon, around the one-off and recurring events of
+ * the store, rather than within a single day. Horizon queries are not
+ * served from a snapshot.
+ *
+ * <p>The format is chosen by content negotiation. A request sent as
+ * {@link BinaryQueryProtocol#MEDIA_TYPE} holds a batch of meeting requests,
+ * answered with the slots of each. The response is binary if the Accept
+ * header names the binary media type, or if it names no type and the request
+ * was binary; otherwise it is JSON.
+ */
 @WebServlet("/query")
 public class QueryServlet extends HttpServlet {
+  private static final long serialVersionUID = 1L;
+
+  /** The system property naming the index snapshot to serve from. */
+  static final String SNAPSHOT_PROPERTY = "com.google.sps.snapshot";
+
+  /** The mapped snapshot served from, or null to serve from the event store. */
+  private MappedCalendarIndex snapshot;
+
+  @Override
+  public void init() throws ServletException {
+    String path = System.getProperty(SNAPSHOT_PROPERTY);
+    if (path != null) {
+      try {
+        snapshot = IndexSnapshot.open(Paths.get(path));
+      } catch (IOException e) {
+        throw new ServletException("Cannot map index snapshot " + path, e);
+      }
+    }
+  }
+
   @Override
   public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    boolean binaryRequest = isBinary(request.getContentType());
+    String accept = request.getHeader("Accept");
+    boolean binaryResponse = isBinary(accept)
+        || (binaryRequest && (accept == null || accept.trim().equals("*/*")));
     Gson gson = new Gson();
 
-    // Convert the JSON to an instance of MeetingRequest.
-    MeetingRequest meetingRequest = gson.fromJson(request.getReader(), MeetingRequest.class);
+    TimeRange horizon;
+    try {
+      horizon = GetEventsServlet.parseRange(request);
+    } catch (IllegalArgumentException e) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+      return;
+    }
+    if (horizon != null && snapshot != null) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+          "Horizon queries are not served from an index snapshot.");
+      return;
+    }
+
+    // Convert the body to instances of MeetingRequest.
+    List<MeetingRequest> meetingRequests;
+    if (binaryRequest) {
+      try {
+        meetingRequests = BinaryQueryProtocol.readRequests(request.getInputStream());
+      } catch (IllegalArgumentException | EOFException e) {
+        response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Malformed binary query.");
+        return;
+      }
+    } else {
+      meetingRequests = Collections.singletonList(
+          gson.fromJson(request.getReader(), MeetingRequest.class));
+    }
 
     // Find the possible meeting times.
-    FindMeetingQuery findMeetingQuery = new FindMeetingQuery();
-    Collection<TimeRange> answer =
-        findMeetingQuery.query(Arrays.asList(Events.events), meetingRequest);
+    List<Collection<TimeRange>> answers = new ArrayList<>(meetingRequests.size());
+    for (MeetingRequest meetingRequest : meetingRequests) {
+      if (horizon != null) {
+        answers.add(EventStore.getInstance().query(meetingRequest, horizon));
+      } else if (snapshot != null) {
+        answers.add(snapshot.query(meetingRequest));
+      } else {
+        answers.add(EventStore.getInstance().query(meetingRequest));
+      }
+    }
 
-    // Convert the times to JSON
-    String jsonResponse = gson.toJson(answer);
+    // Send the times back as the response
+    if (binaryResponse) {
+      response.setContentType(BinaryQueryProtocol.MEDIA_TYPE);
+      BinaryQueryProtocol.writeSlots(answers, response.getOutputStream());
+    } else {
+      // Convert the times to JSON
+      String jsonResponse = gson.toJson(binaryRequest ? answers : answers.get(0));
+      response.setContentType("application/json");
+      response.getWriter().println(jsonResponse);
+    }
+  }
 
-    // Send the JSON back as the response
-    response.setContentType("application/json");
-    response.getWriter().println(jsonResponse);
+  /**
+   * Returns whether a Content-Type or Accept header names the binary media
+   * type.
+   */
+  private static boolean isBinary(String header) {
+    return header != null && header.contains(BinaryQueryProtocol.MEDIA_TYPE);
   }
 }
@@ -0,0 +1,97 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class AttendeeBitmapIndexTest {
+  // Some people that we can use in our tests.
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final int TIME_0100AM = TimeRange.getTimeInMinutes(1, 0);
+  private static final int TIME_0104AM = TimeRange.getTimeInMinutes(1, 4);
+  private static final int TIME_1100PM = TimeRange.getTimeInMinutes(23, 0);
+
+  private static final int DURATION_1_MINUTE = 1;
+  private static final int DURATION_60_MINUTES = 60;
+
+  @Test
+  public void setRangeSpansWords() {
+    long[] bitmap = new long[AttendeeBitmapIndex.WORDS];
+    AttendeeBitmapIndex.setRange(bitmap, 0, 60, 130);
+
+    Assert.assertEquals(0xFL << 60, bitmap[0]);
+    Assert.assertEquals(-1L, bitmap[1]);
+    Assert.assertEquals(0x3L, bitmap[2]);
+    Assert.assertEquals(0, bitmap[3]);
+  }
+
+  @Test
+  public void freeRunsEndAtEndOfDay() {
+    // Events  :    |A|                |--B--|
+    // Day     : |---------------------------|
+    // Options : |-1-| |-------2-------|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0100AM, TIME_0104AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1100PM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_B)));
+
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_60_MINUTES);
+
+    Collection<TimeRange> actual = AttendeeBitmapIndex.of(events).query(request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0100AM, false),
+            TimeRange.fromStartEnd(TIME_0104AM, TIME_1100PM, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void denseIndexIsSizedByItsEvents() {
+    // Names interned after Person A must not widen an index of their events.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0100AM, TIME_0104AM, false),
+            Arrays.asList(PERSON_A)));
+    AttendeeRegistry registry = AttendeeRegistry.getInstance();
+    for (int i = 0; i < 100; i++) {
+      registry.intern("Unindexed person " + i);
+    }
+
+    AttendeeBitmapIndex index = AttendeeBitmapIndex.of(events);
+
+    Assert.assertEquals((registry.lookup(PERSON_A) + 1) * AttendeeBitmapIndex.WORDS,
+        index.words());
+  }
+
+  @Test
+  public void wholeDayFreeWithoutEvents() {
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_1_MINUTE);
+
+    Collection<TimeRange> actual = AttendeeBitmapIndex.of(Arrays.asList()).query(request);
+
+    Assert.assertEquals(Arrays.asList(TimeRange.WHOLE_DAY), actual);
+  }
+}
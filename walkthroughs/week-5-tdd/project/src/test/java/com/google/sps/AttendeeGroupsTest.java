@@ -0,0 +1,135 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class AttendeeGroupsTest {
+  // Some people that we can use in our tests.
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  // Some groups that we can use in our tests. Groups defined in the shared
+  // directory are named after their test, so tests cannot see each other's.
+  private static final String GROUP_ENG = "eng";
+  private static final String GROUP_TEAM = "team";
+  private static final String GROUP_ORG = "org";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+
+  private final AttendeeRegistry registry = AttendeeRegistry.getInstance();
+
+  @Test
+  public void nestedGroupsExpandToPeople() {
+    AttendeeGroups groups = new AttendeeGroups();
+    groups.setMembers(GROUP_TEAM, Arrays.asList(PERSON_A, PERSON_B));
+    groups.setMembers(GROUP_ENG, Arrays.asList(GROUP_TEAM, PERSON_C));
+
+    Assert.assertEquals(ids(PERSON_A, PERSON_B, PERSON_C),
+        groups.expand(Arrays.asList(GROUP_ENG), registry));
+    Assert.assertEquals(ids(PERSON_A, PERSON_B, PERSON_C),
+        groups.expand(Arrays.asList(GROUP_TEAM, PERSON_C), registry));
+    Assert.assertTrue(groups.isGroup(GROUP_TEAM));
+    Assert.assertFalse(groups.isGroup(PERSON_A));
+  }
+
+  @Test
+  public void cyclicGroupsExpandToEveryoneInTheCycle() {
+    AttendeeGroups groups = new AttendeeGroups();
+    groups.setMembers(GROUP_TEAM, Arrays.asList(PERSON_A, GROUP_ENG));
+    groups.setMembers(GROUP_ENG, Arrays.asList(PERSON_B, GROUP_TEAM));
+
+    Assert.assertEquals(ids(PERSON_A, PERSON_B), groups.expand(Arrays.asList(GROUP_ENG), registry));
+    Assert.assertEquals(ids(PERSON_A, PERSON_B),
+        groups.expand(Arrays.asList(GROUP_TEAM), registry));
+  }
+
+  @Test
+  public void changingMembersInvalidatesContainingGroups() {
+    AttendeeGroups groups = new AttendeeGroups();
+    groups.setMembers(GROUP_TEAM, Arrays.asList(PERSON_A));
+    groups.setMembers(GROUP_ENG, Arrays.asList(GROUP_TEAM));
+    groups.setMembers(GROUP_ORG, Arrays.asList(GROUP_ENG, PERSON_C));
+    Assert.assertEquals(ids(PERSON_A, PERSON_C), groups.expand(Arrays.asList(GROUP_ORG), registry));
+
+    groups.setMembers(GROUP_TEAM, Arrays.asList(PERSON_B));
+    Assert.assertEquals(ids(PERSON_B, PERSON_C), groups.expand(Arrays.asList(GROUP_ORG), registry));
+    Assert.assertEquals(ids(PERSON_B), groups.expand(Arrays.asList(GROUP_ENG), registry));
+
+    // A removed group is just a name again.
+    Assert.assertTrue(groups.removeGroup(GROUP_TEAM));
+    Assert.assertFalse(groups.removeGroup(GROUP_TEAM));
+    Assert.assertEquals(ids(GROUP_TEAM, PERSON_C),
+        groups.expand(Arrays.asList(GROUP_ORG), registry));
+  }
+
+  @Test
+  public void requestNamingGroupMatchesRequestNamingMembers() {
+    String group = "requestNamingGroupMatchesRequestNamingMembers";
+    String optionalGroup = group + " optional";
+    AttendeeGroups.getInstance().setMembers(group, Arrays.asList(PERSON_A, PERSON_B));
+    AttendeeGroups.getInstance().setMembers(optionalGroup, Arrays.asList(PERSON_B, PERSON_C));
+
+    // Events  :       |--A--|--C--|
+    // Day     : |-----------------------------|
+    // Options : |-----|           |-----------|
+    List<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false),
+            Arrays.asList(PERSON_C)));
+
+    MeetingRequest byGroup = new MeetingRequest(Arrays.asList(group), DURATION_30_MINUTES);
+    byGroup.addOptionalAttendee(optionalGroup);
+    MeetingRequest byPeople =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_30_MINUTES);
+    byPeople.addOptionalAttendee(PERSON_C);
+
+    // Person B is required through one group and optional through the other.
+    Assert.assertEquals(byPeople.getOptionalAttendeeSet(), byGroup.getOptionalAttendeeSet());
+    for (FindMeetingQuery.Engine engine : FindMeetingQuery.Engine.values()) {
+      Collection<TimeRange> expected = new FindMeetingQuery(engine).query(events, byPeople);
+      Assert.assertEquals(engine.toString(), expected,
+          new FindMeetingQuery(engine).query(events, byGroup));
+    }
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            TimeRange.fromStartEnd(TIME_1100AM, TimeRange.END_OF_DAY, true)),
+        new FindMeetingQuery().query(events, byGroup));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullMembersAreRejected() {
+    new AttendeeGroups().setMembers(GROUP_TEAM, Collections.singletonList(null));
+  }
+
+  private AttendeeSet ids(String... names) {
+    return AttendeeSet.of(Arrays.asList(names), registry);
+  }
+}
@@ -0,0 +1,120 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class AttendeeSetTest {
+  // Some people that we can use in our tests.
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final int DURATION_1_HOUR = 60;
+
+  @Test
+  public void internAssignsDenseIds() {
+    AttendeeRegistry registry = new AttendeeRegistry();
+
+    Assert.assertEquals(0, registry.intern(PERSON_A));
+    Assert.assertEquals(1, registry.intern(PERSON_B));
+    Assert.assertEquals(0, registry.intern(PERSON_A));
+    Assert.assertEquals(-1, registry.lookup(PERSON_C));
+    Assert.assertEquals(2, registry.size());
+  }
+
+  @Test
+  public void setsInDifferentWordsDoNotIntersect() {
+    AttendeeSet a = AttendeeSet.ofIds(1, 200);
+    AttendeeSet b = AttendeeSet.ofIds(65, 1000);
+
+    Assert.assertFalse(a.intersects(b));
+    Assert.assertFalse(b.intersects(a));
+    Assert.assertFalse(a.intersects(AttendeeSet.EMPTY));
+  }
+
+  @Test
+  public void setsSharingAnIdIntersect() {
+    AttendeeSet a = AttendeeSet.ofIds(1, 200, 5000);
+    AttendeeSet b = AttendeeSet.ofIds(3, 5000);
+
+    Assert.assertTrue(a.intersects(b));
+    Assert.assertTrue(b.intersects(a));
+  }
+
+  @Test
+  public void idsRoundTrip() {
+    AttendeeSet set = AttendeeSet.ofIds(700, 3, 64, 63, 3);
+
+    Assert.assertArrayEquals(new int[] {3, 63, 64, 700}, set.toIds());
+    Assert.assertEquals(4, set.size());
+    Assert.assertTrue(set.contains(64));
+    Assert.assertFalse(set.contains(65));
+    Assert.assertFalse(set.contains(100000));
+  }
+
+  @Test
+  public void maxIsTheLargestId() {
+    Assert.assertEquals(700, AttendeeSet.ofIds(700, 3, 64).max());
+    Assert.assertEquals(-1, AttendeeSet.EMPTY.max());
+  }
+
+  @Test
+  public void lookupKeepsUnknownNamesWithoutInterning() {
+    AttendeeRegistry registry = new AttendeeRegistry();
+    int id = registry.intern(PERSON_A);
+
+    AttendeeSet set = AttendeeSet.lookup(Arrays.asList(PERSON_A, "Stranger"), registry);
+    AttendeeSet stranger = AttendeeSet.lookup(Arrays.asList("Stranger"), registry);
+
+    Assert.assertEquals(1, registry.size());
+    Assert.assertEquals(2, set.size());
+    Assert.assertArrayEquals(new int[] {id}, set.toIds());
+    Assert.assertEquals(Arrays.asList("Stranger"), set.getUnknownNames());
+    Assert.assertFalse(stranger.isEmpty());
+    Assert.assertFalse(stranger.intersects(stranger));
+    Assert.assertEquals(AttendeeSet.ofIds(id), set.andNot(stranger));
+  }
+
+  @Test
+  public void unionAndDifferenceMergeWords() {
+    AttendeeSet a = AttendeeSet.ofIds(1, 64, 700);
+    AttendeeSet b = AttendeeSet.ofIds(2, 64, 5000);
+
+    Assert.assertArrayEquals(new int[] {1, 2, 64, 700, 5000}, a.union(b).toIds());
+    Assert.assertEquals(a, a.union(AttendeeSet.EMPTY));
+    Assert.assertArrayEquals(new int[] {1, 700}, a.andNot(b).toIds());
+    Assert.assertSame(AttendeeSet.EMPTY, a.andNot(a));
+    Assert.assertEquals(AttendeeSet.ofIds(1, 700), a.andNot(b));
+  }
+
+  @Test
+  public void addingOptionalAttendeeUpdatesSet() {
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_1_HOUR);
+    Assert.assertTrue(request.getOptionalAttendeeSet().isEmpty());
+
+    request.addOptionalAttendee(PERSON_B);
+
+    AttendeeRegistry registry = AttendeeRegistry.getInstance();
+    Assert.assertTrue(request.getOptionalAttendeeSet().contains(registry.lookup(PERSON_B)));
+    Assert.assertFalse(request.getOptionalAttendeeSet().contains(registry.lookup(PERSON_A)));
+  }
+}
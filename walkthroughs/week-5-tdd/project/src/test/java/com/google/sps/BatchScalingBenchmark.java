@@ -0,0 +1,85 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the throughput of parallel batch queries as the number of
+ * workers grows, doubling from one worker up to the number of cores. Run
+ * with {@code mvn test-compile exec:java}.
+ */
+public final class BatchScalingBenchmark {
+  private static final int EVENTS = 20_000;
+  private static final int PEOPLE = 2_000;
+  private static final int REQUESTS = 20_000;
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 10;
+
+  private BatchScalingBenchmark() {
+    // Disallow instances.
+  }
+
+  public static void main(String[] args) {
+    Random random = new Random(0);
+    List<Event> events = FindMeetingQueryEngineTest.randomEvents(random, EVENTS, PEOPLE, 0.002);
+    List<MeetingRequest> requests = new ArrayList<>();
+    for (int i = 0; i < REQUESTS; i++) {
+      requests.add(FindMeetingQueryEngineTest.randomRequest(random, PEOPLE, 0.002));
+    }
+
+    int cores = Runtime.getRuntime().availableProcessors();
+    System.out.printf("%d events, %d requests per batch, %d cores%n", EVENTS, REQUESTS, cores);
+    System.out.printf("%-8s %-16s %14s %8s%n", "workers", "engine", "requests/s", "speedup");
+    for (FindMeetingQuery.Engine engine :
+         new FindMeetingQuery.Engine[] {FindMeetingQuery.Engine.CALENDAR_INDEX,
+                                        FindMeetingQuery.Engine.BITMAP}) {
+      FindMeetingQuery query = new FindMeetingQuery(engine);
+      double baseline = 0;
+      for (int workers = 1; workers <= cores; workers = nextWorkers(workers, cores)) {
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+          for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            query.queryAll(events, requests, pool);
+          }
+          long start = System.nanoTime();
+          for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            query.queryAll(events, requests, pool);
+          }
+          double seconds = (System.nanoTime() - start) / 1e9;
+          double throughput = (double) REQUESTS * MEASURED_ROUNDS / seconds;
+          if (workers == 1) {
+            baseline = throughput;
+          }
+          System.out.printf("%-8d %-16s %14.0f %7.2fx%n",
+                            workers, engine, throughput, throughput / baseline);
+        } finally {
+          pool.shutdown();
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns double the specified number of workers, capped at the number of
+   * cores, or a number past the cores once they have all been measured.
+   */
+  private static int nextWorkers(int workers, int cores) {
+    return workers == cores ? cores + 1 : Math.min(workers * 2, cores);
+  }
+}
@@ -0,0 +1,116 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class BinaryQueryProtocolTest {
+  // Some people that we can use in our tests.
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person Ç";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+  private static final int DURATION_1_HOUR = 60;
+
+  @Test
+  public void requestsRoundTrip() throws IOException {
+    MeetingRequest first = new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_1_HOUR);
+    first.addOptionalAttendee(PERSON_C);
+    MeetingRequest second = new MeetingRequest(Arrays.asList(PERSON_C), DURATION_30_MINUTES);
+    MeetingRequest third = new MeetingRequest(Collections.emptyList(), DURATION_30_MINUTES);
+
+    List<MeetingRequest> decoded = roundTrip(Arrays.asList(first, second, third));
+
+    Assert.assertEquals(3, decoded.size());
+    assertSameRequest(first, decoded.get(0));
+    assertSameRequest(second, decoded.get(1));
+    assertSameRequest(third, decoded.get(2));
+  }
+
+  @Test
+  public void slotsRoundTrip() throws IOException {
+    List<Collection<TimeRange>> answers = Arrays.asList(
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true)),
+        Collections.emptyList(),
+        Arrays.asList(TimeRange.WHOLE_DAY));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    BinaryQueryProtocol.writeSlots(answers, bytes);
+
+    // A count, then a count and a start, duration pair per slot.
+    Assert.assertEquals(4 + 3 * 4 + 3 * 8, bytes.size());
+    Assert.assertEquals(answers,
+        BinaryQueryProtocol.readSlots(new ByteArrayInputStream(bytes.toByteArray())));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nameIndexOutOfRangeIsRejected() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(1);
+    out.writeUTF(PERSON_A);
+    out.writeInt(1);
+    out.writeInt(DURATION_30_MINUTES);
+    out.writeInt(1);
+    out.writeInt(0);
+    out.writeInt(1);
+
+    BinaryQueryProtocol.readRequests(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+
+  @Test(expected = EOFException.class)
+  public void truncatedMessageIsRejected() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    BinaryQueryProtocol.writeRequests(Arrays.asList(
+        new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES)), bytes);
+    byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+
+    BinaryQueryProtocol.readRequests(new ByteArrayInputStream(truncated));
+  }
+
+  private static List<MeetingRequest> roundTrip(List<MeetingRequest> requests)
+      throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    BinaryQueryProtocol.writeRequests(requests, bytes);
+    return BinaryQueryProtocol.readRequests(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+
+  private static void assertSameRequest(MeetingRequest expected, MeetingRequest actual) {
+    Assert.assertEquals(expected.getDuration(), actual.getDuration());
+    Assert.assertEquals(new HashSet<>(expected.getAttendees()),
+        new HashSet<>(actual.getAttendees()));
+    Assert.assertEquals(new HashSet<>(expected.getOptionalAttendees()),
+        new HashSet<>(actual.getOptionalAttendees()));
+  }
+}
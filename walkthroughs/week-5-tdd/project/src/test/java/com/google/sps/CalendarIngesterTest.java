@@ -0,0 +1,204 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class CalendarIngesterTest {
+  // Some people that we can use in our tests.
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final LocalDate JAN_1 = LocalDate.of(2020, 1, 1);
+
+  private static final int JAN_1_0000AM = TimeRange.getEpochMinutes(JAN_1, 0, 0);
+  private static final int JAN_1_0900AM = TimeRange.getEpochMinutes(JAN_1, 9, 0);
+  private static final int JAN_1_0930AM = TimeRange.getEpochMinutes(JAN_1, 9, 30);
+  private static final int JAN_1_1000AM = TimeRange.getEpochMinutes(JAN_1, 10, 0);
+  private static final int JAN_1_1030AM = TimeRange.getEpochMinutes(JAN_1, 10, 30);
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void parsesCsvRows() throws IOException {
+    String csv = "title,start,end,attendees\n"
+        + "Standup,2020-01-01T09:00,2020-01-01T09:30,Person A;Person B\n"
+        + "\n"
+        + "\"Review, \"\"final\"\"\nround\",2020-01-01T11:00+01:00,2020-01-01T10:30Z,\n";
+
+    List<Event> actual =
+        CalendarIngester.parse(new StringReader(csv), CalendarFormat.CSV, pool).getEvents();
+    List<Event> expected = Arrays.asList(
+        new Event("Standup", TimeRange.fromStartEnd(JAN_1_0900AM, JAN_1_0930AM, false),
+            Arrays.asList(PERSON_A, PERSON_B)),
+        new Event("Review, \"final\"\nround",
+            TimeRange.fromStartEnd(JAN_1_1000AM, JAN_1_1030AM, false), Collections.emptyList()));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void parsesICalendarEvents() throws IOException {
+    String ics = "BEGIN:VCALENDAR\r\n"
+        + "VERSION:2.0\r\n"
+        + "BEGIN:VEVENT\r\n"
+        + "SUMMARY:Planning\\, part 1\r\n"
+        + "DTSTART;TZID=Europe/Paris:20200101T100000\r\n"
+        + "DURATION:PT1H30M\r\n"
+        + "ATTENDEE;CN=\"Person A\";ROLE=REQ-PARTICIPANT:mailto:a@example.com\r\n"
+        + "ATTENDEE:mailto:Person\r\n"
+        + "  B\r\n"
+        + "BEGIN:VALARM\r\n"
+        + "SUMMARY:Reminder\r\n"
+        + "END:VALARM\r\n"
+        + "END:VEVENT\r\n"
+        + "BEGIN:VEVENT\r\n"
+        + "DTSTART;VALUE=DATE:20200101\r\n"
+        + "END:VEVENT\r\n"
+        + "END:VCALENDAR\r\n";
+
+    List<Event> actual =
+        CalendarIngester.parse(new StringReader(ics), CalendarFormat.ICALENDAR, pool).getEvents();
+    List<Event> expected = Arrays.asList(
+        new Event("Planning, part 1", TimeRange.fromStartEnd(JAN_1_0900AM, JAN_1_1030AM, false),
+            Arrays.asList(PERSON_A, PERSON_B)),
+        new Event("", TimeRange.fromStartDuration(JAN_1_0000AM, TimeRange.MINUTES_PER_DAY),
+            Collections.emptyList()));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void recurrenceRulesBecomeRecurringEvents() throws IOException {
+    String ics = "BEGIN:VCALENDAR\r\n"
+        + "BEGIN:VEVENT\r\n"
+        + "SUMMARY:Standup\r\n"
+        + "DTSTART:20200101T090000Z\r\n"
+        + "DTEND:20200101T093000Z\r\n"
+        + "RRULE:FREQ=DAILY;COUNT=5\r\n"
+        + "ATTENDEE;CN=Person A:mailto:a@example.com\r\n"
+        + "END:VEVENT\r\n"
+        + "BEGIN:VEVENT\r\n"
+        + "SUMMARY:Review\r\n"
+        + "DTSTART:20200101T100000Z\r\n"
+        + "DTEND:20200101T103000Z\r\n"
+        + "RRULE:FREQ=MONTHLY;BYMONTHDAY=1\r\n"
+        + "END:VEVENT\r\n"
+        + "END:VCALENDAR\r\n";
+
+    ParsedCalendar actual =
+        CalendarIngester.parse(new StringReader(ics), CalendarFormat.ICALENDAR, pool);
+
+    // The monthly rule is unsupported, so only its first occurrence is read.
+    Assert.assertEquals(Arrays.asList(new Event("Review",
+        TimeRange.fromStartEnd(JAN_1_1000AM, JAN_1_1030AM, false), Collections.emptyList())),
+        actual.getEvents());
+    Assert.assertEquals(Arrays.asList(new RecurringEvent("Standup",
+        TimeRange.fromStartEnd(JAN_1_0900AM, JAN_1_0930AM, false), Arrays.asList(PERSON_A),
+        Recurrence.daily(1).withCount(5))), actual.getRecurringEvents());
+  }
+
+  @Test
+  public void ingestedRecurringEventsBlockHorizonQueries() throws IOException {
+    EventStore store = new EventStore(Collections.emptyList());
+    String ics = "BEGIN:VEVENT\r\n"
+        + "DTSTART:20200101T090000Z\r\n"
+        + "DURATION:PT30M\r\n"
+        + "RRULE:FREQ=DAILY\r\n"
+        + "ATTENDEE;CN=Person A:mailto:a@example.com\r\n"
+        + "END:VEVENT\r\n";
+
+    int added = CalendarIngester.ingest(new StringReader(ics), CalendarFormat.ICALENDAR, store,
+        pool);
+
+    Assert.assertEquals(1, added);
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), 30);
+    int jan2 = JAN_1_0000AM + TimeRange.MINUTES_PER_DAY;
+    TimeRange horizon = TimeRange.fromStartDuration(jan2, TimeRange.MINUTES_PER_DAY);
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartEnd(jan2, jan2 + 9 * 60, false),
+            TimeRange.fromStartEnd(jan2 + 9 * 60 + 30, jan2 + TimeRange.MINUTES_PER_DAY, false)),
+        store.query(request, horizon));
+  }
+
+  @Test
+  public void parallelChunksKeepExportOrder() throws IOException {
+    Random random = new Random(0);
+    List<Event> events = FindMeetingQueryEngineTest.randomEvents(
+        random, 3 * CalendarIngester.CHUNK_SIZE + 17, 16);
+    StringBuilder csv = new StringBuilder();
+    for (Event event : events) {
+      csv.append(event.getTitle()).append(',')
+          .append(JAN_1.atStartOfDay().plusMinutes(event.getWhen().start())).append(',')
+          .append(JAN_1.atStartOfDay().plusMinutes(event.getWhen().end())).append(',')
+          .append(String.join(";", event.getAttendees())).append('\n');
+    }
+
+    List<Event> actual = CalendarIngester.parse(
+        new StringReader(csv.toString()), CalendarFormat.CSV, pool).getEvents();
+
+    Assert.assertEquals(events.size(), actual.size());
+    for (int i = 0; i < events.size(); i++) {
+      Event event = events.get(i);
+      Assert.assertEquals(new Event(event.getTitle(), TimeRange.fromStartDuration(
+          JAN_1_0000AM + event.getWhen().start(), event.getWhen().duration()),
+          event.getAttendees()), actual.get(i));
+    }
+  }
+
+  @Test
+  public void ingestLoadsStoreInBulk() throws IOException {
+    EventStore store = new EventStore(Collections.emptyList());
+    String csv = "Standup,1970-01-01T09:00,1970-01-01T10:00,Person A\n"
+        + "Lunch,1970-01-01T12:00,1970-01-01T13:00,Person A\n";
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), 30);
+    store.query(request);
+
+    int added = CalendarIngester.ingest(new StringReader(csv), CalendarFormat.CSV, store, pool);
+
+    Assert.assertEquals(2, added);
+    Assert.assertEquals(2, store.getEvents().size());
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, 9 * 60, false),
+            TimeRange.fromStartEnd(10 * 60, 12 * 60, false),
+            TimeRange.fromStartEnd(13 * 60, TimeRange.END_OF_DAY, true)),
+        store.query(request));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void malformedRowIsRejected() throws IOException {
+    CalendarIngester.parse(new StringReader("Standup,not a time,2020-01-01T09:30,\n"),
+        CalendarFormat.CSV, pool);
+  }
+}
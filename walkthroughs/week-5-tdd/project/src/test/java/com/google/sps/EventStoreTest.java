@@ -0,0 +1,206 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class EventStoreTest {
+  // Some people that we can use in our tests.
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+
+  @Test
+  public void writesAreVisibleToQueries() {
+    EventStore store = new EventStore(Collections.emptyList());
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+
+    long id = store.add(new Event("Event 1",
+        TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false), Arrays.asList(PERSON_A)));
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true)),
+        store.query(request));
+
+    Assert.assertTrue(store.update(id, new Event("Event 1",
+        TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false), Arrays.asList(PERSON_A))));
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_1000AM, false),
+            TimeRange.fromStartEnd(TIME_1100AM, TimeRange.END_OF_DAY, true)),
+        store.query(request));
+
+    Assert.assertTrue(store.remove(id));
+    Assert.assertFalse(store.remove(id));
+    Assert.assertEquals(Arrays.asList(TimeRange.WHOLE_DAY), store.query(request));
+    Assert.assertEquals(3, store.getVersion());
+  }
+
+  @Test
+  public void incrementalIndexMatchesRebuiltIndex() {
+    Random random = new Random(0);
+    EventStore store = new EventStore(FindMeetingQueryEngineTest.randomEvents(random, 50, 8));
+    FindMeetingQuery reference = new FindMeetingQuery(FindMeetingQuery.Engine.TREE_MULTISET);
+    List<Long> ids = new ArrayList<>();
+    for (long id = 0; id < 50; id++) {
+      ids.add(id);
+    }
+
+    for (int trial = 0; trial < 300; trial++) {
+      Event event = FindMeetingQueryEngineTest.randomEvents(random, 1, 8).get(0);
+      switch (random.nextInt(3)) {
+        case 0:
+          ids.add(store.add(event));
+          break;
+        case 1:
+          if (!ids.isEmpty()) {
+            Assert.assertTrue(store.remove(ids.remove(random.nextInt(ids.size()))));
+          }
+          break;
+        default:
+          if (!ids.isEmpty()) {
+            Assert.assertTrue(store.update(ids.get(random.nextInt(ids.size())), event));
+          }
+          break;
+      }
+
+      MeetingRequest request = FindMeetingQueryEngineTest.randomRequest(random, 8);
+      Collection<Event> events = new ArrayList<>(store.getEvents());
+      Assert.assertEquals("trial " + trial, reference.query(events, request),
+          store.query(request));
+      Assert.assertEquals("trial " + trial,
+          MultiDayIndex.of(events).query(request, TimeRange.WHOLE_DAY),
+          store.query(request, TimeRange.WHOLE_DAY));
+    }
+  }
+
+  @Test
+  public void pagesMatchFilteredEvents() {
+    Random random = new Random(0);
+    EventStore store = new EventStore(FindMeetingQueryEngineTest.randomEvents(random, 100, 8));
+    for (long id = 0; id < 100; id += 3) {
+      store.remove(id);
+    }
+    store.update(1, new Event("Event 1",
+        TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false), Arrays.asList(PERSON_A)));
+
+    for (int trial = 0; trial < 100; trial++) {
+      String attendee = random.nextInt(9) == 0 ? null : "Person " + random.nextInt(8);
+      int start = random.nextInt(TimeRange.END_OF_DAY);
+      TimeRange range = random.nextBoolean()
+          ? null : TimeRange.fromStartEnd(start, start + 1 + random.nextInt(120), false);
+      List<Event> expected = new ArrayList<>();
+      for (Event event : store.getEvents()) {
+        if ((attendee == null || event.getAttendees().contains(attendee))
+            && (range == null || event.getWhen().overlaps(range))) {
+          expected.add(event);
+        }
+      }
+
+      List<Event> actual = new ArrayList<>();
+      long after = -1;
+      do {
+        EventPage page = store.getEvents(attendee, range, after, 1 + random.nextInt(5));
+        Assert.assertFalse(page.getNext() != null && page.getEvents().isEmpty());
+        actual.addAll(page.getEvents());
+        after = page.getNext() == null ? Long.MIN_VALUE : page.getNext();
+      } while (after != Long.MIN_VALUE);
+      Assert.assertEquals("trial " + trial, expected, actual);
+    }
+
+    EventPage page = store.getEvents(PERSON_A, null, -1, 10);
+    Assert.assertEquals(Arrays.asList(store.get(1)), page.getEvents());
+    Assert.assertNull(page.getNext());
+    Assert.assertTrue(store.getEvents("Nobody", null, -1, 10).getEvents().isEmpty());
+  }
+
+  @Test
+  public void recurringEventsAreVisibleToHorizonQueries() {
+    EventStore store = new EventStore(Collections.emptyList());
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    TimeRange horizon = TimeRange.fromStartDuration(0, 3 * TimeRange.MINUTES_PER_DAY);
+    Assert.assertEquals(Arrays.asList(horizon), store.query(request, horizon));
+
+    // Person A meets from 9 to 10 AM every day.
+    long id = store.addRecurring(new RecurringEvent("Standup",
+        TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false), Arrays.asList(PERSON_A),
+        Recurrence.daily(1)));
+
+    List<TimeRange> expected = new ArrayList<>();
+    int start = 0;
+    for (int day = 0; day < 3; day++) {
+      int dayStart = day * TimeRange.MINUTES_PER_DAY;
+      expected.add(TimeRange.fromStartEnd(start, dayStart + TIME_0900AM, false));
+      start = dayStart + TIME_1000AM;
+    }
+    expected.add(TimeRange.fromStartEnd(start, horizon.end(), false));
+    Assert.assertEquals(expected, store.query(request, horizon));
+
+    Assert.assertTrue(store.remove(id));
+    Assert.assertEquals(Arrays.asList(horizon), store.query(request, horizon));
+  }
+
+  @Test
+  public void readersProceedDuringWrites() throws InterruptedException {
+    EventStore store = new EventStore(Collections.emptyList());
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_30_MINUTES);
+    AtomicBoolean writing = new AtomicBoolean(true);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    Thread reader = new Thread(() -> {
+      try {
+        while (writing.get()) {
+          // Every snapshot holds whole events, so at least the evening stays free.
+          Assert.assertFalse(store.query(request).isEmpty());
+        }
+      } catch (Throwable t) {
+        failure.set(t);
+      }
+    });
+    reader.start();
+
+    Random random = new Random(0);
+    for (int i = 0; i < 2000; i++) {
+      int start = random.nextInt(TIME_1100AM);
+      long id = store.add(new Event("Event " + i,
+          TimeRange.fromStartDuration(start, 60), Arrays.asList(PERSON_A, PERSON_B)));
+      if (random.nextBoolean()) {
+        store.remove(id);
+      }
+    }
+    writing.set(false);
+    reader.join();
+
+    Assert.assertNull(failure.get());
+  }
+}
@@ -0,0 +1,358 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import com.google.common.collect.ImmutableList;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Checks that every query engine finds the same open time slots. */
+@RunWith(JUnit4.class)
+public final class FindMeetingQueryEngineTest {
+  // Some people that we can use in our tests.
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+
+  private static final int RANDOM_TRIALS = 500;
+
+  @Test
+  public void mandatoryAndOptionalEventsWithSameBounds() {
+    // Person A and optional Person B are both busy over the same hour, and
+    // Person B is busy all day. Only Person A's event should remain once
+    // optional attendees are dropped.
+    //
+    // Events  : |-----------B---------|
+    //                 |--B--|
+    //                 |--A--|
+    // Day     : |---------------------|
+    // Options : |--1--|     |----2----|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 3", TimeRange.WHOLE_DAY, Arrays.asList(PERSON_B)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true));
+
+    for (FindMeetingQuery.Engine engine : FindMeetingQuery.Engine.values()) {
+      Assert.assertEquals(engine.name(), expected,
+          new FindMeetingQuery(engine).query(events, request));
+    }
+  }
+
+  @Test
+  public void unknownMandatoryAttendeesAreFree() {
+    // The mandatory attendee has never been seen, so has no events. Optional
+    // Person A is busy all day, and is dropped.
+    //
+    // Events  : |----------A----------|
+    // Day     : |---------------------|
+    // Options : |----------1----------|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.WHOLE_DAY, Arrays.asList(PERSON_A)));
+
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList("Never interned"), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_A);
+
+    for (FindMeetingQuery.Engine engine : FindMeetingQuery.Engine.values()) {
+      Assert.assertEquals(engine.name(), Arrays.asList(TimeRange.WHOLE_DAY),
+          new FindMeetingQuery(engine).query(events, request));
+    }
+  }
+
+  @Test
+  public void bitmapIgnoresMinutesOutsideTheDay() {
+    // Person A's events start before midnight and run past the end of the
+    // day. Neither may spill into Person B's bitmap.
+    //
+    // Events  :     |--B--|          |----A---->
+    //         <-A-|
+    // Day     : |---------------------|
+    // Options : |--1--|     |----2----|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartDuration(-30, 60), Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartDuration(1400, 100), Arrays.asList(PERSON_A)),
+        new Event("Event 3", TimeRange.fromStartEnd(600, 660, false), Arrays.asList(PERSON_B)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_B), DURATION_30_MINUTES);
+
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, 600, false),
+            TimeRange.fromStartEnd(660, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected,
+        new FindMeetingQuery(FindMeetingQuery.Engine.PRIMITIVE_SWEEP).query(events, request));
+    Assert.assertEquals(expected,
+        new FindMeetingQuery(FindMeetingQuery.Engine.BITMAP).query(events, request));
+  }
+
+  @Test
+  public void enginesAgreeOnRandomCalendars() {
+    Random random = new Random(0);
+    FindMeetingQuery reference = new FindMeetingQuery(FindMeetingQuery.Engine.TREE_MULTISET);
+    List<FindMeetingQuery> queries = new ArrayList<>();
+    for (FindMeetingQuery.Engine engine : FindMeetingQuery.Engine.values()) {
+      queries.add(new FindMeetingQuery(engine));
+    }
+
+    for (int trial = 0; trial < RANDOM_TRIALS; trial++) {
+      Collection<Event> events = randomEvents(random, random.nextInt(40), 8);
+      MeetingRequest request = randomRequest(random, 8);
+      Collection<TimeRange> expected = reference.query(events, request);
+      for (FindMeetingQuery query : queries) {
+        // Each query is reused across trials to exercise buffer reuse.
+        Assert.assertEquals("trial " + trial, expected, query.query(events, request));
+      }
+    }
+  }
+
+  @Test
+  public void workingHoursMatchOffHourEvents() {
+    // Off hours must behave exactly like events attended by their owner.
+    Random random = new Random(4);
+    for (int trial = 0; trial < RANDOM_TRIALS; trial++) {
+      Map<String, WorkingHours> workingHours = randomWorkingHours(random, 8);
+      AttendeeAvailability availability = AttendeeAvailability.of(workingHours);
+      List<Event> events = randomEvents(random, random.nextInt(40), 8);
+      List<Event> withOffHours = new ArrayList<>(events);
+      for (Map.Entry<String, WorkingHours> entry : workingHours.entrySet()) {
+        int[] offHours = entry.getValue().getOffHours();
+        for (int i = 0; i < offHours.length; i += 2) {
+          withOffHours.add(new Event("Off hours", TimeRange.fromStartEnd(
+              offHours[i], offHours[i + 1], false), Arrays.asList(entry.getKey())));
+        }
+      }
+      MeetingRequest request = randomRequest(random, 8);
+      FindMeetingQuery reference = new FindMeetingQuery();
+      Collection<TimeRange> expected = reference.query(withOffHours, request);
+
+      for (FindMeetingQuery.Engine engine : FindMeetingQuery.Engine.values()) {
+        FindMeetingQuery query = new FindMeetingQuery(engine, availability);
+        Assert.assertEquals(engine + " trial " + trial, expected, query.query(events, request));
+        Assert.assertEquals(engine + " trial " + trial, new ArrayList<>(expected),
+            query.stream(events, request).collect(Collectors.toList()));
+      }
+      Assert.assertEquals("trial " + trial,
+          reference.queryByOptionalAttendance(withOffHours, request),
+          new FindMeetingQuery(FindMeetingQuery.Engine.BITMAP, availability)
+              .queryByOptionalAttendance(events, request));
+    }
+  }
+
+  @Test
+  public void queryAllMatchesQuery() {
+    Random random = new Random(1);
+    List<Event> events = randomEvents(random, 40, 8);
+    List<MeetingRequest> requests = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      requests.add(randomRequest(random, 8));
+    }
+
+    for (FindMeetingQuery.Engine engine : FindMeetingQuery.Engine.values()) {
+      FindMeetingQuery query = new FindMeetingQuery(engine);
+      List<Collection<TimeRange>> expected = new ArrayList<>();
+      for (MeetingRequest request : requests) {
+        expected.add(query.query(events, request));
+      }
+      Assert.assertEquals(engine.name(), expected, query.queryAll(events, requests));
+    }
+  }
+
+  @Test
+  public void lazySlotsMatchQuery() {
+    Random random = new Random(3);
+    FindMeetingQuery query = new FindMeetingQuery();
+
+    for (int trial = 0; trial < RANDOM_TRIALS; trial++) {
+      List<Event> events = randomEvents(random, random.nextInt(40), 8);
+      MeetingRequest request = randomRequest(random, 8);
+      List<TimeRange> expected = new ArrayList<>(query.query(events, request));
+
+      Assert.assertEquals("trial " + trial, expected,
+          query.stream(events, request).collect(Collectors.toList()));
+      Assert.assertEquals("trial " + trial,
+          expected.stream().findFirst().map(slot ->
+              TimeRange.fromStartDuration(slot.start(), (int) request.getDuration())),
+          query.firstFit(events, request));
+    }
+  }
+
+  @Test
+  public void indexEnginesNoticeModifiedEvents() {
+    Random random = new Random(4);
+    List<Event> events = randomEvents(random, 30, 8);
+    FindMeetingQuery reference = new FindMeetingQuery(FindMeetingQuery.Engine.TREE_MULTISET);
+
+    for (FindMeetingQuery.Engine engine : FindMeetingQuery.Engine.values()) {
+      FindMeetingQuery query = new FindMeetingQuery(engine);
+      List<Event> modified = new ArrayList<>(events);
+      for (int trial = 0; trial < 20; trial++) {
+        MeetingRequest request = randomRequest(random, 8);
+        Assert.assertEquals(engine.name() + " trial " + trial,
+            reference.query(modified, request), query.query(modified, request));
+        // Change the same collection in place before the next query.
+        Event added = randomEvents(random, 1, 8).get(0);
+        if (random.nextBoolean() && !modified.isEmpty()) {
+          modified.set(random.nextInt(modified.size()), added);
+        } else {
+          modified.add(added);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void indexEnginesReuseOnlyTheSameImmutableEvents() {
+    Random random = new Random(6);
+    FindMeetingQuery reference = new FindMeetingQuery(FindMeetingQuery.Engine.TREE_MULTISET);
+
+    for (FindMeetingQuery.Engine engine : FindMeetingQuery.Engine.values()) {
+      FindMeetingQuery query = new FindMeetingQuery(engine);
+      List<Event> events = new ArrayList<>(randomEvents(random, 30, 8));
+      for (int trial = 0; trial < 10; trial++) {
+        // Each trial queries a new immutable copy twice, reusing its index.
+        ImmutableList<Event> calendar = ImmutableList.copyOf(events);
+        for (int i = 0; i < 2; i++) {
+          MeetingRequest request = randomRequest(random, 8);
+          Assert.assertEquals(engine.name() + " trial " + trial,
+              reference.query(calendar, request), query.query(calendar, request));
+        }
+        events.add(randomEvents(random, 1, 8).get(0));
+      }
+    }
+  }
+
+  @Test
+  public void parallelQueryAllKeepsRequestOrder() {
+    Random random = new Random(2);
+    List<Event> events = randomEvents(random, 200, 16);
+    List<MeetingRequest> requests = new ArrayList<>();
+    for (int i = 0; i < 10 * BatchQueryTask.THRESHOLD + 7; i++) {
+      requests.add(randomRequest(random, 16));
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (FindMeetingQuery.Engine engine : FindMeetingQuery.Engine.values()) {
+        FindMeetingQuery query = new FindMeetingQuery(engine);
+        Assert.assertEquals(engine.name(), query.queryAll(events, requests),
+            query.queryAll(events, requests, pool));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Returns events at random times, attended by random subsets of people.
+   */
+  static List<Event> randomEvents(Random random, int count, int people) {
+    return randomEvents(random, count, people, 0.25);
+  }
+
+  /**
+   * Returns events at random times, each person attending each event with
+   * the specified probability.
+   */
+  static List<Event> randomEvents(Random random, int count, int people, double attendance) {
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      int start = random.nextInt(TimeRange.END_OF_DAY + 1);
+      int end = Math.min(start + random.nextInt(180), TimeRange.END_OF_DAY + 1);
+      List<String> attendees = new ArrayList<>();
+      for (int person = 0; person < people; person++) {
+        if (random.nextDouble() < attendance) {
+          attendees.add("Person " + person);
+        }
+      }
+      events.add(new Event("Event " + i, TimeRange.fromStartEnd(start, end, false), attendees));
+    }
+    return events;
+  }
+
+  /**
+   * Returns random working hours, in random time zones, for about half of
+   * the people.
+   */
+  static Map<String, WorkingHours> randomWorkingHours(Random random, int people) {
+    Map<String, WorkingHours> workingHours = new HashMap<>();
+    for (int person = 0; person < people; person++) {
+      if (random.nextBoolean()) {
+        workingHours.put("Person " + person, new WorkingHours(
+            LocalTime.of(random.nextInt(24), 15 * random.nextInt(4)),
+            LocalTime.of(random.nextInt(24), 15 * random.nextInt(4)),
+            ZoneOffset.ofHoursMinutes(random.nextInt(27) - 12, 0)));
+      }
+    }
+    return workingHours;
+  }
+
+  /**
+   * Returns a request for random mandatory and optional people.
+   */
+  static MeetingRequest randomRequest(Random random, int people) {
+    return randomRequest(random, people, 0.25);
+  }
+
+  /**
+   * Returns a request for random people, each mandatory and each optional
+   * with the specified probability.
+   */
+  static MeetingRequest randomRequest(Random random, int people, double attendance) {
+    List<String> attendees = new ArrayList<>();
+    List<String> optionals = new ArrayList<>();
+    for (int person = 0; person < people; person++) {
+      double draw = random.nextDouble();
+      if (draw < attendance) {
+        attendees.add("Person " + person);
+      } else if (draw < 2 * attendance) {
+        optionals.add("Person " + person);
+      }
+    }
+    MeetingRequest request = new MeetingRequest(attendees, 15 + random.nextInt(120));
+    for (String optional : optionals) {
+      request.addOptionalAttendee(optional);
+    }
+    return request;
+  }
+}
@@ -0,0 +1,96 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class IndexSnapshotTest {
+  // Some people that we can use in our tests.
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_Z = "Person Ž";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void mappedSnapshotAnswersAsStore() throws IOException {
+    Random random = new Random(0);
+    List<Event> events = FindMeetingQueryEngineTest.randomEvents(random, 200, 16);
+    EventStore store = new EventStore(events);
+    store.add(new Event("Event", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+        Arrays.asList(PERSON_Z)));
+    Path path = folder.getRoot().toPath().resolve("index.bin");
+    store.writeSnapshot(path);
+
+    MappedCalendarIndex snapshot = IndexSnapshot.open(path);
+
+    Assert.assertEquals(store.getVersion(), snapshot.getVersion());
+    for (int trial = 0; trial < 500; trial++) {
+      MeetingRequest request = FindMeetingQueryEngineTest.randomRequest(random, 18);
+      Assert.assertEquals("trial " + trial, store.query(request), snapshot.query(request));
+    }
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_Z), DURATION_30_MINUTES);
+    Assert.assertEquals(store.query(request), snapshot.query(request));
+  }
+
+  @Test
+  public void replacingSnapshotKeepsOldMappingValid() throws IOException {
+    Path path = folder.getRoot().toPath().resolve("index.bin");
+    EventStore store = new EventStore(Collections.emptyList());
+    store.writeSnapshot(path);
+    MappedCalendarIndex before = IndexSnapshot.open(path);
+
+    store.add(new Event("Event", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+        Arrays.asList(PERSON_A)));
+    store.writeSnapshot(path);
+    MappedCalendarIndex after = IndexSnapshot.open(path);
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    Assert.assertEquals(Arrays.asList(TimeRange.WHOLE_DAY), before.query(request));
+    Assert.assertEquals(store.query(request), after.query(request));
+    Assert.assertEquals(1, after.getVersion());
+    Assert.assertEquals(1, folder.getRoot().list().length);
+  }
+
+  @Test(expected = IOException.class)
+  public void truncatedSnapshotIsRejected() throws IOException {
+    Path path = folder.getRoot().toPath().resolve("index.bin");
+    new EventStore(FindMeetingQueryEngineTest.randomEvents(new Random(1), 20, 4))
+        .writeSnapshot(path);
+    byte[] bytes = Files.readAllBytes(path);
+    Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+    IndexSnapshot.open(path);
+  }
+}
@@ -44,4 +44,17 @@ public final class MeetingRequestTest {
     int expected = 0;
     Assert.assertEquals(expected, actual);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void requestsDoNotInternNewNames() {
+    AttendeeRegistry registry = AttendeeRegistry.getInstance();
+    int size = registry.size();
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList("Never interned 1"), DURATION_1_HOUR);
+    request.addOptionalAttendee("Never interned 2");
+
+    Assert.assertEquals(1, request.getAttendeeSet().size());
+    Assert.assertEquals(1, request.getOptionalAttendeeSet().size());
+    Assert.assertEquals(size, registry.size());
+  }
+}
@@ -0,0 +1,306 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class MultiDayIndexTest {
+  // Some people that we can use in our tests.
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  // All dates are in the first week of the year 2020.
+  private static final LocalDate JAN_1 = LocalDate.of(2020, 1, 1);
+  private static final LocalDate JAN_2 = LocalDate.of(2020, 1, 2);
+  private static final LocalDate JAN_3 = LocalDate.of(2020, 1, 3);
+
+  private static final int JAN_1_0000AM = TimeRange.getEpochMinutes(JAN_1, 0, 0);
+  private static final int JAN_1_0900AM = TimeRange.getEpochMinutes(JAN_1, 9, 0);
+  private static final int JAN_1_1000PM = TimeRange.getEpochMinutes(JAN_1, 22, 0);
+  private static final int JAN_2_0200AM = TimeRange.getEpochMinutes(JAN_2, 2, 0);
+  private static final int JAN_2_1100PM = TimeRange.getEpochMinutes(JAN_2, 23, 0);
+  private static final int JAN_3_0000AM = TimeRange.getEpochMinutes(JAN_3, 0, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+  private static final int DURATION_1_DAY = TimeRange.MINUTES_PER_DAY;
+
+  @Test
+  public void workingHoursRecurEveryDay() {
+    // Person A works 9 AM to 5 PM UTC and Person B 9 AM to 5 PM at UTC+5,
+    // which is 4 AM to 12 PM UTC. They overlap from 9 AM to 12 PM each day.
+    Map<String, WorkingHours> workingHours = new HashMap<>();
+    workingHours.put(PERSON_A,
+        new WorkingHours(LocalTime.of(9, 0), LocalTime.of(17, 0), ZoneOffset.UTC));
+    workingHours.put(PERSON_B,
+        new WorkingHours(LocalTime.of(9, 0), LocalTime.of(17, 0), ZoneOffset.ofHours(5)));
+
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_30_MINUTES);
+    TimeRange horizon = TimeRange.fromStartEnd(JAN_1_0000AM, JAN_3_0000AM, false);
+
+    Collection<TimeRange> actual =
+        MultiDayIndex.of(Arrays.asList(), AttendeeAvailability.of(workingHours))
+            .query(request, horizon);
+    Collection<TimeRange> expected = Arrays.asList(
+        TimeRange.fromStartEnd(JAN_1_0900AM, TimeRange.getEpochMinutes(JAN_1, 12, 0), false),
+        TimeRange.fromStartEnd(TimeRange.getEpochMinutes(JAN_2, 9, 0),
+            TimeRange.getEpochMinutes(JAN_2, 12, 0), false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void slotsCrossMidnight() {
+    // Events  : |--A--|                    |-A-|
+    // Horizon : |-------Jan 1-------|-------Jan 2-------|
+    // Options :       |------------1-------|   |-2-|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(JAN_1_0000AM, JAN_1_0900AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(JAN_2_0200AM, JAN_2_1100PM, false),
+            Arrays.asList(PERSON_A)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    TimeRange horizon = TimeRange.fromStartEnd(JAN_1_0000AM, JAN_3_0000AM, false);
+
+    Collection<TimeRange> actual = MultiDayIndex.of(events).query(request, horizon);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(JAN_1_0900AM, JAN_2_0200AM, false),
+            TimeRange.fromStartEnd(JAN_2_1100PM, JAN_3_0000AM, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void eventsCrossingMidnightAreSplit() {
+    // Events  :                |-----A-----|
+    // Horizon :      |-------Jan 1-------|-------Jan 2-------|
+    // Options :      |----1----|           |--------2--------|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(JAN_1_1000PM, JAN_2_0200AM, false),
+            Arrays.asList(PERSON_A)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    TimeRange horizon = TimeRange.fromStartEnd(JAN_1_0900AM, JAN_3_0000AM, false);
+
+    Collection<TimeRange> actual = MultiDayIndex.of(events).query(request, horizon);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(JAN_1_0900AM, JAN_1_1000PM, false),
+            TimeRange.fromStartEnd(JAN_2_0200AM, JAN_3_0000AM, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void optionalAttendeeDroppedAcrossWholeHorizon() {
+    // Person B is busy for the whole horizon, so only Person A is considered
+    // and a day-long meeting fits in the free run spanning midnight.
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(JAN_1_0000AM, JAN_1_0900AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(JAN_1_0000AM, JAN_3_0000AM, false),
+            Arrays.asList(PERSON_B)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_1_DAY);
+    request.addOptionalAttendee(PERSON_B);
+    TimeRange horizon = TimeRange.fromStartEnd(JAN_1_0000AM, JAN_3_0000AM, false);
+
+    Collection<TimeRange> actual = MultiDayIndex.of(events).query(request, horizon);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(JAN_1_0900AM, JAN_3_0000AM, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void firstFitFindsEarliestSlotOnLongHorizon() {
+    // Person A is busy for the first week of a ten year horizon. The free run
+    // after it lasts the rest of the horizon, but the fit is found at once.
+    LocalDate jan8 = JAN_1.plusDays(7);
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(JAN_1_0000AM,
+            TimeRange.getEpochMinutes(jan8, 9, 0), false), Arrays.asList(PERSON_A)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    TimeRange horizon = TimeRange.fromStartEnd(JAN_1_0000AM,
+        TimeRange.getEpochMinutes(JAN_1.plusYears(10), 0, 0), false);
+
+    Assert.assertEquals(
+        TimeRange.fromStartDuration(TimeRange.getEpochMinutes(jan8, 9, 0), DURATION_30_MINUTES),
+        new FindMeetingQuery().firstFit(events, request, horizon).get());
+  }
+
+  @Test
+  public void daysHoldBitmapsOnlyForTheirAttendees() {
+    // Many attendees are interned, but each day's index holds bitmaps only
+    // for the one or two attendees with events that day.
+    for (int i = 0; i < 1000; i++) {
+      AttendeeRegistry.getInstance().intern("Interned person " + i);
+    }
+    List<Event> events = new ArrayList<>();
+    for (int day = 0; day < 30; day++) {
+      int dayStart = TimeRange.getEpochMinutes(JAN_1.plusDays(day), 9, 0);
+      events.add(new Event("Event " + day, TimeRange.fromStartDuration(dayStart, 60),
+          day % 2 == 0 ? Arrays.asList(PERSON_A) : Arrays.asList(PERSON_A, PERSON_B)));
+    }
+
+    Assert.assertEquals((15 * 1 + 15 * 2) * AttendeeBitmapIndex.WORDS,
+        MultiDayIndex.of(events).words());
+  }
+
+  @Test
+  public void firstFitMatchesStartOfFirstSlot() {
+    Random random = new Random(1);
+    for (int trial = 0; trial < 200; trial++) {
+      // Spreads random events over three days.
+      List<Event> events = new ArrayList<>();
+      for (Event event : FindMeetingQueryEngineTest.randomEvents(random, 60, 8)) {
+        int offset = JAN_1_0000AM + random.nextInt(3) * TimeRange.MINUTES_PER_DAY;
+        events.add(new Event(event.getTitle(), TimeRange.fromStartDuration(
+            event.getWhen().start() + offset, event.getWhen().duration()),
+            event.getAttendees()));
+      }
+      MeetingRequest request = FindMeetingQueryEngineTest.randomRequest(random, 8);
+      TimeRange horizon = TimeRange.fromStartEnd(JAN_1_0900AM, JAN_3_0000AM, false);
+      MultiDayIndex index = MultiDayIndex.of(events);
+
+      Assert.assertEquals("trial " + trial,
+          index.query(request, horizon).stream().findFirst().map(slot ->
+              TimeRange.fromStartDuration(slot.start(), (int) request.getDuration())),
+          index.firstFit(request, horizon));
+    }
+  }
+
+  @Test
+  public void recurringEventsMatchTheirExpansion() {
+    Random random = new Random(0);
+    for (int trial = 0; trial < 50; trial++) {
+      List<RecurringEvent> recurring = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        List<String> attendees = new ArrayList<>();
+        for (int person = 0; person < 6; person++) {
+          if (random.nextInt(3) == 0) {
+            attendees.add("Person " + person);
+          }
+        }
+        recurring.add(RecurrenceTest.randomRecurringEvent(random,
+            attendees.toArray(new String[0])));
+      }
+      int start = JAN_1_0000AM + 15 * random.nextInt(20 * 96);
+      TimeRange horizon =
+          TimeRange.fromStartDuration(start, 15 * (1 + random.nextInt(14 * 96)));
+
+      List<Event> expanded = new ArrayList<>();
+      for (RecurringEvent event : recurring) {
+        for (TimeRange occurrence : RecurrenceTest.expand(event, horizon)) {
+          expanded.add(new Event(event.getTitle(), occurrence, event.getAttendees()));
+        }
+      }
+      MultiDayIndex byRule =
+          MultiDayIndex.of(Arrays.asList(), recurring, AttendeeAvailability.ALWAYS);
+      MultiDayIndex byOccurrence = MultiDayIndex.of(expanded);
+      for (int query = 0; query < 10; query++) {
+        MeetingRequest request = FindMeetingQueryEngineTest.randomRequest(random, 6);
+        Assert.assertEquals("trial " + trial, byOccurrence.query(request, horizon),
+            byRule.query(request, horizon));
+      }
+    }
+  }
+
+  @Test
+  public void derivedIndexMatchesRebuiltIndex() {
+    Random random = new Random(0);
+    // Random recurring events start in the weeks after these events.
+    TimeRange horizon = TimeRange.fromStartDuration(JAN_1_0000AM, 28 * DURATION_1_DAY);
+    List<Event> events = new ArrayList<>();
+    List<RecurringEvent> recurring = new ArrayList<>();
+    MultiDayIndex index = MultiDayIndex.of(events);
+
+    for (int trial = 0; trial < 300; trial++) {
+      // Events are spread over three days, and may cross midnight.
+      Event event = FindMeetingQueryEngineTest.randomEvents(random, 1, 8).get(0);
+      event = new Event(event.getTitle(), TimeRange.fromStartDuration(
+          JAN_1_0000AM + 15 * random.nextInt(3 * 96), event.getWhen().duration()),
+          event.getAttendees());
+      switch (random.nextInt(4)) {
+        case 0:
+          events.add(event);
+          index = index.withEvents(Arrays.asList(event), Arrays.asList());
+          break;
+        case 1:
+          if (!events.isEmpty()) {
+            Event removed = events.remove(random.nextInt(events.size()));
+            index = index.withEvents(Arrays.asList(), Arrays.asList(removed));
+          }
+          break;
+        case 2:
+          if (!events.isEmpty()) {
+            Event replaced = events.set(random.nextInt(events.size()), event);
+            index = index.withEvents(Arrays.asList(event), Arrays.asList(replaced));
+          }
+          break;
+        default:
+          if (recurring.isEmpty() || random.nextBoolean()) {
+            RecurringEvent added = RecurrenceTest.randomRecurringEvent(random,
+                "Person " + random.nextInt(8));
+            recurring.add(added);
+            index = index.withRecurringEvents(Arrays.asList(added), Arrays.asList());
+          } else {
+            RecurringEvent removed = recurring.remove(random.nextInt(recurring.size()));
+            index = index.withRecurringEvents(Arrays.asList(), Arrays.asList(removed));
+          }
+          break;
+      }
+
+      MeetingRequest request = FindMeetingQueryEngineTest.randomRequest(random, 8);
+      Assert.assertEquals("trial " + trial,
+          MultiDayIndex.of(events, recurring, AttendeeAvailability.ALWAYS)
+              .query(request, horizon),
+          index.query(request, horizon));
+    }
+  }
+
+  @Test
+  public void singleDayHorizonAgreesWithSingleDayEngines() {
+    Random random = new Random(0);
+    FindMeetingQuery reference = new FindMeetingQuery(FindMeetingQuery.Engine.TREE_MULTISET);
+
+    for (int trial = 0; trial < 200; trial++) {
+      List<Event> events = FindMeetingQueryEngineTest.randomEvents(random, 30, 8);
+      MeetingRequest request = FindMeetingQueryEngineTest.randomRequest(random, 8);
+
+      Assert.assertEquals("trial " + trial, reference.query(events, request),
+          MultiDayIndex.of(events).query(request, TimeRange.WHOLE_DAY));
+    }
+  }
+}
@@ -0,0 +1,152 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class OptionalAttendanceSweepTest {
+  // Some people that we can use in our tests.
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+  private static final String PERSON_D = "Person D";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+  private static final int TIME_1200PM = TimeRange.getTimeInMinutes(12, 0);
+
+  private static final int DURATION_60_MINUTES = 60;
+
+  @Test
+  public void bestSlotFitsMostOptionalAttendees() {
+    // No slot suits every optional attendee, so the all-or-nothing query
+    // ignores them all. Ranking still finds the slot suiting two of three.
+    //
+    // Events  : |---------B---------|
+    //           |---C---|     |-D-|
+    //                   |-A-|
+    // Day     : |-------------------------|
+    // Best    :                       |-1-|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_1200PM, false),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 2", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            Arrays.asList(PERSON_C)),
+        new Event("Event 3", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 4", TimeRange.fromStartEnd(TIME_1100AM, TIME_1200PM, false),
+            Arrays.asList(PERSON_D)),
+        new Event("Event 5", TimeRange.fromStartEnd(TIME_1200PM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_C, PERSON_D)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+    request.addOptionalAttendee(PERSON_C);
+    request.addOptionalAttendee(PERSON_D);
+
+    List<AttendanceSlot> actual = new FindMeetingQuery().queryByOptionalAttendance(events, request);
+
+    Assert.assertEquals(
+        new AttendanceSlot(TimeRange.fromStartDuration(TIME_1000AM, DURATION_60_MINUTES), 2),
+        actual.get(0));
+  }
+
+  @Test
+  public void noSlotsWhenMandatoryAttendeeBusy() {
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.WHOLE_DAY, Arrays.asList(PERSON_A)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+
+    Assert.assertTrue(new FindMeetingQuery().queryByOptionalAttendance(events, request).isEmpty());
+  }
+
+  @Test
+  public void bestSlotMatchesBruteForce() {
+    Random random = new Random(0);
+    FindMeetingQuery query = new FindMeetingQuery();
+
+    for (int trial = 0; trial < 200; trial++) {
+      List<Event> events = FindMeetingQueryEngineTest.randomEvents(random, 30, 8);
+      MeetingRequest request = FindMeetingQueryEngineTest.randomRequest(random, 8);
+      List<AttendanceSlot> slots = query.queryByOptionalAttendance(events, request);
+
+      int best = bruteForceBestAttendance(events, request);
+      if (best < 0) {
+        Assert.assertTrue("trial " + trial, slots.isEmpty());
+      } else {
+        Assert.assertEquals("trial " + trial, best, slots.get(0).getOptionalAttendees());
+      }
+      for (AttendanceSlot slot : slots) {
+        Assert.assertEquals("trial " + trial,
+            countOptionalAttendees(events, request, slot.getWhen()), slot.getOptionalAttendees());
+      }
+    }
+  }
+
+  /**
+   * Tries every start minute, returning the greatest number of optional
+   * attendees free, or -1 if the mandatory attendees are never free.
+   */
+  private static int bruteForceBestAttendance(Collection<Event> events, MeetingRequest request) {
+    int best = -1;
+    int duration = (int) request.getDuration();
+    for (int start = 0; start + duration <= TimeRange.END_OF_DAY + 1; start++) {
+      best = Math.max(best,
+          countOptionalAttendees(events, request, TimeRange.fromStartDuration(start, duration)));
+    }
+    return best;
+  }
+
+  /**
+   * Returns the number of optional attendees free for the specified time, or
+   * -1 if a mandatory attendee is busy. Events of no duration keep no one busy.
+   */
+  private static int countOptionalAttendees(Collection<Event> events, MeetingRequest request,
+                                            TimeRange when) {
+    int free = request.getOptionalAttendees().size();
+    for (String optional : request.getOptionalAttendees()) {
+      for (Event event : events) {
+        if (event.getAttendees().contains(optional) && overlaps(event, when)) {
+          free--;
+          break;
+        }
+      }
+    }
+    for (Event event : events) {
+      if (overlaps(event, when)
+          && event.getAttendees().stream().anyMatch(request.getAttendees()::contains)) {
+        return -1;
+      }
+    }
+    return free;
+  }
+
+  private static boolean overlaps(Event event, TimeRange when) {
+    return event.getWhen().duration() > 0 && event.getWhen().overlaps(when);
+  }
+}
@@ -0,0 +1,133 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class QueryCacheTest {
+  // Some people that we can use in our tests.
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+  private static final int DURATION_60_MINUTES = 60;
+
+  private static final List<TimeRange> WHOLE_DAY = Arrays.asList(TimeRange.WHOLE_DAY);
+
+  @Test
+  public void requestsInAnyOrderShareAnEntry() {
+    EventStore store = new EventStore(Collections.emptyList());
+
+    store.query(new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_30_MINUTES));
+    store.query(new MeetingRequest(Arrays.asList(PERSON_B, PERSON_A), DURATION_30_MINUTES));
+    store.query(new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_60_MINUTES));
+
+    Assert.assertEquals(1, store.getCache().getHitCount());
+    Assert.assertEquals(2, store.getCache().getMissCount());
+  }
+
+  @Test
+  public void writeEvictsOnlyEntriesOfChangedAttendees() {
+    EventStore store = new EventStore(Collections.emptyList());
+    MeetingRequest requestA = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    MeetingRequest requestB = new MeetingRequest(Arrays.asList(PERSON_B), DURATION_30_MINUTES);
+    store.query(requestA);
+    store.query(requestB);
+
+    store.add(new Event("Event 1", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+        Arrays.asList(PERSON_A, PERSON_C)));
+
+    Assert.assertEquals(1, store.getCache().size());
+    Assert.assertEquals(WHOLE_DAY, store.query(requestB));
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true)),
+        store.query(requestA));
+  }
+
+  @Test
+  public void optionalAttendeeChangeEvictsEntry() {
+    EventStore store = new EventStore(Collections.emptyList());
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+    store.query(request);
+
+    store.add(new Event("Event 1", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+        Arrays.asList(PERSON_B)));
+
+    Assert.assertEquals(0, store.getCache().size());
+  }
+
+  @Test
+  public void leastRecentlyUsedEntryEvicted() {
+    EventStore store = new EventStore(Collections.emptyList(), 2);
+    MeetingRequest requestA = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    MeetingRequest requestB = new MeetingRequest(Arrays.asList(PERSON_B), DURATION_30_MINUTES);
+    MeetingRequest requestC = new MeetingRequest(Arrays.asList(PERSON_C), DURATION_30_MINUTES);
+
+    store.query(requestA);
+    store.query(requestB);
+    store.query(requestA);
+    store.query(requestC);
+
+    Assert.assertNotNull(store.getCache().get(requestA));
+    Assert.assertNull(store.getCache().get(requestB));
+    Assert.assertNotNull(store.getCache().get(requestC));
+  }
+
+  @Test
+  public void staleSlotsAreNotCached() {
+    QueryCache cache = new QueryCache(16);
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+
+    // Person A changed at version 5, after the slots were computed at version 4.
+    cache.invalidate(request.getAttendeeSet(), 5);
+    cache.put(request, WHOLE_DAY, 4);
+
+    Assert.assertNull(cache.get(request));
+  }
+
+  @Test
+  public void changesAreForgottenBeyondCapacity() {
+    QueryCache cache = new QueryCache(4);
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    cache.invalidate(request.getAttendeeSet(), 1);
+    for (int version = 2; version < 100; version++) {
+      MeetingRequest other = new MeetingRequest(
+          Arrays.asList("Changed person " + version), DURATION_30_MINUTES);
+      cache.invalidate(other.getAttendeeSet(), version);
+      Assert.assertTrue(cache.trackedChangeCount() <= 4 + 1);
+    }
+
+    // Person A's change is forgotten, but slots older than it are still
+    // turned away, while slots computed since are cached.
+    cache.put(request, WHOLE_DAY, 0);
+    Assert.assertNull(cache.get(request));
+    cache.put(request, WHOLE_DAY, 99);
+    Assert.assertEquals(WHOLE_DAY, cache.get(request));
+  }
+}
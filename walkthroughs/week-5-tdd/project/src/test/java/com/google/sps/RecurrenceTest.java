@@ -0,0 +1,184 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class RecurrenceTest {
+  // Some people that we can use in our tests.
+  private static final String PERSON_A = "Person A";
+
+  // January 6, 2020 was a Monday.
+  private static final LocalDate JAN_6 = LocalDate.of(2020, 1, 6);
+  private static final LocalDate JAN_8 = LocalDate.of(2020, 1, 8);
+
+  private static final int JAN_6_0900AM = TimeRange.getEpochMinutes(JAN_6, 9, 0);
+  private static final int JAN_8_0900AM = TimeRange.getEpochMinutes(JAN_8, 9, 0);
+
+  private static final int DURATION_15_MINUTES = 15;
+  private static final int MINUTES_PER_WEEK = 7 * TimeRange.MINUTES_PER_DAY;
+
+  @Test
+  public void parsesRule() {
+    Recurrence rule = Recurrence.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE,FR;COUNT=30");
+
+    Assert.assertEquals(Recurrence.Frequency.WEEKLY, rule.getFrequency());
+    Assert.assertEquals(2, rule.getInterval());
+    Assert.assertEquals(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY),
+        rule.getDays());
+    Assert.assertEquals(30, rule.getCount());
+    Assert.assertEquals(Recurrence.weekly(2, DayOfWeek.FRIDAY, DayOfWeek.MONDAY,
+        DayOfWeek.WEDNESDAY).withCount(30), rule);
+    Assert.assertEquals(Recurrence.daily(1).until(TimeRange.getEpochMinutes(JAN_8, 0, 0) - 1),
+        Recurrence.parse("FREQ=DAILY;UNTIL=20200107"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unsupportedRuleIsRejected() {
+    Recurrence.parse("FREQ=MONTHLY;BYMONTHDAY=1");
+  }
+
+  @Test
+  public void weeklyOccurrencesSkipUnnamedFirstDay() {
+    // A standup first scheduled on a Monday but held on Wednesdays and Fridays.
+    RecurringEvent standup = new RecurringEvent("Standup",
+        TimeRange.fromStartDuration(JAN_6_0900AM, DURATION_15_MINUTES), Arrays.asList(PERSON_A),
+        Recurrence.weekly(1, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY).withCount(3));
+
+    List<TimeRange> occurrences = new ArrayList<>();
+    standup.occurrences(TimeRange.fromStartDuration(JAN_6_0900AM, 4 * MINUTES_PER_WEEK))
+        .forEachRemaining(occurrences::add);
+
+    Assert.assertEquals(Arrays.asList(
+        TimeRange.fromStartDuration(JAN_8_0900AM, DURATION_15_MINUTES),
+        TimeRange.fromStartDuration(JAN_8_0900AM + 2 * TimeRange.MINUTES_PER_DAY,
+            DURATION_15_MINUTES),
+        TimeRange.fromStartDuration(JAN_8_0900AM + MINUTES_PER_WEEK, DURATION_15_MINUTES)),
+        occurrences);
+  }
+
+  @Test
+  public void windowFarInFutureStartsAtItsFirstOccurrence() {
+    Recurrence daily = Recurrence.daily(1);
+    int tenYears = 3650 * TimeRange.MINUTES_PER_DAY;
+    TimeRange window = TimeRange.fromStartDuration(JAN_6_0900AM + tenYears - 5, 30);
+
+    List<TimeRange> occurrences = new ArrayList<>();
+    daily.occurrences(TimeRange.fromStartDuration(JAN_6_0900AM, DURATION_15_MINUTES), window)
+        .forEachRemaining(occurrences::add);
+
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartDuration(JAN_6_0900AM + tenYears, DURATION_15_MINUTES)),
+        occurrences);
+  }
+
+  @Test
+  public void occurrencesMatchDayByDayExpansion() {
+    Random random = new Random(0);
+    for (int trial = 0; trial < 500; trial++) {
+      RecurringEvent event = randomRecurringEvent(random, PERSON_A);
+      int start = event.getFirst().start() + random.nextInt(60 * TimeRange.MINUTES_PER_DAY)
+          - 10 * TimeRange.MINUTES_PER_DAY;
+      TimeRange window = TimeRange.fromStartDuration(start, 1 + random.nextInt(20000));
+
+      List<TimeRange> actual = new ArrayList<>();
+      event.occurrences(window).forEachRemaining(actual::add);
+      Assert.assertEquals("trial " + trial + ": " + event.getRecurrence().getDays(),
+          expand(event, window), actual);
+    }
+  }
+
+  /**
+   * Returns a recurring event with a random rule, starting in January 2020.
+   */
+  static RecurringEvent randomRecurringEvent(Random random, String... attendees) {
+    int first = TimeRange.getEpochMinutes(JAN_6.plusDays(random.nextInt(14)),
+        random.nextInt(24), 15 * random.nextInt(4));
+    int duration = 15 * (1 + random.nextInt(random.nextInt(10) == 0 ? 200 : 8));
+    Recurrence rule;
+    if (random.nextBoolean()) {
+      rule = Recurrence.daily(1 + random.nextInt(3));
+    } else {
+      List<DayOfWeek> days = new ArrayList<>();
+      for (DayOfWeek day : DayOfWeek.values()) {
+        if (random.nextInt(3) == 0) {
+          days.add(day);
+        }
+      }
+      rule = Recurrence.weekly(1 + random.nextInt(3), days.toArray(new DayOfWeek[0]));
+    }
+    if (random.nextInt(3) == 0) {
+      rule = rule.withCount(1 + random.nextInt(20));
+    }
+    if (random.nextInt(3) == 0) {
+      rule = rule.until(first + random.nextInt(40 * TimeRange.MINUTES_PER_DAY));
+    }
+    return new RecurringEvent("Recurring", TimeRange.fromStartDuration(first, duration),
+        Arrays.asList(attendees), rule);
+  }
+
+  /**
+   * Expands the occurrences of a recurring event overlapping a window by
+   * checking every day from the first occurrence against the rule.
+   */
+  static List<TimeRange> expand(RecurringEvent event, TimeRange window) {
+    Recurrence rule = event.getRecurrence();
+    TimeRange first = event.getFirst();
+    LocalDate firstDay =
+        LocalDate.ofEpochDay(Math.floorDiv(first.start(), TimeRange.MINUTES_PER_DAY));
+    int timeOfDay = Math.floorMod(first.start(), TimeRange.MINUTES_PER_DAY);
+    Set<DayOfWeek> days = rule.getDays().isEmpty()
+        ? EnumSet.of(firstDay.getDayOfWeek()) : rule.getDays();
+    LocalDate firstMonday = firstDay.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    List<TimeRange> occurrences = new ArrayList<>();
+    int index = 0;
+    for (LocalDate day = firstDay; ; day = day.plusDays(1)) {
+      int start = TimeRange.getEpochMinutes(day, 0, 0) + timeOfDay;
+      if (start >= window.end() || index >= rule.getCount() || start > rule.getUntil()) {
+        return occurrences;
+      }
+      boolean occurs;
+      if (rule.getFrequency() == Recurrence.Frequency.DAILY) {
+        occurs = ChronoUnit.DAYS.between(firstDay, day) % rule.getInterval() == 0;
+      } else {
+        LocalDate monday = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        occurs = days.contains(day.getDayOfWeek())
+            && ChronoUnit.WEEKS.between(firstMonday, monday) % rule.getInterval() == 0;
+      }
+      if (occurs && start >= first.start()) {
+        index++;
+        if (start + first.duration() > window.start()) {
+          occurrences.add(TimeRange.fromStartDuration(start, first.duration()));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,197 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class ResourceIndexTest {
+  private static final Collection<String> NO_ATTENDEES = Collections.emptySet();
+  private static final Collection<String> NO_FEATURES = Collections.emptySet();
+
+  // Some people that we can use in our tests.
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  // Some rooms that we can use in our tests.
+  private static final Resource ROOM_SMALL = new Resource("Small", 4, NO_FEATURES);
+  private static final Resource ROOM_LARGE =
+      new Resource("Large", 20, Arrays.asList("projector"));
+
+  private static final int TIME_0800AM = TimeRange.getTimeInMinutes(8, 0);
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+
+  @Test
+  public void pairsAttendeeSlotsWithFreeRooms() {
+    // Events  :       |--A--|
+    //                       |--Large--|
+    // Day     : |---------------------------|
+    // Small   : |-1-|       |------2--------|
+    // Large   : |-3-|                 |--4--|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0800AM, TIME_0900AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+            NO_ATTENDEES, Arrays.asList(ROOM_LARGE.getName())));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+
+    List<ResourceSlot> actual = ResourceIndex.of(Arrays.asList(ROOM_SMALL, ROOM_LARGE), events)
+        .query(request, AttendeeBitmapIndex.of(events));
+    List<ResourceSlot> expected = Arrays.asList(
+        new ResourceSlot(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            ROOM_LARGE),
+        new ResourceSlot(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            ROOM_SMALL),
+        new ResourceSlot(TimeRange.fromStartEnd(TIME_0900AM, TimeRange.END_OF_DAY, true),
+            ROOM_SMALL),
+        new ResourceSlot(TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true),
+            ROOM_LARGE));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void bookingsOutsideTheDayStayInTheirRoom() {
+    // Small is booked from before the day starts and again past its end.
+    // Neither booking may mark minutes of Large.
+    //
+    // Events  :                   |Small--->
+    //         <-Small|
+    // Day     : |---------------------|
+    // Small   :      |-------2------|
+    // Large   : |----------1----------|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartDuration(-30, 60),
+            NO_ATTENDEES, Arrays.asList(ROOM_SMALL.getName())),
+        new Event("Event 2", TimeRange.fromStartDuration(1400, 100),
+            NO_ATTENDEES, Arrays.asList(ROOM_SMALL.getName())));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+
+    List<ResourceSlot> actual = ResourceIndex.of(Arrays.asList(ROOM_SMALL, ROOM_LARGE), events)
+        .query(request, AttendeeBitmapIndex.of(events));
+    List<ResourceSlot> expected = Arrays.asList(
+        new ResourceSlot(TimeRange.WHOLE_DAY, ROOM_LARGE),
+        new ResourceSlot(TimeRange.fromStartEnd(30, 1400, false), ROOM_SMALL));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void skipsRoomsTooSmallOrMissingFeatures() {
+    MeetingRequest tooMany = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    tooMany.setMinimumCapacity(10);
+    MeetingRequest needsProjector =
+        new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    needsProjector.addRequiredFeature("projector");
+    MeetingRequest needsWhiteboard =
+        new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    needsWhiteboard.addRequiredFeature("whiteboard");
+
+    ResourceIndex index =
+        ResourceIndex.of(Arrays.asList(ROOM_SMALL, ROOM_LARGE), Collections.emptyList());
+    AttendeeBitmapIndex attendees = AttendeeBitmapIndex.of(Collections.emptyList());
+
+    List<ResourceSlot> expected =
+        Arrays.asList(new ResourceSlot(TimeRange.WHOLE_DAY, ROOM_LARGE));
+    Assert.assertEquals(expected, index.query(tooMany, attendees));
+    Assert.assertEquals(expected, index.query(needsProjector, attendees));
+    Assert.assertEquals(Collections.emptyList(), index.query(needsWhiteboard, attendees));
+  }
+
+  @Test
+  public void dropsOptionalAttendeesOnlyWhenNoRoomFits() {
+    // Events  : |------B------|
+    //                         |-----Small---|
+    // Day     : |---------------------------|
+    // Options : |------1------|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_0900AM, TimeRange.END_OF_DAY, true),
+            NO_ATTENDEES, Arrays.asList(ROOM_SMALL.getName())));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+
+    List<ResourceSlot> actual = ResourceIndex.of(Arrays.asList(ROOM_SMALL), events)
+        .query(request, AttendeeBitmapIndex.of(events));
+    List<ResourceSlot> expected = Arrays.asList(new ResourceSlot(
+        TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false), ROOM_SMALL));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void eachRoomMatchesRoomBookedAsAttendee() {
+    // Booking a room is equivalent to the room attending the event, so each
+    // room's slots must match a plain query with the room as a mandatory
+    // attendee. Optional attendees are dropped across all rooms at once, so
+    // they are left out of the requests.
+    Random random = new Random(1);
+    List<Resource> rooms = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      rooms.add(new Resource("Room " + i, 4, NO_FEATURES));
+    }
+    for (int trial = 0; trial < 20; trial++) {
+      List<Event> events = new ArrayList<>();
+      List<Event> roomsAsAttendees = new ArrayList<>();
+      for (Event event : FindMeetingQueryEngineTest.randomEvents(random, 400, 8)) {
+        String room = rooms.get(random.nextInt(rooms.size())).getName();
+        events.add(new Event(event.getTitle(), event.getWhen(), event.getAttendees(),
+            Arrays.asList(room)));
+        List<String> attendees = new ArrayList<>(event.getAttendees());
+        attendees.add(room);
+        roomsAsAttendees.add(new Event(event.getTitle(), event.getWhen(), attendees));
+      }
+      MeetingRequest request = new MeetingRequest(
+          FindMeetingQueryEngineTest.randomRequest(random, 8).getAttendees(),
+          15 + random.nextInt(120));
+      List<ResourceSlot> actual =
+          new FindMeetingQuery().queryWithResources(events, rooms, request);
+
+      for (Resource room : rooms) {
+        List<String> attendees = new ArrayList<>(request.getAttendees());
+        attendees.add(room.getName());
+        Collection<TimeRange> expected = new FindMeetingQuery().query(roomsAsAttendees,
+            new MeetingRequest(attendees, request.getDuration()));
+        List<TimeRange> roomSlots = new ArrayList<>();
+        for (ResourceSlot slot : actual) {
+          if (slot.getResource().equals(room)) {
+            roomSlots.add(slot.getWhen());
+          }
+        }
+        Assert.assertEquals("trial " + trial + ", " + room, new ArrayList<>(expected), roomSlots);
+      }
+    }
+  }
+}
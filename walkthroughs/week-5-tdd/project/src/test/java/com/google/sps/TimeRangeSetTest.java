@@ -0,0 +1,156 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class TimeRangeSetTest {
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+  private static final int TIME_1200PM = TimeRange.getTimeInMinutes(12, 0);
+
+  /** The minutes randomly generated sets are drawn from. */
+  private static final int DOMAIN = 200;
+
+  @Test
+  public void overlappingAndTouchingRangesMerge() {
+    // Ranges:  |--A--|
+    //             |--B--|--C--|     |--D--|
+    // Set:     |--------------|     |-----|
+    TimeRangeSet set = TimeRangeSet.of(Arrays.asList(
+        TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false),
+        TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM + 30, false),
+        TimeRange.fromStartEnd(TIME_1100AM, TIME_1100AM + 30, false),
+        TimeRange.fromStartDuration(TIME_1200PM, 0),
+        TimeRange.fromStartEnd(TIME_1200PM + 30, TIME_1200PM + 60, false)));
+
+    Assert.assertEquals(Arrays.asList(
+        TimeRange.fromStartEnd(TIME_0900AM, TIME_1100AM + 30, false),
+        TimeRange.fromStartEnd(TIME_1200PM + 30, TIME_1200PM + 60, false)), set.toList());
+  }
+
+  @Test
+  public void complementWithinDayIsFreeTime() {
+    // Busy : |--A--|  |--B--|
+    // Day  : |---------------------|
+    // Free :       |--|     |------|
+    TimeRangeSet busy = TimeRangeSet.of(Arrays.asList(
+        TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+        TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false)));
+
+    Assert.assertEquals(Arrays.asList(
+        TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+        TimeRange.fromStartEnd(TIME_1100AM, TimeRange.END_OF_DAY, true)),
+        busy.complementWithinDay().toList());
+    Assert.assertEquals(Arrays.asList(TimeRange.WHOLE_DAY),
+        TimeRangeSet.EMPTY.complementWithinDay().toList());
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartEnd(TIME_1100AM, TimeRange.END_OF_DAY, true)),
+        busy.complementWithinDay().withMinimumDuration(TIME_1000AM - TIME_0900AM + 1).toList());
+  }
+
+  @Test
+  public void algebraMatchesMinuteByMinuteSets() {
+    Random random = new Random(0);
+    for (int trial = 0; trial < 1000; trial++) {
+      boolean[] a = randomMinutes(random);
+      boolean[] b = randomMinutes(random);
+      TimeRangeSet setA = toSet(a, random);
+      TimeRangeSet setB = toSet(b, random);
+      int boundStart = random.nextInt(DOMAIN);
+      TimeRange bounds =
+          TimeRange.fromStartEnd(boundStart, boundStart + random.nextInt(DOMAIN - boundStart + 1),
+              false);
+
+      boolean[] union = new boolean[DOMAIN];
+      boolean[] intersection = new boolean[DOMAIN];
+      boolean[] difference = new boolean[DOMAIN];
+      boolean[] complement = new boolean[DOMAIN];
+      for (int minute = 0; minute < DOMAIN; minute++) {
+        union[minute] = a[minute] || b[minute];
+        intersection[minute] = a[minute] && b[minute];
+        difference[minute] = a[minute] && !b[minute];
+        complement[minute] = !a[minute] && bounds.contains(minute);
+        Assert.assertEquals(a[minute], setA.contains(minute));
+      }
+
+      Assert.assertEquals("trial " + trial, ranges(union), setA.union(setB).toList());
+      Assert.assertEquals("trial " + trial, ranges(intersection),
+          setA.intersection(setB).toList());
+      Assert.assertEquals("trial " + trial, ranges(difference), setA.difference(setB).toList());
+      Assert.assertEquals("trial " + trial, ranges(complement), setA.complement(bounds).toList());
+    }
+  }
+
+  /**
+   * Returns random minutes of the domain, in runs of random lengths.
+   */
+  private static boolean[] randomMinutes(Random random) {
+    boolean[] minutes = new boolean[DOMAIN];
+    boolean set = random.nextBoolean();
+    for (int minute = 0; minute < DOMAIN; ) {
+      int run = 1 + random.nextInt(30);
+      for (; run > 0 && minute < DOMAIN; run--) {
+        minutes[minute++] = set;
+      }
+      set = !set;
+    }
+    return minutes;
+  }
+
+  /**
+   * Returns the set of the specified minutes, built from overlapping pieces
+   * of their runs in random order.
+   */
+  private static TimeRangeSet toSet(boolean[] minutes, Random random) {
+    List<TimeRange> pieces = new ArrayList<>();
+    for (TimeRange run : ranges(minutes)) {
+      int split = run.start() + random.nextInt(run.duration());
+      pieces.add(TimeRange.fromStartEnd(run.start(), Math.min(split + 2, run.end()), false));
+      pieces.add(TimeRange.fromStartEnd(split, run.end(), false));
+    }
+    Collections.shuffle(pieces, random);
+    return TimeRangeSet.of(pieces);
+  }
+
+  /**
+   * Returns the maximal runs of the specified minutes.
+   */
+  private static List<TimeRange> ranges(boolean[] minutes) {
+    List<TimeRange> ranges = new ArrayList<>();
+    int start = -1;
+    for (int minute = 0; minute <= DOMAIN; minute++) {
+      boolean set = minute < DOMAIN && minutes[minute];
+      if (set && start < 0) {
+        start = minute;
+      } else if (!set && start >= 0) {
+        ranges.add(TimeRange.fromStartEnd(start, minute, false));
+        start = -1;
+      }
+    }
+    return ranges;
+  }
+}
@@ -184,4 +184,17 @@ public final class TimeRangeTest {
     Assert.assertTrue(emptyMiddle.overlaps(range));
     Assert.assertTrue(emptyEnd.overlaps(range));
   }
+
+  @Test
+  public void packedRangesRoundTripAndSortAsRanges() {
+    TimeRange range = TimeRange.fromStartDuration(100, 50);
+    long packed = range.toPacked();
+
+    Assert.assertEquals(100, TimeRange.packedStart(packed));
+    Assert.assertEquals(150, TimeRange.packedEnd(packed));
+    Assert.assertEquals(range, TimeRange.fromPacked(packed));
+    Assert.assertTrue(TimeRange.pack(100, 150) < TimeRange.pack(100, 151));
+    Assert.assertTrue(TimeRange.pack(100, Integer.MAX_VALUE) < TimeRange.pack(101, 0));
+    Assert.assertTrue(TimeRange.pack(-5, 10) < TimeRange.pack(0, 0));
+  }
 }
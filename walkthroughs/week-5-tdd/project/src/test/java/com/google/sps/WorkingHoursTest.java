@@ -0,0 +1,76 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class WorkingHoursTest {
+  private static final LocalTime TIME_0600AM = LocalTime.of(6, 0);
+  private static final LocalTime TIME_0900AM = LocalTime.of(9, 0);
+  private static final LocalTime TIME_0500PM = LocalTime.of(17, 0);
+  private static final LocalTime TIME_1000PM = LocalTime.of(22, 0);
+
+  private static final int UTC_0100AM = TimeRange.getTimeInMinutes(1, 0);
+  private static final int UTC_0600AM = TimeRange.getTimeInMinutes(6, 0);
+  private static final int UTC_0700AM = TimeRange.getTimeInMinutes(7, 0);
+  private static final int UTC_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int UTC_0300PM = TimeRange.getTimeInMinutes(15, 0);
+  private static final int UTC_0500PM = TimeRange.getTimeInMinutes(17, 0);
+  private static final int UTC_1000PM = TimeRange.getTimeInMinutes(22, 0);
+
+  @Test
+  public void utcHoursLeaveBothEndsOfDayOff() {
+    WorkingHours hours = new WorkingHours(TIME_0900AM, TIME_0500PM, ZoneOffset.UTC);
+
+    Assert.assertArrayEquals(
+        new int[] {TimeRange.START_OF_DAY, UTC_0900AM, UTC_0500PM, TimeRange.MINUTES_PER_DAY},
+        hours.getOffHours());
+  }
+
+  @Test
+  public void offsetShiftsHoursToUtc() {
+    // 9 AM to 5 PM at UTC+2 is 7 AM to 3 PM UTC.
+    WorkingHours east = new WorkingHours(TIME_0900AM, TIME_0500PM, ZoneOffset.ofHours(2));
+
+    // 9 AM to 5 PM at UTC-8 is 5 PM to 1 AM UTC, leaving one run off.
+    WorkingHours west = new WorkingHours(TIME_0900AM, TIME_0500PM, ZoneOffset.ofHours(-8));
+
+    Assert.assertArrayEquals(
+        new int[] {TimeRange.START_OF_DAY, UTC_0700AM, UTC_0300PM, TimeRange.MINUTES_PER_DAY},
+        east.getOffHours());
+    Assert.assertArrayEquals(new int[] {UTC_0100AM, UTC_0500PM}, west.getOffHours());
+  }
+
+  @Test
+  public void hoursMayRunPastMidnight() {
+    WorkingHours nights = new WorkingHours(TIME_1000PM, TIME_0600AM, ZoneOffset.UTC);
+
+    Assert.assertArrayEquals(new int[] {UTC_0600AM, UTC_1000PM}, nights.getOffHours());
+  }
+
+  @Test
+  public void equalStartAndEndIsWholeDay() {
+    WorkingHours always = new WorkingHours(TIME_0900AM, TIME_0900AM, ZoneOffset.ofHours(5));
+
+    Assert.assertArrayEquals(new int[0], always.getOffHours());
+  }
+}
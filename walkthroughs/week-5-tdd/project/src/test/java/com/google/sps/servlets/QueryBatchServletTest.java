@@ -0,0 +1,94 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Checks how /query-batch answers well-formed and malformed bodies. */
+@RunWith(JUnit4.class)
+public final class QueryBatchServletTest {
+
+  @Test
+  public void malformedJsonIsBadRequest() throws IOException {
+    Assert.assertEquals(HttpServletResponse.SC_BAD_REQUEST, post("[{\"duration\": ").status);
+  }
+
+  @Test
+  public void nullRequestIsBadRequest() throws IOException {
+    Assert.assertEquals(HttpServletResponse.SC_BAD_REQUEST, post("[null]").status);
+  }
+
+  @Test
+  public void missingBodyIsBadRequest() throws IOException {
+    Assert.assertEquals(HttpServletResponse.SC_BAD_REQUEST, post("").status);
+  }
+
+  @Test
+  public void requestsAreAnsweredInOrder() throws IOException {
+    Response response = post("[{\"attendees\": [], \"optional_attendees\": [], \"duration\": 30},"
+        + " {\"attendees\": [], \"optional_attendees\": [], \"duration\": 2000}]");
+
+    Assert.assertEquals(HttpServletResponse.SC_OK, response.status);
+    Assert.assertEquals("[[{\"start\":0,\"duration\":1440}],[]]", response.body.toString().trim());
+  }
+
+  /** The parts of a response written by the servlet. */
+  private static final class Response {
+    private int status = HttpServletResponse.SC_OK;
+    private final StringWriter body = new StringWriter();
+  }
+
+  /**
+   * Posts the specified body to a QueryBatchServlet.
+   */
+  private static Response post(String body) throws IOException {
+    HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(
+        HttpServletRequest.class.getClassLoader(), new Class<?>[] {HttpServletRequest.class},
+        (proxy, method, args) -> {
+          if (method.getName().equals("getReader")) {
+            return new BufferedReader(new StringReader(body));
+          }
+          return null;
+        });
+    Response response = new Response();
+    HttpServletResponse servletResponse = (HttpServletResponse) Proxy.newProxyInstance(
+        HttpServletResponse.class.getClassLoader(), new Class<?>[] {HttpServletResponse.class},
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "sendError":
+            case "setStatus":
+              response.status = (Integer) args[0];
+              return null;
+            case "getWriter":
+              return new PrintWriter(response.body);
+            default:
+              return null;
+          }
+        });
+    new QueryBatchServlet().doPost(request, servletResponse);
+    return response;
+  }
+}